@@ -0,0 +1,15 @@
+package com.mediaflow.api.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class CacheStats {
+    String name;
+    long size;
+    long hits;
+    long misses;
+    long evictions;
+    double hitRate;
+}
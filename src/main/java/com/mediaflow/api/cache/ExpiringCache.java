@@ -0,0 +1,218 @@
+package com.mediaflow.api.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Caché en memoria acotada por tamaño y por TTL.
+ *
+ * Está dividida en segmentos LRU (LinkedHashMap en orden de acceso), cada uno con su
+ * propio lock, para que las lecturas concurrentes no compitan por un único candado.
+ * Cada entrada expira al cumplirse el TTL o en el instante indicado al guardarla,
+ * lo que ocurra primero.
+ *
+ * Cada segmento lleva una generación que avanza con cada invalidación: una carga que empezó
+ * antes de invalidar su clave no guarda el valor viejo al terminar (ver {@link #generation}).
+ */
+public class ExpiringCache<K, V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final String name;
+    private final long ttlMillis;
+    private final Segment<K, V>[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ExpiringCache(String name, int maxSize, long ttlMillis) {
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Cache " + name + " requires a positive size and TTL");
+        }
+        this.name = name;
+        this.ttlMillis = ttlMillis;
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[SEGMENTS];
+        int perSegment = Math.max(1, (maxSize + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(perSegment, evictions);
+        }
+    }
+
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = System.currentTimeMillis();
+        segment.lock.lock();
+        try {
+            Entry<V> entry = segment.map.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt <= now) {
+                segment.map.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Devuelve el valor en caché o lo carga con el loader (fuera del lock).
+     * Los valores null no se guardan, ni los cargados mientras se invalidaba la clave.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        long generation = generation(key);
+        value = loader.apply(key);
+        if (value != null) {
+            putIfNotInvalidated(key, value, Long.MAX_VALUE, generation);
+        }
+        return value;
+    }
+
+    /**
+     * Generación actual del segmento de la clave. Se toma antes de leer el valor de la fuente
+     * y se pasa a {@link #putIfNotInvalidated} al guardarlo.
+     */
+    public long generation(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.generation;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda el valor solo si desde generation no se invalidó ninguna clave de su segmento;
+     * devuelve false si se descartó por ser posiblemente anterior a una invalidación
+     */
+    public boolean putIfNotInvalidated(K key, V value, long expiresAtMillis, long generation) {
+        long expiresAt = Math.min(expiresAtMillis, System.currentTimeMillis() + ttlMillis);
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            if (segment.generation != generation) {
+                return false;
+            }
+            segment.map.put(key, new Entry<>(value, expiresAt));
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, Long.MAX_VALUE);
+    }
+
+    /**
+     * Guarda el valor hasta expiresAtMillis o hasta que se cumpla el TTL, lo que ocurra primero
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        long expiresAt = Math.min(expiresAtMillis, System.currentTimeMillis() + ttlMillis);
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.map.put(key, new Entry<>(value, expiresAt));
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            // Aunque la clave no esté: puede haber una carga en curso que no debe guardarse
+            segment.generation++;
+            if (segment.map.remove(key) != null) {
+                evictions.increment();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.generation++;
+                evictions.add(segment.map.size());
+                segment.map.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public CacheStats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return CacheStats.builder()
+                .name(name)
+                .size(size())
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.sum())
+                .hitRate(requests == 0 ? 0.0 : (double) hitCount / requests)
+                .build();
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (SEGMENTS - 1)];
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private static final class Segment<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<K, Entry<V>> map;
+        private long generation;
+
+        Segment(int capacity, LongAdder evictions) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
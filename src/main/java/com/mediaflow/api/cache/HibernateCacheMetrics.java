@@ -0,0 +1,74 @@
+package com.mediaflow.api.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Tasas de acierto de la caché de segundo nivel de Hibernate, por región.
+ * Requiere hibernate.generate_statistics (se activa junto con HIBERNATE_L2_CACHE).
+ */
+@Component
+public class HibernateCacheMetrics {
+
+    private final SessionFactory sessionFactory;
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public HibernateCacheStats stats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        boolean enabled = sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()
+                && statistics.isStatisticsEnabled();
+        if (!enabled) {
+            return HibernateCacheStats.builder().enabled(false).regions(List.of()).build();
+        }
+
+        List<HibernateCacheStats.Region> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> toRegion(statistics.getCacheRegionStatistics(name), name))
+                .toList();
+
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long misses = statistics.getSecondLevelCacheMissCount();
+        long queryHits = statistics.getQueryCacheHitCount();
+        long queryMisses = statistics.getQueryCacheMissCount();
+        return HibernateCacheStats.builder()
+                .enabled(true)
+                .hits(hits)
+                .misses(misses)
+                .puts(statistics.getSecondLevelCachePutCount())
+                .hitRate(ratio(hits, misses))
+                .queryCacheHits(queryHits)
+                .queryCacheMisses(queryMisses)
+                .queryCacheHitRate(ratio(queryHits, queryMisses))
+                .regions(regions)
+                .build();
+    }
+
+    private static HibernateCacheStats.Region toRegion(CacheRegionStatistics region, String name) {
+        if (region == null) {
+            return HibernateCacheStats.Region.builder().name(name).build();
+        }
+        return HibernateCacheStats.Region.builder()
+                .name(name)
+                .elements(region.getElementCountInMemory())
+                .hits(region.getHitCount())
+                .misses(region.getMissCount())
+                .puts(region.getPutCount())
+                .hitRate(ratio(region.getHitCount(), region.getMissCount()))
+                .build();
+    }
+
+    private static double ratio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,31 @@
+package com.mediaflow.api.cache;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class HibernateCacheStats {
+    boolean enabled;
+    long hits;
+    long misses;
+    long puts;
+    double hitRate;
+    long queryCacheHits;
+    long queryCacheMisses;
+    double queryCacheHitRate;
+    List<Region> regions;
+
+    @Value
+    @Builder
+    public static class Region {
+        String name;
+        long elements;
+        long hits;
+        long misses;
+        long puts;
+        double hitRate;
+    }
+}
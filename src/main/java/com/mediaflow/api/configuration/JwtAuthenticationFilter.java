@@ -2,6 +2,7 @@ package com.mediaflow.api.configuration;
 
 import java.io.IOException;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -11,7 +12,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.mediaflow.api.service.JwtService;
+import com.mediaflow.api.security.VerifiedTokenCache;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -22,9 +23,13 @@ import lombok.RequiredArgsConstructor;
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
 
+    // true: la autenticación se arma solo con los claims verificados, sin consultar la base de datos
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -33,7 +38,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Si no hay header de autorización o no empieza con "Bearer ", continuar
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -46,14 +50,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Firma y claims se verifican una sola vez por token; la revocación en cada petición
+            VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.resolve(jwt);
 
-            // Si hay un email y el usuario no está autenticado aún
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            // Si el token es válido, no fue revocado y el usuario no está autenticado aún
+            if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                String userEmail = verified.claims().getSubject();
+                UserDetails userDetails = stateless
+                        ? verified.principal()
+                        : this.userDetailsService.loadUserByUsername(userEmail);
 
-                // Si el token es válido, autenticar al usuario
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userEmail.equals(userDetails.getUsername())) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
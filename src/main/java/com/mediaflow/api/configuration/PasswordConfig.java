@@ -1,14 +1,79 @@
 package com.mediaflow.api.configuration;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.mediaflow.api.security.BcryptCostCalibrator;
+import com.mediaflow.api.security.BoundedPasswordEncoder;
+import com.mediaflow.api.security.PasswordHashingExecutor;
+
 @Configuration
 public class PasswordConfig {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+
+    @Value("${security.password.algorithm:bcrypt}")
+    private String algorithm;
+
+    @Value("${security.password.target-ms:250}")
+    private long targetMillis;
+
+    @Value("${security.password.bcrypt.min-cost:10}")
+    private int bcryptMinCost;
+
+    @Value("${security.password.bcrypt.max-cost:14}")
+    private int bcryptMaxCost;
+
+    @Value("${security.password.argon2.memory-kb:16384}")
+    private int argon2MemoryKb;
+
+    @Value("${security.password.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    @Bean(destroyMethod = "shutdown")
+    public PasswordHashingExecutor passwordHashingExecutor(
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMillis,
+            @Value("${security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        return new PasswordHashingExecutor(threads, queueCapacity, timeoutMillis, retryAfterSeconds);
+    }
+
+    // El hashing corre en su propio pool acotado, no en los hilos de Tomcat
     @Bean
-    public PasswordEncoder PasswordEncoder(){
-        return new BCryptPasswordEncoder(10);
+    public PasswordEncoder PasswordEncoder(PasswordHashingExecutor passwordHashingExecutor){
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder(), passwordHashingExecutor);
+    }
+
+    /**
+     * Los hashes se guardan como "{id}hash", y el costo queda dentro del propio hash
+     * ($2a$12$... en BCrypt, m/t/p en Argon2). Los hashes anteriores, sin prefijo,
+     * se verifican como BCrypt y se re-hashean en el siguiente login exitoso.
+     */
+    private PasswordEncoder delegatingPasswordEncoder() {
+        if (!BCRYPT.equals(algorithm) && !ARGON2.equals(algorithm)) {
+            throw new IllegalStateException("Unsupported security.password.algorithm: " + algorithm);
+        }
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(BCRYPT.equals(algorithm)
+                ? BcryptCostCalibrator.calibrate(targetMillis, bcryptMinCost, bcryptMaxCost)
+                : bcryptMinCost);
+        encoders.put(BCRYPT, bcrypt);
+        // Argon2 requiere BouncyCastle en el classpath (dependencia runtime)
+        encoders.put(ARGON2, new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKb, argon2Iterations));
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
     }
 }
@@ -0,0 +1,19 @@
+package com.mediaflow.api.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mediaflow.api.security.InMemoryRateLimitStore;
+import com.mediaflow.api.security.RateLimitStore;
+
+@Configuration
+public class RateLimitConfig {
+
+    // Contadores locales a la instancia; otro bean RateLimitStore los reemplaza por uno compartido
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    public RateLimitStore rateLimitStore() {
+        return new InMemoryRateLimitStore();
+    }
+}
@@ -0,0 +1,96 @@
+package com.mediaflow.api.configuration;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.mediaflow.api.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Réplicas de lectura: solo se activa si datasource.replicas.urls tiene al menos una URL.
+ * Sin réplicas se mantiene el DataSource autoconfigurado de Spring Boot.
+ *
+ * Con open-in-view la sesión de Hibernate vive toda la petición; por defecto retiene la
+ * conexión entre transacciones, así que una escritura después de una lectura read-only
+ * terminaría en la réplica. Aquí la conexión se libera al terminar cada transacción.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnExpression("!'${datasource.replicas.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Value("${datasource.replicas.urls}")
+    private String replicaUrls;
+
+    @Value("${datasource.replicas.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${datasource.replicas.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${datasource.replicas.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @Value("${datasource.replicas.validation-timeout-seconds:2}")
+    private int validationTimeoutSeconds;
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+
+        List<String> urls = Arrays.stream(replicaUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        List<DataSource> replicas = IntStream.range(0, urls.size())
+                .mapToObj(i -> (DataSource) replicaPool(urls.get(i), "replica-" + i))
+                .toList();
+
+        log.info("Read-only transactions routed to {} replica(s)", replicas.size());
+        return new ReplicaRoutingDataSource(primary, replicas, validationTimeoutSeconds);
+    }
+
+    // El proxy difiere la conexión hasta la primera sentencia, cuando ya se sabe si la transacción es read-only
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Cada transacción pide su propia conexión al enrutador (y con ella primario o réplica)
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private HikariDataSource replicaPool(String url, String name) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl(url);
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setPoolName(name);
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+        // Una réplica caída al arrancar no impide iniciar el servicio; queda fuera de la rotación
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+}
@@ -0,0 +1,35 @@
+package com.mediaflow.api.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool propio para las tareas @Scheduled: con el scheduler por defecto (un solo hilo) una
+ * reconciliación o una recarga larga retrasa el flush de contadores y la sincronización de
+ * revocaciones y claves.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(
+            @Value("${scheduling.pool-size:4}") int poolSize,
+            @Value("${scheduling.await-termination-seconds:10}") int awaitTerminationSeconds) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        // Una tarea que falla se registra y vuelve a ejecutarse en su próximo turno
+        scheduler.setErrorHandler(e -> log.warn("Scheduled task failed", e));
+        // Deja terminar el flush de contadores y demás tareas en curso al apagar
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return scheduler;
+    }
+}
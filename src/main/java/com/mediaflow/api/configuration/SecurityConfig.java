@@ -21,6 +21,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.mediaflow.api.security.RoleAuthorization;
+
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -33,6 +35,7 @@ public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+    private final RoleAuthorization roleAuthorization;
 
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
@@ -59,16 +62,23 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/users/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/users/register").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/users/login").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/users/token/refresh").permitAll()
                         .requestMatchers("/error").permitAll()
 
+                        // JWKS para que otros servicios verifiquen tokens sin llamarnos
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+
                         // Swagger/OpenAPI
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
 
-                        // Roles - Solo ADMIN
-                        .requestMatchers(HttpMethod.GET, "/api/v1/roles").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.POST, "/api/v1/roles/**").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.PUT, "/api/v1/roles/**").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.DELETE, "/api/v1/roles/**").hasRole("ADMIN")
+                        // Roles - Solo ADMIN (verificación por máscara de bits)
+                        .requestMatchers(HttpMethod.GET, "/api/v1/roles").access(roleAuthorization.require("ADMIN"))
+                        .requestMatchers(HttpMethod.POST, "/api/v1/roles/**").access(roleAuthorization.require("ADMIN"))
+                        .requestMatchers(HttpMethod.PUT, "/api/v1/roles/**").access(roleAuthorization.require("ADMIN"))
+                        .requestMatchers(HttpMethod.DELETE, "/api/v1/roles/**").access(roleAuthorization.require("ADMIN"))
+
+                        // Endpoints internos - Solo cuentas de servicio, nunca tokens de usuarios finales
+                        .requestMatchers("/api/v1/internal/**").access(roleAuthorization.require("SERVICE"))
 
                         // Usuarios - Actualizar y eliminar solo su propia cuenta
                         .requestMatchers(HttpMethod.PUT, "/api/v1/users/update_account/**").authenticated()
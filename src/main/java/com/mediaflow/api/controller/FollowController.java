@@ -0,0 +1,161 @@
+package com.mediaflow.api.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mediaflow.api.dto.FollowCounts;
+import com.mediaflow.api.dto.FollowPage;
+import com.mediaflow.api.dto.FollowSuggestionsResponse;
+import com.mediaflow.api.dto.MutualFollowsResponse;
+import com.mediaflow.api.dto.RelationshipResponse;
+import com.mediaflow.api.service.AuthenticationService;
+import com.mediaflow.api.service.FollowService;
+import com.mediaflow.api.service.FollowSuggestionService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Follows", description = "Follow users and list followers/following with cursor pagination")
+public class FollowController {
+
+    private final FollowService followService;
+    private final AuthenticationService authenticationService;
+    private final FollowSuggestionService followSuggestionService;
+
+    @Operation(summary = "Who to follow", description = "Suggestions for the current user: accounts followed by the people they follow, ranked by how many of them follow each account plus a bonus for sharing the preferred language. Results are cached per user and updated when the user follows someone.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved (partial=true if the latency budget ran out)"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "503", description = "Follow graph still loading")
+    })
+    @GetMapping("/me/suggestions")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<FollowSuggestionsResponse> suggestions(
+            @Parameter(description = "Maximum suggestions returned (default 20, max 100)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(followSuggestionService.suggest(authenticationService.getCurrentUserId(), limit));
+    }
+
+    @Operation(summary = "Follow a user", description = "The current user starts following the given user. Following twice has no effect.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Following"),
+        @ApiResponse(responseCode = "400", description = "Users cannot follow themselves"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @PostMapping("/{userId}/follow")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> follow(@PathVariable Integer userId) {
+        followService.follow(authenticationService.getCurrentUserId(), userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Unfollow a user", description = "The current user stops following the given user. Unfollowing a user that is not followed has no effect.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Not following"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @DeleteMapping("/{userId}/follow")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> unfollow(@PathVariable Integer userId) {
+        followService.unfollow(authenticationService.getCurrentUserId(), userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Check if following", description = "Returns whether the current user follows the given user")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Follow status retrieved"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @GetMapping("/{userId}/follow")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Boolean>> isFollowing(@PathVariable Integer userId) {
+        boolean following = followService.isFollowing(authenticationService.getCurrentUserId(), userId);
+        return ResponseEntity.ok(Map.of("following", following));
+    }
+
+    @Operation(summary = "Get follow counts", description = "Number of followers and followed users, read from precomputed counters")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Counts retrieved"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @GetMapping("/{userId}/follow-counts")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<FollowCounts> counts(@PathVariable Integer userId) {
+        return ResponseEntity.ok(followService.counts(userId));
+    }
+
+    @Operation(summary = "Get relationship between two users", description = "Whether each user follows the other, how many followers they share, and whether otherUserId is followed by someone userId follows. Served from the in-memory follow graph.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Relationship retrieved"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "503", description = "Follow graph still loading")
+    })
+    @GetMapping("/{userId}/relationship/{otherUserId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<RelationshipResponse> relationship(@PathVariable Integer userId, @PathVariable Integer otherUserId) {
+        return ResponseEntity.ok(followService.relationship(userId, otherUserId));
+    }
+
+    @Operation(summary = "List mutual follows", description = "Users that follow userId and are followed back, ordered by id. Served from the in-memory follow graph.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Mutual follows retrieved"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "503", description = "Follow graph still loading")
+    })
+    @GetMapping("/{userId}/mutuals")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<MutualFollowsResponse> mutuals(
+            @PathVariable Integer userId,
+            @Parameter(description = "Maximum ids returned (default 50, max 200)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(followService.mutualFollows(userId, limit));
+    }
+
+    @Operation(summary = "List followers", description = "Followers of a user ordered by id. Pass nextCursor as 'after' to get the next page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of followers"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @GetMapping("/{userId}/followers")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<FollowPage> followers(
+            @PathVariable Integer userId,
+            @Parameter(description = "Cursor: last userId of the previous page") @RequestParam(required = false) Integer after,
+            @Parameter(description = "Page size (default 50, max 200)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(followService.findFollowers(userId, after, limit));
+    }
+
+    @Operation(summary = "List following", description = "Users followed by a user ordered by id. Pass nextCursor as 'after' to get the next page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of followed users"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @GetMapping("/{userId}/following")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<FollowPage> following(
+            @PathVariable Integer userId,
+            @Parameter(description = "Cursor: last userId of the previous page") @RequestParam(required = false) Integer after,
+            @Parameter(description = "Page size (default 50, max 200)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(followService.findFollowing(userId, after, limit));
+    }
+}
@@ -0,0 +1,41 @@
+package com.mediaflow.api.controller;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mediaflow.api.security.SigningKeyRing;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Tag(name = "JWKS", description = "Public keys used to verify access tokens")
+public class JwksController {
+
+    private final SigningKeyRing keyRing;
+    private final CacheControl cacheControl;
+
+    public JwksController(
+            SigningKeyRing keyRing,
+            @Value("${jwt.jwks.max-age-seconds:300}") long maxAgeSeconds) {
+        this.keyRing = keyRing;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+    }
+
+    @Operation(summary = "JSON Web Key Set", description = "Returns the public keys (by kid) that sign access tokens when jwt.algorithm is ES256 or RS256. Empty with HS256.")
+    @ApiResponse(responseCode = "200", description = "Key set retrieved successfully")
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        // La clave siguiente ya está publicada, así que basta con refrescar antes de cada rotación
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(keyRing.jwksJson());
+    }
+}
@@ -0,0 +1,76 @@
+package com.mediaflow.api.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mediaflow.api.cache.HibernateCacheMetrics;
+import com.mediaflow.api.graph.SocialGraphIndex;
+import com.mediaflow.api.security.LoginThrottle;
+import com.mediaflow.api.security.PasswordHashingExecutor;
+import com.mediaflow.api.security.RefreshTokenStore;
+import com.mediaflow.api.security.TokenRevocationService;
+import com.mediaflow.api.security.VerifiedTokenCache;
+import com.mediaflow.api.service.CustomUserDetailsService;
+import com.mediaflow.api.service.FollowSuggestionService;
+import com.mediaflow.api.service.UserCounterService;
+import com.mediaflow.api.service.UserSummaryService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/admin/metrics")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Metrics", description = "Runtime metrics of in-process caches and pools - ADMIN only")
+public class MetricsController {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginThrottle loginThrottle;
+    private final TokenRevocationService revocationService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final HibernateCacheMetrics hibernateCacheMetrics;
+    private final UserCounterService userCounterService;
+    private final SocialGraphIndex socialGraphIndex;
+    private final FollowSuggestionService followSuggestionService;
+    private final UserSummaryService userSummaryService;
+
+    @Operation(
+        summary = "Get runtime metrics",
+        description = "Returns cache hit/miss/eviction counters (including Hibernate second-level cache regions) and password hashing queue depth and latency. Only accessible by administrators."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Metrics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires ADMIN role")
+    })
+    @GetMapping
+    @PreAuthorize("@roleAuthorization.has(authentication, 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("userDetailsCache", userDetailsService.cacheStats());
+        metrics.put("passwordHashing", passwordHashingExecutor.stats());
+        metrics.put("loginThrottle", loginThrottle.stats());
+        metrics.put("tokenRevocation", revocationService.stats());
+        metrics.put("refreshSessions", refreshTokenStore.size());
+        metrics.put("verifiedTokenCache", verifiedTokenCache.stats());
+        metrics.put("hibernateSecondLevelCache", hibernateCacheMetrics.stats());
+        metrics.put("followCounters", userCounterService.stats());
+        metrics.put("socialGraph", socialGraphIndex.stats());
+        metrics.put("followSuggestions", followSuggestionService.stats());
+        metrics.put("userSummaries", userSummaryService.stats());
+        return ResponseEntity.ok(metrics);
+    }
+}
@@ -55,7 +55,7 @@ public class RoleController {
         @ApiResponse(responseCode = "403", description = "Forbidden - Requires ADMIN role")
     })
     @GetMapping
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("@roleAuthorization.has(authentication, 'ADMIN')")
     public ResponseEntity<List<RoleResponse>> findAll() {
         return ResponseEntity.ok(service.findAll());
     }
@@ -75,7 +75,7 @@ public class RoleController {
         @ApiResponse(responseCode = "404", description = "Role not found")
     })
     @GetMapping("/{roleId}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("@roleAuthorization.has(authentication, 'ADMIN')")
     public ResponseEntity<RoleResponse> getById(@PathVariable Integer roleId) {
         return ResponseEntity.ok(service.findById(roleId));
     }
@@ -96,7 +96,7 @@ public class RoleController {
         @ApiResponse(responseCode = "409", description = "Role already exists")
     })
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("@roleAuthorization.has(authentication, 'ADMIN')")
     public ResponseEntity<RoleResponse> create(@Valid @RequestBody RoleRequest req) {
         RoleResponse created = service.create(req);
         return ResponseEntity
@@ -120,7 +120,7 @@ public class RoleController {
         @ApiResponse(responseCode = "404", description = "Role not found")
     })
     @PutMapping("/{roleId}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("@roleAuthorization.has(authentication, 'ADMIN')")
     public ResponseEntity<RoleResponse> update(
             @PathVariable Integer roleId, 
             @Valid @RequestBody RoleRequest req) {
@@ -140,7 +140,7 @@ public class RoleController {
     })
     @DeleteMapping("/{roleId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("@roleAuthorization.has(authentication, 'ADMIN')")
     public void delete(@PathVariable Integer roleId) {
         service.delete(roleId);
     }
@@ -1,18 +1,12 @@
 package com.mediaflow.api.controller;
 
 import java.net.URI;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,17 +14,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.mediaflow.api.dto.AuthResponse;
 import com.mediaflow.api.dto.LoguinReques;
-import com.mediaflow.api.dto.UserAuth;
+import com.mediaflow.api.dto.RefreshTokenRequest;
+import com.mediaflow.api.dto.SessionResponse;
+import com.mediaflow.api.dto.TokenClaims;
+import com.mediaflow.api.dto.TokenValidation;
 import com.mediaflow.api.dto.UserRequest;
 import com.mediaflow.api.dto.UserResponse;
+import com.mediaflow.api.security.TokenRevocationService;
 import com.mediaflow.api.service.AuthenticationService;
 import com.mediaflow.api.service.JwtService;
+import com.mediaflow.api.service.LoginService;
+import com.mediaflow.api.service.SessionService;
 import com.mediaflow.api.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -40,6 +41,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -52,10 +55,11 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 
         private final UserService service;
-        private final JwtService jwtService;
-        private final AuthenticationManager authenticationManager;
-        private final UserDetailsService userDetailsService;
+        private final LoginService loginService;
         private final AuthenticationService authenticationService;
+        private final JwtService jwtService;
+        private final TokenRevocationService revocationService;
+        private final SessionService sessionService;
 
         @Operation(summary = "Register new user", description = "Creates a new user in the system with profile")
         @ApiResponses(value = {
@@ -115,48 +119,88 @@ public class UserController {
         @Operation(summary = "User login", description = "Authenticates a user with email and password. Returns JWT token for subsequent requests.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Login successful", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthResponse.class))),
-                        @ApiResponse(responseCode = "401", description = "Invalid credentials"),
-                        @ApiResponse(responseCode = "404", description = "User not found")
+                        @ApiResponse(responseCode = "401", description = "Invalid credentials (unknown email or wrong password)"),
+                        @ApiResponse(responseCode = "429", description = "Too many login attempts")
         })
         @PostMapping("/login")
-        public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoguinReques request) {
-                // Autenticar usuario
-                authenticationManager.authenticate(
-                                new UsernamePasswordAuthenticationToken(
-                                                request.getEmail(),
-                                                request.getPassword()));
-
-                // Obtener datos del usuario
-                UserAuth user = service.login(request.getEmail(), request.getPassword());
-
-                // Generar token JWT con roles y userId
-                UserDetails userDetails = userDetailsService.loadUserByUsername(request.getEmail());
-                Map<String, Object> extraClaims = new HashMap<>();
-                extraClaims.put("roles", userDetails.getAuthorities().stream()
-                                .map(GrantedAuthority::getAuthority)
-                                .collect(Collectors.toList()));
-                extraClaims.put("userId", user.getId());
-
-                String jwtToken = jwtService.generateToken(extraClaims, userDetails);
-
-                // Construir respuesta con token
-                AuthResponse authResponse = AuthResponse.builder()
-                                .token(jwtToken)
-                                .tokenType("Bearer")
-                                .expiresIn(jwtService.getExpirationTime())
-                                .userId(user.getId())
-                                .userName(user.getUserName())
-                                .email(user.getEmail())
-                                .dateBirth(user.getDateBirth())
-                                .roles(user.getRoles())
-                                .profileId(user.getProfileId())
-                                .displayName(user.getDisplayName())
-                                .preferredLanguage(user.getPreferredLanguage())
-                                .avatarUrl(user.getAvatarUrl())
-                                .bio(user.getBio())
-                                .build();
-
-                return ResponseEntity.ok(authResponse);
+        public ResponseEntity<AuthResponse> login(
+                        @Valid @RequestBody LoguinReques request,
+                        HttpServletRequest httpRequest) {
+                // Una sola consulta y una sola verificación de contraseña por login.
+                // getRemoteAddr ya es la IP del cliente: server.forward-headers-strategy la resuelve
+                // desde X-Forwarded-For cuando la petición llega por un proxy de confianza
+                return ResponseEntity.ok(loginService.login(request, httpRequest.getRemoteAddr()));
+        }
+
+        @Operation(summary = "Refresh access token", description = "Exchanges a refresh token for a new access token and a new refresh token. The presented refresh token can not be used again.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Token refreshed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthResponse.class))),
+                        @ApiResponse(responseCode = "401", description = "Invalid, expired or reused refresh token")
+        })
+        @PostMapping("/token/refresh")
+        public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+                // Sin BCrypt: solo rotación del refresh token y roles desde la caché
+                return ResponseEntity.ok(loginService.refresh(request.getRefreshToken()));
+        }
+
+        @Operation(summary = "Logout", description = "Revokes the bearer token used in this request and closes its refresh session", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "204", description = "Token revoked"),
+                        @ApiResponse(responseCode = "401", description = "Not authenticated")
+        })
+        @PostMapping("/logout")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+                TokenClaims claims = currentClaims(authorization);
+                if (claims != null) {
+                        revocationService.revoke(claims);
+                        if (claims.getSessionId() != null && claims.getUserId() != null) {
+                                try {
+                                        sessionService.revoke(claims.getUserId(), claims.getSessionId());
+                                } catch (EntityNotFoundException e) {
+                                        // La sesión ya estaba cerrada o expirada
+                                }
+                        }
+                }
+                return ResponseEntity.noContent().build();
+        }
+
+        @Operation(summary = "List active sessions", description = "Returns the refresh sessions of the current user. The session of this request is flagged as current.", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Sessions retrieved successfully"),
+                        @ApiResponse(responseCode = "401", description = "Not authenticated")
+        })
+        @GetMapping("/sessions")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<List<SessionResponse>> sessions(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+                TokenClaims claims = currentClaims(authorization);
+                String currentSessionId = claims != null ? claims.getSessionId() : null;
+                return ResponseEntity.ok(sessionService.findByUser(authenticationService.getCurrentUserId(), currentSessionId));
+        }
+
+        @Operation(summary = "Close a session", description = "Revokes one refresh session of the current user and its access tokens", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "204", description = "Session closed"),
+                        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+                        @ApiResponse(responseCode = "404", description = "Session not found")
+        })
+        @DeleteMapping("/sessions/{sessionId}")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<Void> revokeSession(@PathVariable String sessionId) {
+                sessionService.revoke(authenticationService.getCurrentUserId(), sessionId);
+                return ResponseEntity.noContent().build();
+        }
+
+        @Operation(summary = "Logout from all sessions", description = "Revokes every refresh session and access token of the current user", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "204", description = "All sessions closed"),
+                        @ApiResponse(responseCode = "401", description = "Not authenticated")
+        })
+        @DeleteMapping("/sessions")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<Void> revokeAllSessions() {
+                sessionService.revokeAll(authenticationService.getCurrentUserId());
+                return ResponseEntity.noContent().build();
         }
 
         @Operation(summary = "Get current user info", description = "Returns information about the currently authenticated user", security = @SecurityRequirement(name = "bearerAuth"))
@@ -191,6 +235,15 @@ public class UserController {
                 return ResponseEntity.ok(user);
         }
 
+        // Claims del bearer token de la petición actual (null si no es válido)
+        private TokenClaims currentClaims(String authorization) {
+                if (authorization == null || !authorization.startsWith("Bearer ")) {
+                        return null;
+                }
+                TokenValidation validation = jwtService.validate(authorization.substring("Bearer ".length()));
+                return validation.isValid() ? validation.getClaims() : null;
+        }
+
         // Método auxiliar para construir respuestas de error
         private java.util.Map<String, Object> buildErrorResponse(String message) {
                 java.util.Map<String, Object> error = new java.util.HashMap<>();
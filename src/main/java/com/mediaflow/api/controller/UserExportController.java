@@ -0,0 +1,74 @@
+package com.mediaflow.api.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mediaflow.api.service.UserExportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/users")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "User Export", description = "Full and incremental user dumps - ADMIN only")
+public class UserExportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    // Valor para updatedSince en la siguiente exportación: el inicio de esta (hora de la base) menos
+    // un margen, para no perder filas de transacciones que empezaron antes y confirmaron después.
+    // Las filas del margen se repiten; el consumidor debe tratar cada línea como upsert por userId.
+    private static final String WATERMARK_HEADER = "X-Export-Watermark";
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserExportService exportService;
+
+    @Operation(
+        summary = "Export users as NDJSON",
+        description = "Streams every user with roles and profile, one JSON object per line, ordered by userId. " +
+                "With updatedSince (ISO-8601 instant) only users whose account, roles or profile changed since then are included. " +
+                "The X-Export-Watermark response header holds the value to pass as updatedSince in the next incremental export " +
+                "(it overlaps the previous run slightly, so treat each line as an upsert by userId). " +
+                "Deleted users are not reported. Only accessible by administrators."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid updatedSince"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires ADMIN role")
+    })
+    @GetMapping(value = "/export", produces = NDJSON)
+    @PreAuthorize("@roleAuthorization.has(authentication, 'ADMIN')")
+    public void exportUsers(
+            @Parameter(description = "Only users modified at or after this instant, e.g. 2025-01-31T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+            HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+
+        // La cabecera se fija antes de la primera línea, mientras la respuesta no está confirmada
+        long exported = exportService.exportUsers(updatedSince,
+                startedAt -> response.setHeader(WATERMARK_HEADER, startedAt.minus(WATERMARK_OVERLAP).toString()),
+                response.getOutputStream());
+        log.info("User export finished: {} users{}", exported,
+                updatedSince != null ? " updated since " + updatedSince : "");
+    }
+}
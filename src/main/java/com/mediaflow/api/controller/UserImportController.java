@@ -0,0 +1,80 @@
+package com.mediaflow.api.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaflow.api.dto.UserImportSummary;
+import com.mediaflow.api.service.UserImportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/admin/users")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "User Import", description = "Bulk user onboarding - ADMIN only")
+public class UserImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final UserImportService importService;
+    private final ObjectMapper objectMapper;
+
+    @Operation(
+        summary = "Bulk import users",
+        description = "Streams users as NDJSON (one UserRequest per line) or CSV (header: name,email,password,dateBirth,roles,preferredLanguage; roles separated by '|'). " +
+                "Creates each user with its default profile and roles. Restricted roles are rejected, as in registration. " +
+                "The response is NDJSON: one line per rejected input line ({line, email, error}) and a final summary line ({processed, imported, failed, elapsedMillis}). " +
+                "Only accessible by administrators."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import processed; see the per-line report"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires ADMIN role"),
+        @ApiResponse(responseCode = "415", description = "Unsupported content type")
+    })
+    @PostMapping(value = "/import", consumes = { NDJSON, CSV }, produces = NDJSON)
+    @PreAuthorize("@roleAuthorization.has(authentication, 'ADMIN')")
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(CSV))
+                        ? UserImportService.Format.CSV
+                        : UserImportService.Format.NDJSON;
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+
+        // El reporte se escribe a medida que se detectan errores: no se acumula en memoria
+        UserImportSummary summary = importService.importUsers(request.getInputStream(), format, error -> {
+            try {
+                writeLine(out, error);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not write import report", e);
+            }
+        });
+        writeLine(out, summary);
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
+}
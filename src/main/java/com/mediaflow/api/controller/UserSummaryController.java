@@ -0,0 +1,51 @@
+package com.mediaflow.api.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mediaflow.api.dto.UserSummary;
+import com.mediaflow.api.dto.UserSummaryRequest;
+import com.mediaflow.api.service.UserSummaryService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/internal/users")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Internal", description = "Endpoints for other MediaFlow services")
+public class UserSummaryController {
+
+    private final UserSummaryService userSummaryService;
+
+    @Operation(
+        summary = "Batch user summaries",
+        description = "Public summary (display name, avatar URL, roles) of up to 500 users in one call, " +
+                "in request order and without duplicates. Unknown ids are omitted. " +
+                "Served from a cache; summaries may lag profile changes by up to the cache TTL. " +
+                "Requires a service account (SERVICE role)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Summaries retrieved"),
+        @ApiResponse(responseCode = "400", description = "Empty list, more than 500 ids or null ids"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "403", description = "Caller is not a service account")
+    })
+    @PostMapping("/summaries")
+    @PreAuthorize("@roleAuthorization.has(authentication, 'SERVICE')")
+    public ResponseEntity<List<UserSummary>> summaries(@Valid @RequestBody UserSummaryRequest request) {
+        return ResponseEntity.ok(userSummaryService.findSummaries(request.getUserIds()));
+    }
+}
@@ -0,0 +1,165 @@
+package com.mediaflow.api.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Envía las transacciones read-only a las réplicas (round-robin entre las sanas) y
+ * todo lo demás al primario.
+ *
+ * Debe usarse detrás de un LazyConnectionDataSourceProxy: JpaTransactionManager marca
+ * la transacción como read-only después de abrirla, y el proxy retrasa la conexión real
+ * hasta la primera sentencia, cuando el flag ya está disponible.
+ *
+ * Una réplica que falla al entregar una conexión queda fuera de la rotación hasta que
+ * {@link #checkHealth()} vuelva a validarla; mientras no haya réplicas sanas las lecturas
+ * van al primario.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final int validationTimeoutSeconds;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, int validationTimeoutSeconds) {
+        this.primary = primary;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+
+        List<Replica> list = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaDataSources.get(i));
+            list.add(replica);
+            targets.put(replica.key, replica.dataSource);
+        }
+        this.replicas = List.copyOf(list);
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Replica replica = nextHealthy();
+        return replica != null ? replica.key : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        // Cada réplica caída se descarta y se prueba la siguiente; sin réplicas, el primario
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = nextHealthy();
+            if (replica == null) {
+                break;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Valida cada réplica con una conexión nueva y actualiza su estado
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                log.info("Read replica {} is back in rotation", replica.key);
+            } else if (!healthy && replica.healthy) {
+                log.warn("Read replica {} failed health check, routing reads elsewhere", replica.key);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Estado de cada réplica (clave -> sana)
+     */
+    public Map<String, Boolean> replicaHealth() {
+        Map<String, Boolean> health = new LinkedHashMap<>();
+        replicas.forEach(replica -> health.put(replica.key, replica.healthy));
+        return health;
+    }
+
+    @Override
+    public void close() throws Exception {
+        closeQuietly(primary);
+        replicas.forEach(replica -> closeQuietly(replica.dataSource));
+    }
+
+    private Replica nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void markDown(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            log.warn("Read replica {} unavailable: {}", replica.key, e.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Error closing data source: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -21,6 +21,10 @@ public class AuthResponse {
 
     private Long expiresIn;
 
+    private String refreshToken;
+
+    private Long refreshExpiresIn;
+
     private Integer userId;
 
     private String userName;
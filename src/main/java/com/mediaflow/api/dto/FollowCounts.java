@@ -0,0 +1,12 @@
+package com.mediaflow.api.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class FollowCounts {
+    Integer userId;
+    long followers;
+    long following;
+}
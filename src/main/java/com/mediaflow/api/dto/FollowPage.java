@@ -0,0 +1,17 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Página de un listado de seguidores/seguidos. nextCursor se pasa como "after" para
+ * pedir la siguiente página; es null en la última.
+ */
+@Value
+@Builder
+public class FollowPage {
+    List<FollowResponse> items;
+    Integer nextCursor;
+}
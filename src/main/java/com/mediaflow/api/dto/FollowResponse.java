@@ -0,0 +1,13 @@
+package com.mediaflow.api.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class FollowResponse {
+    Integer userId;
+    String name;
+    String displayName;
+    String avatarUrl;
+}
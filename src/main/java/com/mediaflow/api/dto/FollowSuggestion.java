@@ -0,0 +1,14 @@
+package com.mediaflow.api.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class FollowSuggestion {
+    Integer userId;
+    int score;
+    // Cuántos de los seguidos del usuario ya siguen al candidato
+    int followedByFollowing;
+    boolean sameLanguage;
+}
@@ -0,0 +1,22 @@
+package com.mediaflow.api.dto;
+
+import com.mediaflow.api.cache.CacheStats;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class FollowSuggestionStats {
+    CacheStats cache;
+    long computed;
+    long incrementalUpdates;
+    long partialResults;
+    long overBudget;
+    long latencyBudgetMillis;
+    double p50Millis;
+    double p99Millis;
+    double maxMillis;
+    int parallelism;
+    int languageProfiles;
+}
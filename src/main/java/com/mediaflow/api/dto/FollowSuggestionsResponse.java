@@ -0,0 +1,16 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class FollowSuggestionsResponse {
+    Integer userId;
+    List<FollowSuggestion> suggestions;
+    // true si el cálculo se cortó por el presupuesto de latencia
+    boolean partial;
+    boolean cached;
+}
@@ -0,0 +1,11 @@
+package com.mediaflow.api.dto;
+
+/**
+ * Proyección de un usuario en un listado de seguidores/seguidos
+ */
+public interface FollowView {
+    Integer getUserId();
+    String getName();
+    String getDisplayName();
+    String getAvatarUrl();
+}
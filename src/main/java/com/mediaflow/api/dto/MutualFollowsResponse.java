@@ -0,0 +1,14 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class MutualFollowsResponse {
+    Integer userId;
+    int total;
+    List<Integer> userIds;
+}
@@ -0,0 +1,12 @@
+package com.mediaflow.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+    @NotBlank
+    @Size(max = 128)
+    private String refreshToken;
+}
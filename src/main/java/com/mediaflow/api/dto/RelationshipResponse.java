@@ -0,0 +1,19 @@
+package com.mediaflow.api.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Relación entre dos usuarios, resuelta con el índice de seguidores en memoria
+ */
+@Value
+@Builder
+public class RelationshipResponse {
+    Integer userId;
+    Integer otherUserId;
+    boolean following;
+    boolean followedBy;
+    boolean mutual;
+    int followersInCommon;
+    boolean reachableInTwoHops;
+}
@@ -0,0 +1,6 @@
+package com.mediaflow.api.dto;
+
+public interface RoleRow {
+    Integer getRoleId();
+    String getName();
+}
@@ -0,0 +1,17 @@
+package com.mediaflow.api.dto;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SessionResponse {
+    String sessionId;
+    String clientIp;
+    Instant createdAt;
+    Instant lastRefreshedAt;
+    Instant expiresAt;
+    boolean current;
+}
@@ -0,0 +1,25 @@
+package com.mediaflow.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Claims de un JWT ya verificado. Inmutable: se construye una sola vez por token.
+ */
+@Value
+@Builder
+public class TokenClaims {
+    String tokenId;
+    String subject;
+    Integer userId;
+    String sessionId;
+    List<String> roles;
+    // Claim "rm": máscara de roles; null en tokens emitidos con la lista "roles"
+    Long roleMask;
+    // Claim "iatms" (milisegundos); "iat" en segundos en tokens anteriores
+    Instant issuedAt;
+    Instant expiration;
+}
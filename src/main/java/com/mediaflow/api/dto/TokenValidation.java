@@ -0,0 +1,35 @@
+package com.mediaflow.api.dto;
+
+import lombok.Value;
+
+/**
+ * Resultado de validar un JWT: estado y, si es válido, sus claims.
+ */
+@Value
+public class TokenValidation {
+
+    public enum Status {
+        VALID,
+        EXPIRED,
+        INVALID
+    }
+
+    Status status;
+    TokenClaims claims;
+
+    public static TokenValidation valid(TokenClaims claims) {
+        return new TokenValidation(Status.VALID, claims);
+    }
+
+    public static TokenValidation expired() {
+        return new TokenValidation(Status.EXPIRED, null);
+    }
+
+    public static TokenValidation invalid() {
+        return new TokenValidation(Status.INVALID, null);
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+}
@@ -0,0 +1,15 @@
+package com.mediaflow.api.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class UserCounterStats {
+    int pendingUsers;
+    long flushes;
+    long flushedRows;
+    long failedFlushes;
+    double lastFlushMillis;
+    long reconciledRows;
+}
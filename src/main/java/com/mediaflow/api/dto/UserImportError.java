@@ -0,0 +1,15 @@
+package com.mediaflow.api.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Línea rechazada de una importación masiva (una por línea en el reporte NDJSON)
+ */
+@Value
+@Builder
+public class UserImportError {
+    long line;
+    String email;
+    String error;
+}
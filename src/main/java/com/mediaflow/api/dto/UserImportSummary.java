@@ -0,0 +1,16 @@
+package com.mediaflow.api.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Última línea del reporte de una importación masiva
+ */
+@Value
+@Builder
+public class UserImportSummary {
+    long processed;
+    long imported;
+    long failed;
+    long elapsedMillis;
+}
@@ -0,0 +1,18 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Datos públicos de un usuario para mostrarlo en feeds de otros servicios
+ */
+@Value
+@Builder
+public class UserSummary {
+    Integer userId;
+    String displayName;
+    String avatarUrl;
+    List<String> roles;
+}
@@ -0,0 +1,15 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class UserSummaryRequest {
+    @NotEmpty
+    @Size(max = 500)
+    private List<@NotNull Integer> userIds;
+}
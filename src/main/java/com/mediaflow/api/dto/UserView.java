@@ -0,0 +1,19 @@
+package com.mediaflow.api.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de lectura de un usuario con sus roles y su perfil, resuelta en una sola consulta
+ */
+public interface UserView {
+    Integer getId();
+    String getUserName();
+    String getEmail();
+    LocalDate getDateBirth();
+    String[] getRoles();
+    Integer getProfileId();
+    String getDisplayName();
+    String getPreferredLanguage();
+    String getAvatarUrl();
+    String getBio();
+}
@@ -0,0 +1,12 @@
+package com.mediaflow.api.exception;
+
+/**
+ * Petición bien formada pero no permitida por una regla de negocio (por ejemplo, seguirse a sí mismo).
+ * Se responde con 400.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.mediaflow.api.exception;
+
+import lombok.Getter;
+
+/**
+ * Se lanza cuando un recurso acotado (por ejemplo, el pool de hashing) está saturado.
+ * Se responde con 503 y el encabezado Retry-After.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
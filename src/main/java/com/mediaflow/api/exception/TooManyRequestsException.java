@@ -0,0 +1,17 @@
+package com.mediaflow.api.exception;
+
+import lombok.Getter;
+
+/**
+ * Se lanza cuando un cliente supera un límite de intentos. Se responde con 429 y Retry-After.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
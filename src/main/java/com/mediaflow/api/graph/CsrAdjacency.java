@@ -0,0 +1,78 @@
+package com.mediaflow.api.graph;
+
+import java.util.Arrays;
+
+/**
+ * Listas de adyacencia en formato CSR (compressed sparse row): los vecinos del nodo u son
+ * targets[offsets[u] .. offsets[u + 1]), ordenados. Son dos arreglos de int para todo el
+ * grafo: 4 bytes por arista y 4 por nodo, sin objetos por nodo ni por arista. Inmutable.
+ */
+public final class CsrAdjacency {
+
+    private final int[] offsets;
+    private final int[] targets;
+
+    private CsrAdjacency(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Construye la adyacencia con counting sort por origen y ordena cada lista de vecinos.
+     * Con reverse=true usa las aristas invertidas (destino -> origen).
+     * Las aristas no deben repetirse (subscriptions tiene PK).
+     */
+    public static CsrAdjacency build(EdgeBuffer edges, int nodeCount, boolean reverse) {
+        int[] from = reverse ? edges.targets() : edges.sources();
+        int[] to = reverse ? edges.sources() : edges.targets();
+        int size = edges.size();
+
+        int[] offsets = new int[nodeCount + 1];
+        for (int e = 0; e < size; e++) {
+            offsets[from[e] + 1]++;
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+
+        int[] targets = new int[size];
+        int[] cursor = Arrays.copyOf(offsets, nodeCount);
+        for (int e = 0; e < size; e++) {
+            targets[cursor[from[e]]++] = to[e];
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            if (offsets[u + 1] - offsets[u] > 1) {
+                Arrays.sort(targets, offsets[u], offsets[u + 1]);
+            }
+        }
+        return new CsrAdjacency(offsets, targets);
+    }
+
+    public int nodeCount() {
+        return offsets.length - 1;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public IntRange neighbors(int node) {
+        if (node < 0 || node >= nodeCount()) {
+            return IntRange.EMPTY;
+        }
+        return new IntRange(targets, offsets[node], offsets[node + 1]);
+    }
+
+    public int degree(int node) {
+        return node < 0 || node >= nodeCount() ? 0 : offsets[node + 1] - offsets[node];
+    }
+
+    public boolean contains(int node, int neighbor) {
+        return node >= 0 && node < nodeCount()
+                && Arrays.binarySearch(targets, offsets[node], offsets[node + 1], neighbor) >= 0;
+    }
+
+    public long memoryBytes() {
+        return 4L * offsets.length + 4L * targets.length;
+    }
+}
@@ -0,0 +1,52 @@
+package com.mediaflow.api.graph;
+
+import java.util.Arrays;
+
+/**
+ * Lista creciente de aristas (origen, destino) en dos arreglos de int, usada para cargar
+ * el grafo sin crear un objeto por arista
+ */
+public final class EdgeBuffer {
+
+    private int[] sources;
+    private int[] targets;
+    private int size;
+    private int maxNode = -1;
+
+    public EdgeBuffer(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        this.sources = new int[capacity];
+        this.targets = new int[capacity];
+    }
+
+    public void add(int source, int target) {
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Node ids must be non-negative");
+        }
+        if (size == sources.length) {
+            int capacity = sources.length + (sources.length >> 1);
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+        }
+        sources[size] = source;
+        targets[size] = target;
+        size++;
+        maxNode = Math.max(maxNode, Math.max(source, target));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int maxNode() {
+        return maxNode;
+    }
+
+    int[] sources() {
+        return sources;
+    }
+
+    int[] targets() {
+        return targets;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mediaflow.api.graph;
+
+import java.util.Arrays;
+
+/**
+ * Vista de un tramo ordenado de un arreglo de enteros: [from, to) de array.
+ * Permite leer los vecinos de un nodo directamente del arreglo CSR sin copiarlos.
+ */
+public record IntRange(int[] array, int from, int to) {
+
+    public static final IntRange EMPTY = new IntRange(new int[0], 0, 0);
+
+    public static IntRange of(int[] array) {
+        return new IntRange(array, 0, array.length);
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    public int get(int index) {
+        return array[from + index];
+    }
+
+    public boolean contains(int value) {
+        return Arrays.binarySearch(array, from, to, value) >= 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOfRange(array, from, to);
+    }
+}
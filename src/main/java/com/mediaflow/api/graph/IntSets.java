@@ -0,0 +1,183 @@
+package com.mediaflow.api.graph;
+
+import java.util.Arrays;
+
+/**
+ * Operaciones sobre conjuntos de enteros representados como arreglos ordenados y sin repetidos.
+ *
+ * Las intersecciones recorren ambas listas en paralelo (O(n + m)), salvo cuando una es mucho
+ * más chica que la otra: ahí cada elemento de la chica se busca con galloping en la grande
+ * (O(n log m)), que es el caso típico de un usuario común contra un creador popular.
+ */
+public final class IntSets {
+
+    // A partir de esta proporción entre tamaños conviene buscar en lugar de recorrer
+    private static final int GALLOP_RATIO = 16;
+
+    private IntSets() {
+    }
+
+    public static int[] intersect(IntRange a, IntRange b) {
+        if (a.size() > b.size()) {
+            IntRange swap = a;
+            a = b;
+            b = swap;
+        }
+        int[] out = new int[a.size()];
+        int count = 0;
+        if ((long) a.size() * GALLOP_RATIO < b.size()) {
+            int position = b.from();
+            for (int i = a.from(); i < a.to() && position < b.to(); i++) {
+                position = gallop(b.array(), position, b.to(), a.array()[i]);
+                if (position < b.to() && b.array()[position] == a.array()[i]) {
+                    out[count++] = a.array()[i];
+                }
+            }
+        } else {
+            int i = a.from();
+            int j = b.from();
+            while (i < a.to() && j < b.to()) {
+                int x = a.array()[i];
+                int y = b.array()[j];
+                if (x < y) {
+                    i++;
+                } else if (x > y) {
+                    j++;
+                } else {
+                    out[count++] = x;
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return count == out.length ? out : Arrays.copyOf(out, count);
+    }
+
+    public static int intersectionSize(IntRange a, IntRange b) {
+        if (a.size() > b.size()) {
+            IntRange swap = a;
+            a = b;
+            b = swap;
+        }
+        int count = 0;
+        if ((long) a.size() * GALLOP_RATIO < b.size()) {
+            int position = b.from();
+            for (int i = a.from(); i < a.to() && position < b.to(); i++) {
+                position = gallop(b.array(), position, b.to(), a.array()[i]);
+                if (position < b.to() && b.array()[position] == a.array()[i]) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        int i = a.from();
+        int j = b.from();
+        while (i < a.to() && j < b.to()) {
+            int x = a.array()[i];
+            int y = b.array()[j];
+            if (x < y) {
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * True si los conjuntos comparten al menos un elemento (corta en la primera coincidencia)
+     */
+    public static boolean intersects(IntRange a, IntRange b) {
+        if (a.size() > b.size()) {
+            IntRange swap = a;
+            a = b;
+            b = swap;
+        }
+        int i = a.from();
+        int j = b.from();
+        while (i < a.to() && j < b.to()) {
+            int x = a.array()[i];
+            j = gallop(b.array(), j, b.to(), x);
+            if (j < b.to() && b.array()[j] == x) {
+                return true;
+            }
+            i++;
+        }
+        return false;
+    }
+
+    /**
+     * (base - removed) ∪ added, todos ordenados; removed ⊆ base y added ∩ base = ∅
+     */
+    public static int[] merge(IntRange base, int[] removed, int[] added) {
+        int[] out = new int[base.size() - removed.length + added.length];
+        int count = 0;
+        int r = 0;
+        int a = 0;
+        for (int i = base.from(); i < base.to(); i++) {
+            int value = base.array()[i];
+            if (r < removed.length && removed[r] == value) {
+                r++;
+                continue;
+            }
+            while (a < added.length && added[a] < value) {
+                out[count++] = added[a++];
+            }
+            out[count++] = value;
+        }
+        while (a < added.length) {
+            out[count++] = added[a++];
+        }
+        return count == out.length ? out : Arrays.copyOf(out, count);
+    }
+
+    public static int[] insert(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index >= 0) {
+            return sorted;
+        }
+        int at = -index - 1;
+        int[] out = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, out, 0, at);
+        out[at] = value;
+        System.arraycopy(sorted, at, out, at + 1, sorted.length - at);
+        return out;
+    }
+
+    public static int[] remove(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            return sorted;
+        }
+        int[] out = new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, out, 0, index);
+        System.arraycopy(sorted, index + 1, out, index, sorted.length - index - 1);
+        return out;
+    }
+
+    /**
+     * Primera posición en [from, to) con valor >= target, avanzando en saltos exponenciales
+     */
+    static int gallop(int[] array, int from, int to, int target) {
+        if (from >= to || array[from] >= target) {
+            return from;
+        }
+        int step = 1;
+        int low = from;
+        int high = from + 1;
+        while (high < to && array[high] < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        if (high > to) {
+            high = to;
+        }
+        int index = Arrays.binarySearch(array, low + 1, high, target);
+        return index >= 0 ? index : -index - 1;
+    }
+}
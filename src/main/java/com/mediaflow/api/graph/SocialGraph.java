@@ -0,0 +1,230 @@
+package com.mediaflow.api.graph;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Grafo de seguidores en memoria: una base CSR inmutable en cada dirección (seguidos y
+ * seguidores, ~8 bytes por arista en total) más un overlay con los cambios posteriores.
+ *
+ * El overlay guarda, por nodo, las aristas agregadas que no están en la base y las de la base
+ * que se quitaron, ambas como arreglos ordenados inmutables; un nodo sin cambios se lee
+ * directamente del CSR sin copiar nada. Cuando el overlay crece se compacta en una base nueva
+ * ({@link #toEdges()} + {@link #build}).
+ *
+ * Las lecturas no bloquean. Las escrituras deben venir de un solo hilo a la vez
+ * (las serializa {@link SocialGraphIndex}).
+ */
+public final class SocialGraph {
+
+    private final CsrAdjacency following;
+    private final CsrAdjacency followers;
+    private final Map<Integer, NodeDelta> followingDelta = new ConcurrentHashMap<>();
+    private final Map<Integer, NodeDelta> followersDelta = new ConcurrentHashMap<>();
+    private final AtomicInteger overlayEdges = new AtomicInteger();
+    private final AtomicInteger edgeCount;
+
+    private SocialGraph(CsrAdjacency following, CsrAdjacency followers) {
+        this.following = following;
+        this.followers = followers;
+        this.edgeCount = new AtomicInteger(following.edgeCount());
+    }
+
+    /**
+     * Construye el grafo a partir de aristas (seguidor -> seguido) sin repetir
+     */
+    public static SocialGraph build(EdgeBuffer edges) {
+        int nodeCount = edges.maxNode() + 1;
+        return new SocialGraph(
+                CsrAdjacency.build(edges, nodeCount, false),
+                CsrAdjacency.build(edges, nodeCount, true));
+    }
+
+    public static SocialGraph empty() {
+        return build(new EdgeBuffer(0));
+    }
+
+    // ---- Escrituras (overlay) ----
+
+    /**
+     * Devuelve true si la arista no existía
+     */
+    public boolean addEdge(int follower, int followed) {
+        if (follows(follower, followed)) {
+            return false;
+        }
+        boolean inBase = following.contains(follower, followed);
+        followingDelta.compute(follower, (node, delta) -> NodeDelta.add(delta, followed, inBase));
+        followersDelta.compute(followed, (node, delta) -> NodeDelta.add(delta, follower, inBase));
+        overlayEdges.incrementAndGet();
+        edgeCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Devuelve true si la arista existía
+     */
+    public boolean removeEdge(int follower, int followed) {
+        if (!follows(follower, followed)) {
+            return false;
+        }
+        boolean inBase = following.contains(follower, followed);
+        followingDelta.compute(follower, (node, delta) -> NodeDelta.remove(delta, followed, inBase));
+        followersDelta.compute(followed, (node, delta) -> NodeDelta.remove(delta, follower, inBase));
+        overlayEdges.incrementAndGet();
+        edgeCount.decrementAndGet();
+        return true;
+    }
+
+    // ---- Consultas ----
+
+    public boolean follows(int follower, int followed) {
+        NodeDelta delta = followingDelta.get(follower);
+        if (delta != null) {
+            if (contains(delta.added, followed)) {
+                return true;
+            }
+            if (contains(delta.removed, followed)) {
+                return false;
+            }
+        }
+        return following.contains(follower, followed);
+    }
+
+    public boolean followEachOther(int a, int b) {
+        return follows(a, b) && follows(b, a);
+    }
+
+    /**
+     * Usuarios que sigue el usuario, ordenados por id
+     */
+    public IntRange following(int user) {
+        return view(following, followingDelta, user);
+    }
+
+    /**
+     * Seguidores del usuario, ordenados por id
+     */
+    public IntRange followers(int user) {
+        return view(followers, followersDelta, user);
+    }
+
+    /**
+     * Usuarios que el usuario sigue y que también lo siguen
+     */
+    public int[] mutualFollows(int user) {
+        return IntSets.intersect(following(user), followers(user));
+    }
+
+    /**
+     * Seguidores de a que también siguen a b
+     */
+    public int[] followersInCommon(int a, int b) {
+        return IntSets.intersect(followers(a), followers(b));
+    }
+
+    public int followersInCommonCount(int a, int b) {
+        return IntSets.intersectionSize(followers(a), followers(b));
+    }
+
+    /**
+     * Usuarios seguidos tanto por a como por b
+     */
+    public int[] followingInCommon(int a, int b) {
+        return IntSets.intersect(following(a), following(b));
+    }
+
+    /**
+     * True si a sigue a alguien que sigue a b (b está a dos saltos de a)
+     */
+    public boolean reachableInTwoHops(int a, int b) {
+        return IntSets.intersects(following(a), followers(b));
+    }
+
+    public int followingCount(int user) {
+        return following(user).size();
+    }
+
+    public int followerCount(int user) {
+        return followers(user).size();
+    }
+
+    // ---- Estado ----
+
+    public int edgeCount() {
+        return edgeCount.get();
+    }
+
+    public int nodeCount() {
+        return following.nodeCount();
+    }
+
+    /**
+     * Cantidad de cambios acumulados en el overlay desde que se construyó la base
+     */
+    public int overlaySize() {
+        return overlayEdges.get();
+    }
+
+    /**
+     * Bytes de los arreglos CSR (sin contar el overlay)
+     */
+    public long baseMemoryBytes() {
+        return following.memoryBytes() + followers.memoryBytes();
+    }
+
+    /**
+     * Todas las aristas actuales (base + overlay), para compactar en una base nueva
+     */
+    public EdgeBuffer toEdges() {
+        int nodes = nodeCount();
+        for (Integer node : followingDelta.keySet()) {
+            nodes = Math.max(nodes, node + 1);
+        }
+        EdgeBuffer edges = new EdgeBuffer(edgeCount());
+        for (int user = 0; user < nodes; user++) {
+            IntRange targets = following(user);
+            for (int i = targets.from(); i < targets.to(); i++) {
+                edges.add(user, targets.array()[i]);
+            }
+        }
+        return edges;
+    }
+
+    private static IntRange view(CsrAdjacency base, Map<Integer, NodeDelta> deltas, int user) {
+        IntRange neighbors = base.neighbors(user);
+        NodeDelta delta = deltas.get(user);
+        if (delta == null || (delta.added.length == 0 && delta.removed.length == 0)) {
+            return neighbors;
+        }
+        return IntRange.of(IntSets.merge(neighbors, delta.removed, delta.added));
+    }
+
+    private static boolean contains(int[] sorted, int value) {
+        return sorted.length > 0 && Arrays.binarySearch(sorted, value) >= 0;
+    }
+
+    /**
+     * Cambios de un nodo respecto de la base; inmutable, se reemplaza en cada escritura
+     */
+    private record NodeDelta(int[] added, int[] removed) {
+
+        private static final int[] NONE = new int[0];
+
+        static NodeDelta add(NodeDelta delta, int neighbor, boolean inBase) {
+            NodeDelta current = delta != null ? delta : new NodeDelta(NONE, NONE);
+            return inBase
+                    ? new NodeDelta(current.added, IntSets.remove(current.removed, neighbor))
+                    : new NodeDelta(IntSets.insert(current.added, neighbor), current.removed);
+        }
+
+        static NodeDelta remove(NodeDelta delta, int neighbor, boolean inBase) {
+            NodeDelta current = delta != null ? delta : new NodeDelta(NONE, NONE);
+            return inBase
+                    ? new NodeDelta(current.added, IntSets.insert(current.removed, neighbor))
+                    : new NodeDelta(IntSets.remove(current.added, neighbor), current.removed);
+        }
+    }
+}
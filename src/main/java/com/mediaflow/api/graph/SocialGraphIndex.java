@@ -0,0 +1,178 @@
+package com.mediaflow.api.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mediaflow.api.exception.ServiceOverloadedException;
+import com.mediaflow.api.repository.SocialGraphRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantiene el {@link SocialGraph} del proceso: lo carga desde subscriptions al arrancar (en
+ * segundo plano), lo actualiza en cada follow/unfollow de este nodo y lo reconstruye
+ * periódicamente desde la base para incorporar los cambios hechos por otros nodos.
+ *
+ * Cuando el overlay supera graph.compaction-threshold cambios se compacta en una base CSR
+ * nueva. Las reconstrucciones corren fuera del lock: los cambios que llegan mientras tanto se
+ * registran y se reaplican sobre el grafo nuevo antes de publicarlo.
+ */
+@Slf4j
+@Component
+public class SocialGraphIndex {
+
+    private final SocialGraphRepository repository;
+    private final int compactionThreshold;
+    private final long retryAfterSeconds;
+
+    private final Object lock = new Object();
+    private volatile SocialGraph graph = SocialGraph.empty();
+    private volatile boolean ready;
+    private boolean rebuilding;
+    private List<Change> replay;
+
+    private long builds;
+    private volatile double lastBuildMillis;
+
+    public SocialGraphIndex(
+            SocialGraphRepository repository,
+            @Value("${graph.compaction-threshold:100000}") int compactionThreshold,
+            @Value("${graph.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.repository = repository;
+        this.compactionThreshold = compactionThreshold;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::rebuildFromDatabase, "social-graph-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(fixedDelayString = "${graph.rebuild-interval-ms:3600000}",
+            initialDelayString = "${graph.rebuild-interval-ms:3600000}")
+    public void rebuildFromDatabase() {
+        rebuild(repository::loadEdges, "database");
+    }
+
+    /**
+     * Grafo actual para consultas; 503 mientras se hace la primera carga
+     */
+    public SocialGraph graph() {
+        if (!ready) {
+            throw new ServiceOverloadedException(
+                    "El índice de seguidores se está cargando. Intenta nuevamente en unos segundos.",
+                    retryAfterSeconds);
+        }
+        return graph;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void follow(int follower, int followed) {
+        apply(new Change(follower, followed, true));
+    }
+
+    public void unfollow(int follower, int followed) {
+        apply(new Change(follower, followed, false));
+    }
+
+    /**
+     * Quita todas las aristas de un usuario eliminado
+     */
+    public void removeUser(int user) {
+        SocialGraph current = graph;
+        for (int followed : current.following(user).toArray()) {
+            unfollow(user, followed);
+        }
+        for (int follower : current.followers(user).toArray()) {
+            unfollow(follower, user);
+        }
+    }
+
+    public SocialGraphStats stats() {
+        SocialGraph current = graph;
+        int edges = current.edgeCount();
+        return SocialGraphStats.builder()
+                .ready(ready)
+                .nodes(current.nodeCount())
+                .edges(edges)
+                .overlayChanges(current.overlaySize())
+                .baseMemoryBytes(current.baseMemoryBytes())
+                .bytesPerEdge(edges == 0 ? 0.0 : (double) current.baseMemoryBytes() / edges)
+                .builds(builds)
+                .lastBuildMillis(lastBuildMillis)
+                .build();
+    }
+
+    private void apply(Change change) {
+        boolean compact;
+        synchronized (lock) {
+            change.applyTo(graph);
+            if (rebuilding) {
+                replay.add(change);
+            }
+            compact = !rebuilding && graph.overlaySize() >= compactionThreshold;
+        }
+        if (compact) {
+            SocialGraph snapshot = graph;
+            Thread compactor = new Thread(() -> rebuild(snapshot::toEdges, "compaction"), "social-graph-compactor");
+            compactor.setDaemon(true);
+            compactor.start();
+        }
+    }
+
+    private void rebuild(Supplier<EdgeBuffer> source, String reason) {
+        synchronized (lock) {
+            if (rebuilding) {
+                return;
+            }
+            rebuilding = true;
+            replay = new ArrayList<>();
+        }
+        try {
+            long startedAt = System.nanoTime();
+            SocialGraph next = SocialGraph.build(source.get());
+            synchronized (lock) {
+                // Los cambios son idempotentes: reaplicar uno que ya estaba en la fuente no altera nada
+                for (Change change : replay) {
+                    change.applyTo(next);
+                }
+                graph = next;
+                ready = true;
+                builds++;
+            }
+            lastBuildMillis = (System.nanoTime() - startedAt) / 1e6;
+            log.info("Social graph rebuilt ({}): {} edges, {} MB, {} ms", reason, next.edgeCount(),
+                    next.baseMemoryBytes() / (1024 * 1024), Math.round(lastBuildMillis));
+        } catch (RuntimeException e) {
+            log.warn("Social graph rebuild ({}) failed: {}", reason, e.getMessage());
+        } finally {
+            synchronized (lock) {
+                rebuilding = false;
+                replay = null;
+            }
+        }
+    }
+
+    private record Change(int follower, int followed, boolean add) {
+
+        void applyTo(SocialGraph target) {
+            if (add) {
+                target.addEdge(follower, followed);
+            } else {
+                target.removeEdge(follower, followed);
+            }
+        }
+    }
+}
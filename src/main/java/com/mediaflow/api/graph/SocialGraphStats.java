@@ -0,0 +1,17 @@
+package com.mediaflow.api.graph;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SocialGraphStats {
+    boolean ready;
+    int nodes;
+    int edges;
+    int overlayChanges;
+    long baseMemoryBytes;
+    double bytesPerEdge;
+    long builds;
+    double lastBuildMillis;
+}
@@ -5,6 +5,12 @@ import com.mediaflow.api.dto.ProfileResponse;
 import com.mediaflow.api.model.Profile;
 
 public class ProfileMapper {
+
+    // Perfil predeterminado de un usuario recién registrado
+    public static final String DEFAULT_LANGUAGE = "es";
+    public static final String DEFAULT_AVATAR_URL = "https://media.istockphoto.com/id/1495088043/es/vector/icono-de-perfil-de-usuario-avatar-o-icono-de-persona-foto-de-perfil-s%C3%ADmbolo-de-retrato.jpg?s=612x612&w=0&k=20&c=mY3gnj2lU7khgLhV6dQBNqomEGj3ayWH-xtpYuCXrzk=";
+    public static final String DEFAULT_BIO = "Nuevo usuario registrado.";
+
     public static ProfileResponse toResponse(Profile profile) {
         if (profile == null)
             return null;
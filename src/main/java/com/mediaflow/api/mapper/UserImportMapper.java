@@ -0,0 +1,107 @@
+package com.mediaflow.api.mapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import com.mediaflow.api.dto.UserRequest;
+
+/**
+ * Convierte líneas CSV de la importación masiva en {@link UserRequest}.
+ *
+ * La primera línea es el encabezado (name,email,password,dateBirth,roles,preferredLanguage,
+ * en cualquier orden). Los roles van separados por "|". Se admiten campos entre comillas
+ * dobles, pero no saltos de línea dentro de un campo.
+ */
+public final class UserImportMapper {
+
+    public static final List<String> CSV_COLUMNS =
+            List.of("name", "email", "password", "datebirth", "roles", "preferredlanguage");
+
+    private UserImportMapper() {
+    }
+
+    /**
+     * Valida el encabezado y lo devuelve normalizado (minúsculas, sin espacios)
+     */
+    public static String[] parseCsvHeader(String line) {
+        if (line == null) {
+            throw new IllegalArgumentException("CSV header is missing");
+        }
+        String[] header = splitCsv(line).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toArray(String[]::new);
+        List<String> columns = Arrays.asList(header);
+        for (String required : List.of("name", "email", "password", "datebirth")) {
+            if (!columns.contains(required)) {
+                throw new IllegalArgumentException("CSV header must include column: " + required);
+            }
+        }
+        return header;
+    }
+
+    public static UserRequest fromCsv(String[] header, String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() != header.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + header.length + " columns but found " + values.size());
+        }
+
+        UserRequest request = new UserRequest();
+        for (int i = 0; i < header.length; i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (header[i]) {
+                case "name" -> request.setName(value);
+                case "email" -> request.setEmail(value);
+                case "password" -> request.setPassword(value);
+                case "datebirth" -> request.setDateBirth(LocalDate.parse(value));
+                case "roles" -> request.setRoles(Arrays.stream(value.split("\\|"))
+                        .map(String::trim)
+                        .filter(role -> !role.isEmpty())
+                        .map(Integer::valueOf)
+                        .toList());
+                case "preferredlanguage" -> request.setPreferredLanguage(value);
+                default -> {
+                    // Columnas desconocidas se ignoran
+                }
+            }
+        }
+        return request;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
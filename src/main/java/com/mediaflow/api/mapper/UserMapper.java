@@ -1,9 +1,13 @@
 package com.mediaflow.api.mapper;
 
+import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
+import com.mediaflow.api.dto.ProfileResponse;
 import com.mediaflow.api.dto.UserRequest;
 import com.mediaflow.api.dto.UserResponse;
+import com.mediaflow.api.dto.UserView;
 import com.mediaflow.api.model.Role;
 import com.mediaflow.api.model.User;
 
@@ -32,13 +36,37 @@ public final class UserMapper {
         return builder.build();
     }
 
+    public static UserResponse toResponse(UserView view) {
+        if (view == null) {
+            return null;
+        }
+        UserResponse.UserResponseBuilder builder = UserResponse.builder()
+                .userId(view.getId())
+                .name(view.getUserName())
+                .email(view.getEmail())
+                .dateBirth(view.getDateBirth())
+                .roles(view.getRoles() != null ? List.of(view.getRoles()) : List.of());
+
+        if (view.getProfileId() != null) {
+            builder.profile(ProfileResponse.builder()
+                    .profileId(view.getProfileId())
+                    .displayName(view.getDisplayName())
+                    .preferredLanguage(view.getPreferredLanguage())
+                    .avatarUrl(view.getAvatarUrl())
+                    .bio(view.getBio())
+                    .build());
+        }
+
+        return builder.build();
+    }
+
     public static User toEntity(UserRequest dto) {
         if (dto == null) {
             return null;
         }
         return User.builder()
                 .name(dto.getName())
-                .email(dto.getEmail())
+                .email(normalizeEmail(dto.getEmail()))
                 .password(dto.getPassword())
                 .dateBirth(dto.getDateBirth())
                 .build();
@@ -49,7 +77,14 @@ public final class UserMapper {
             return;
         }
         entity.setName(dto.getName());
-        entity.setEmail(dto.getEmail());
+        entity.setEmail(normalizeEmail(dto.getEmail()));
         entity.setDateBirth(dto.getDateBirth());
     }
+
+    /**
+     * Los emails se guardan sin espacios y en minúsculas (ver índice ux_users_email_lower)
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
 }
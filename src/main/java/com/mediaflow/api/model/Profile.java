@@ -1,5 +1,8 @@
 package com.mediaflow.api.model; 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -19,6 +22,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @Entity
 @Table(name = "profiles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profiles")
 public class Profile{
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
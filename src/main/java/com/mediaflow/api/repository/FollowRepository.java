@@ -0,0 +1,84 @@
+package com.mediaflow.api.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediaflow.api.dto.FollowView;
+import com.mediaflow.api.model.User;
+
+/**
+ * Seguidores sobre la tabla subscriptions, sin pasar por User.following/followers
+ * (esas colecciones cargarían todos los seguidores de un usuario en memoria).
+ *
+ * Los listados usan paginación por cursor (keyset): "after" es el último id de la página
+ * anterior, así que cada página es un rango del índice, sin OFFSET:
+ * pk_subscriptions (follower_id, followed_id) para seguidos e
+ * ix_subscriptions_followed_follower (followed_id, follower_id) para seguidores.
+ */
+public interface FollowRepository extends Repository<User, Integer> {
+
+    boolean existsById(Integer userId);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO subscriptions (follower_id, followed_id)
+            VALUES (:followerId, :followedId)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int follow(@Param("followerId") Integer followerId, @Param("followedId") Integer followedId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM subscriptions WHERE follower_id = :followerId AND followed_id = :followedId",
+            nativeQuery = true)
+    int unfollow(@Param("followerId") Integer followerId, @Param("followedId") Integer followedId);
+
+    @Transactional(readOnly = true)
+    @Query(value = """
+            SELECT EXISTS (
+                SELECT 1 FROM subscriptions WHERE follower_id = :followerId AND followed_id = :followedId
+            )
+            """, nativeQuery = true)
+    boolean isFollowing(@Param("followerId") Integer followerId, @Param("followedId") Integer followedId);
+
+    @Transactional(readOnly = true)
+    @Query(value = """
+            SELECT u.user_id AS "userId", u.name AS "name",
+                   p.display_name AS "displayName", p.avatar_url AS "avatarUrl"
+            FROM subscriptions s
+            JOIN users u ON u.user_id = s.follower_id
+            LEFT JOIN profiles p ON p.user_id = u.user_id
+            WHERE s.followed_id = :userId AND s.follower_id > :after
+            ORDER BY s.follower_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FollowView> findFollowers(@Param("userId") Integer userId, @Param("after") int after,
+            @Param("limit") int limit);
+
+    @Transactional(readOnly = true)
+    @Query(value = """
+            SELECT u.user_id AS "userId", u.name AS "name",
+                   p.display_name AS "displayName", p.avatar_url AS "avatarUrl"
+            FROM subscriptions s
+            JOIN users u ON u.user_id = s.followed_id
+            LEFT JOIN profiles p ON p.user_id = u.user_id
+            WHERE s.follower_id = :userId AND s.followed_id > :after
+            ORDER BY s.followed_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FollowView> findFollowing(@Param("userId") Integer userId, @Param("after") int after,
+            @Param("limit") int limit);
+
+    // Al eliminar una cuenta: quita sus relaciones en ambas direcciones
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM subscriptions WHERE follower_id = :userId OR followed_id = :userId",
+            nativeQuery = true)
+    int deleteAllByUser(@Param("userId") Integer userId);
+}
@@ -0,0 +1,115 @@
+package com.mediaflow.api.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tabla refresh_sessions con JDBC directo. Sin transacciones read-only: una réplica atrasada
+ * devolvería un digest ya rotado y el refresh fallaría justo después de otro.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RefreshSessionRepository {
+
+    private static final String COLUMNS =
+            "session_id, user_id, email, client_ip, secret_digest, previous_digest, created_at, last_refreshed_at, expires_at";
+
+    private static final String INSERT = """
+            INSERT INTO refresh_sessions (session_id, user_id, email, client_ip, secret_digest,
+                                          created_at, last_refreshed_at, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // Compara y reemplaza en una sola sentencia: de dos rotaciones concurrentes con el mismo secreto gana una
+    private static final String ROTATE = """
+            UPDATE refresh_sessions
+            SET previous_digest = secret_digest, secret_digest = ?, last_refreshed_at = ?
+            WHERE session_id = ? AND secret_digest = ? AND expires_at > now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(RefreshSession session) {
+        jdbcTemplate.update(INSERT, session.sessionId(), session.userId(), session.email(), session.clientIp(),
+                session.secretDigest(), timestamp(session.createdAt()), timestamp(session.lastRefreshedAt()),
+                timestamp(session.expiresAt()));
+    }
+
+    public Optional<RefreshSession> findById(String sessionId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM refresh_sessions WHERE session_id = ?",
+                RefreshSessionRepository::map, sessionId).stream().findFirst();
+    }
+
+    /**
+     * Reemplaza el secreto solo si el vigente es expectedDigest; false si otro lo rotó antes
+     */
+    public boolean rotate(String sessionId, byte[] expectedDigest, byte[] newDigest, long refreshedAt) {
+        return jdbcTemplate.update(ROTATE, newDigest, timestamp(refreshedAt), sessionId, expectedDigest) == 1;
+    }
+
+    /**
+     * Sesiones vigentes del usuario, la más reciente primero
+     */
+    public List<RefreshSession> findActiveByUser(Integer userId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM refresh_sessions"
+                + " WHERE user_id = ? AND expires_at > now() ORDER BY created_at DESC",
+                RefreshSessionRepository::map, userId);
+    }
+
+    public boolean delete(String sessionId) {
+        return jdbcTemplate.update("DELETE FROM refresh_sessions WHERE session_id = ?", sessionId) == 1;
+    }
+
+    public boolean deleteForUser(Integer userId, String sessionId) {
+        return jdbcTemplate.update("DELETE FROM refresh_sessions WHERE session_id = ? AND user_id = ?",
+                sessionId, userId) == 1;
+    }
+
+    public List<String> deleteAllForUser(Integer userId) {
+        return jdbcTemplate.queryForList("DELETE FROM refresh_sessions WHERE user_id = ? RETURNING session_id",
+                String.class, userId);
+    }
+
+    public int countActive() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*)::integer FROM refresh_sessions WHERE expires_at > now()", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM refresh_sessions WHERE expires_at <= now()");
+    }
+
+    private static RefreshSession map(ResultSet rs, int rowNum) throws SQLException {
+        return new RefreshSession(
+                rs.getString("session_id"),
+                rs.getInt("user_id"),
+                rs.getString("email"),
+                rs.getString("client_ip"),
+                rs.getBytes("secret_digest"),
+                rs.getBytes("previous_digest"),
+                rs.getTimestamp("created_at").getTime(),
+                rs.getTimestamp("last_refreshed_at").getTime(),
+                rs.getTimestamp("expires_at").getTime());
+    }
+
+    private static Timestamp timestamp(long epochMillis) {
+        return Timestamp.from(Instant.ofEpochMilli(epochMillis));
+    }
+
+    /**
+     * Fila de refresh_sessions; previousDigest es null hasta la primera rotación
+     */
+    public record RefreshSession(String sessionId, Integer userId, String email, String clientIp,
+            byte[] secretDigest, byte[] previousDigest, long createdAt, long lastRefreshedAt, long expiresAt) {
+    }
+}
@@ -1,9 +1,30 @@
 package com.mediaflow.api.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.mediaflow.api.dto.RoleRow;
 import com.mediaflow.api.model.Role;
 
+import jakarta.persistence.QueryHint;
+
 public interface RoleRepository extends JpaRepository<Role, Integer>{
-    
+
+    // Cacheable en la caché de consultas de Hibernate (si está habilitada)
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Role> findAll();
+
+    // Directo a la tabla, sin las cachés de Hibernate de esta instancia: ve los cambios hechos por otras
+    @Query(value = "SELECT role_id AS \"roleId\", name AS \"name\" FROM roles", nativeQuery = true)
+    List<RoleRow> findAllRows();
+
+    @Query(value = "SELECT role_id AS \"roleId\", name AS \"name\" FROM roles WHERE role_id IN (:roleIds)",
+            nativeQuery = true)
+    List<RoleRow> findRowsByIds(@Param("roleIds") Collection<Integer> roleIds);
 }
@@ -0,0 +1,118 @@
+package com.mediaflow.api.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tabla jwt_signing_keys con JDBC directo, siempre contra el primario. Crear y rotar claves
+ * se serializa con un advisory lock: si varias instancias lo intentan a la vez, solo una cambia
+ * el anillo y las demás lo leen en su siguiente refresco.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SigningKeyRepository {
+
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext('jwt_signing_keys'))";
+
+    private static final String FIND_USABLE = """
+            SELECT kid, algorithm, private_key, public_key, activated_at, verify_until
+            FROM jwt_signing_keys
+            WHERE algorithm = ? AND (verify_until IS NULL OR verify_until > now())
+            ORDER BY created_at
+            """;
+
+    private static final String COUNT_ACTIVE =
+            "SELECT count(*)::integer FROM jwt_signing_keys WHERE algorithm = ? AND activated_at IS NOT NULL AND verify_until IS NULL";
+
+    private static final String ROTATION_DUE = """
+            SELECT count(*)::integer FROM jwt_signing_keys
+            WHERE algorithm = ? AND activated_at IS NOT NULL AND verify_until IS NULL
+              AND activated_at <= now() - ? * interval '1 millisecond'
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO jwt_signing_keys (kid, algorithm, private_key, public_key, activated_at)
+            VALUES (?, ?, ?, ?, CASE WHEN ? THEN now() END)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claves que todavía firman, están por firmar o verifican tokens vigentes
+     */
+    public List<StoredKey> findUsable(String algorithm) {
+        return jdbcTemplate.query(FIND_USABLE, (rs, rowNum) -> new StoredKey(
+                rs.getString("kid"),
+                rs.getString("algorithm"),
+                rs.getBytes("private_key"),
+                rs.getBytes("public_key"),
+                rs.getTimestamp("activated_at") != null,
+                rs.getTimestamp("verify_until") != null ? rs.getTimestamp("verify_until").getTime() : Long.MAX_VALUE),
+                algorithm);
+    }
+
+    /**
+     * Guarda la clave activa y la siguiente si el algoritmo todavía no tiene claves; false si ya las tenía
+     */
+    @Transactional
+    public boolean initialize(String algorithm, StoredKey active, StoredKey next) {
+        jdbcTemplate.execute(LOCK);
+        Integer existing = jdbcTemplate.queryForObject(COUNT_ACTIVE, Integer.class, algorithm);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+        insert(active, true);
+        insert(next, false);
+        return true;
+    }
+
+    /**
+     * true si la clave activa firma desde hace al menos intervalMillis
+     */
+    public boolean isRotationDue(String algorithm, long intervalMillis) {
+        Integer due = jdbcTemplate.queryForObject(ROTATION_DUE, Integer.class, algorithm, intervalMillis);
+        return due != null && due > 0;
+    }
+
+    /**
+     * La siguiente pasa a firmar, la activa se retira hasta retentionMillis y newNext queda como siguiente.
+     * Con intervalMillis > 0 vuelve a comprobar bajo el lock que la rotación siga pendiente.
+     */
+    @Transactional
+    public boolean rotate(String algorithm, long intervalMillis, long retentionMillis, StoredKey newNext) {
+        jdbcTemplate.execute(LOCK);
+        if (intervalMillis > 0 && !isRotationDue(algorithm, intervalMillis)) {
+            return false;
+        }
+        jdbcTemplate.update("""
+                UPDATE jwt_signing_keys SET verify_until = now() + ? * interval '1 millisecond'
+                WHERE algorithm = ? AND activated_at IS NOT NULL AND verify_until IS NULL
+                """, retentionMillis, algorithm);
+        jdbcTemplate.update("UPDATE jwt_signing_keys SET activated_at = now() WHERE algorithm = ? AND activated_at IS NULL",
+                algorithm);
+        insert(newNext, false);
+        return true;
+    }
+
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM jwt_signing_keys WHERE verify_until <= now()");
+    }
+
+    private void insert(StoredKey key, boolean active) {
+        jdbcTemplate.update(INSERT, key.kid(), key.algorithm(), key.privateKey(), key.publicKey(),
+                active);
+    }
+
+    /**
+     * Fila de jwt_signing_keys con las claves codificadas (PKCS#8 y X.509).
+     * verifyUntil es Long.MAX_VALUE mientras la clave no se retira.
+     */
+    public record StoredKey(String kid, String algorithm, byte[] privateKey, byte[] publicKey,
+            boolean activated, long verifyUntil) {
+    }
+}
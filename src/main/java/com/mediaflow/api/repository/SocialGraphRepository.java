@@ -0,0 +1,44 @@
+package com.mediaflow.api.repository;
+
+import java.sql.PreparedStatement;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediaflow.api.graph.EdgeBuffer;
+
+/**
+ * Carga de todas las aristas de subscriptions para el índice en memoria
+ */
+@Repository
+public class SocialGraphRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public SocialGraphRepository(JdbcTemplate jdbcTemplate, @Value("${graph.load-fetch-size:10000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Lee subscriptions con un cursor (fetch size fijo dentro de una transacción read-only):
+     * solo los dos int de cada fila terminan en memoria
+     */
+    @Transactional(readOnly = true)
+    public EdgeBuffer loadEdges() {
+        Integer estimate = jdbcTemplate.queryForObject(
+                "SELECT greatest(reltuples, 0)::integer FROM pg_class WHERE oid = 'subscriptions'::regclass",
+                Integer.class);
+        EdgeBuffer edges = new EdgeBuffer(estimate != null ? estimate : 0);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT follower_id, followed_id FROM subscriptions");
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> edges.add(rs.getInt(1), rs.getInt(2)));
+        return edges;
+    }
+}
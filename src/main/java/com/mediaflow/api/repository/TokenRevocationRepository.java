@@ -0,0 +1,60 @@
+package com.mediaflow.api.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tabla token_revocations con JDBC directo. Sin transacciones read-only: las lecturas
+ * van al primario, una réplica atrasada haría que se pierdan revocaciones recientes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TokenRevocationRepository {
+
+    private static final String INSERT =
+            "INSERT INTO token_revocations (kind, subject, issued_before, expires_at) VALUES (?, ?, ?, ?)";
+
+    private static final String FIND_CREATED_AFTER = """
+            SELECT kind, subject, issued_before, expires_at
+            FROM token_revocations
+            WHERE created_at > ? AND expires_at > now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(Revocation revocation) {
+        jdbcTemplate.update(INSERT, String.valueOf(revocation.kind()), revocation.subject(),
+                revocation.issuedBefore(), Timestamp.from(Instant.ofEpochMilli(revocation.expiresAtMillis())));
+    }
+
+    /**
+     * Hora actual de la base de datos: las marcas de sincronización no dependen del reloj de cada nodo
+     */
+    public Instant databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT now()", Timestamp.class).toInstant();
+    }
+
+    /**
+     * Revocaciones vigentes creadas después de since
+     */
+    public List<Revocation> findCreatedAfter(Instant since) {
+        return jdbcTemplate.query(FIND_CREATED_AFTER, (rs, rowNum) -> new Revocation(
+                rs.getString("kind").charAt(0),
+                rs.getString("subject"),
+                (Long) rs.getObject("issued_before"),
+                rs.getTimestamp("expires_at").getTime()), Timestamp.from(since));
+    }
+
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM token_revocations WHERE expires_at <= now()");
+    }
+
+    public record Revocation(char kind, String subject, Long issuedBefore, long expiresAtMillis) {
+    }
+}
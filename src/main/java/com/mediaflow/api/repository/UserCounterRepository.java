@@ -0,0 +1,113 @@
+package com.mediaflow.api.repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Acceso a la tabla user_counters con JDBC directo
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserCounterRepository {
+
+    private static final String FIND_BY_USER =
+            "SELECT followers_count, following_count FROM user_counters WHERE user_id = ?";
+
+    // Un solo upsert por lote; el JOIN descarta usuarios eliminados mientras sus deltas esperaban
+    private static final String APPLY_DELTAS = """
+            INSERT INTO user_counters (user_id, followers_count, following_count)
+            SELECT d.user_id, d.followers, d.following
+            FROM unnest(?::integer[], ?::bigint[], ?::bigint[]) AS d(user_id, followers, following)
+            JOIN users u ON u.user_id = d.user_id
+            ON CONFLICT (user_id) DO UPDATE SET
+                followers_count = user_counters.followers_count + EXCLUDED.followers_count,
+                following_count = user_counters.following_count + EXCLUDED.following_count
+            """;
+
+    // Al eliminar una cuenta, sus relaciones dejan de contar para los demás usuarios
+    private static final String DECREMENT_FOLLOWING_OF_FOLLOWERS = """
+            UPDATE user_counters c SET following_count = c.following_count - 1
+            FROM subscriptions s
+            WHERE s.followed_id = ? AND c.user_id = s.follower_id
+            """;
+
+    private static final String DECREMENT_FOLLOWERS_OF_FOLLOWED = """
+            UPDATE user_counters c SET followers_count = c.followers_count - 1
+            FROM subscriptions s
+            WHERE s.follower_id = ? AND c.user_id = s.followed_id
+            """;
+
+    // Conteo exacto para un rango de ids menos los deltas que este nodo todavía no aplicó (el próximo
+    // flush los suma); solo se escriben las filas que difieren
+    private static final String RECONCILE_RANGE = """
+            INSERT INTO user_counters (user_id, followers_count, following_count)
+            SELECT u.user_id,
+                   (SELECT count(*) FROM subscriptions s WHERE s.followed_id = u.user_id) - coalesce(p.followers, 0),
+                   (SELECT count(*) FROM subscriptions s WHERE s.follower_id = u.user_id) - coalesce(p.following, 0)
+            FROM users u
+            LEFT JOIN unnest(?::integer[], ?::bigint[], ?::bigint[]) AS p(user_id, followers, following)
+                   ON p.user_id = u.user_id
+            WHERE u.user_id > ? AND u.user_id <= ?
+            ON CONFLICT (user_id) DO UPDATE SET
+                followers_count = EXCLUDED.followers_count,
+                following_count = EXCLUDED.following_count
+            WHERE user_counters.followers_count <> EXCLUDED.followers_count
+               OR user_counters.following_count <> EXCLUDED.following_count
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Devuelve {seguidores, seguidos}; {0, 0} si el usuario todavía no tiene fila
+     */
+    public long[] findCounts(Integer userId) {
+        List<long[]> rows = jdbcTemplate.query(FIND_BY_USER,
+                (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2) }, userId);
+        return rows.isEmpty() ? new long[] { 0, 0 } : rows.get(0);
+    }
+
+    public int applyDeltas(List<Integer> userIds, List<Long> followers, List<Long> following) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(APPLY_DELTAS);
+            statement.setArray(1, connection.createArrayOf("integer", userIds.toArray()));
+            statement.setArray(2, connection.createArrayOf("bigint", followers.toArray()));
+            statement.setArray(3, connection.createArrayOf("bigint", following.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Debe ejecutarse en la misma transacción y antes de borrar las filas de subscriptions
+     */
+    public void removeRelationsOf(Integer userId) {
+        jdbcTemplate.update(DECREMENT_FOLLOWING_OF_FOLLOWERS, userId);
+        jdbcTemplate.update(DECREMENT_FOLLOWERS_OF_FOLLOWED, userId);
+    }
+
+    public Integer findMaxUserId() {
+        return jdbcTemplate.queryForObject("SELECT coalesce(max(user_id), 0) FROM users", Integer.class);
+    }
+
+    /**
+     * Recalcula los contadores de los usuarios con id en (fromExclusive, toInclusive], descontando
+     * los deltas pendientes indicados (mismos índices en las tres listas).
+     * Devuelve cuántas filas estaban desfasadas.
+     */
+    public int reconcileRange(int fromExclusive, int toInclusive,
+            List<Integer> pendingUserIds, List<Long> pendingFollowers, List<Long> pendingFollowing) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RECONCILE_RANGE);
+            statement.setArray(1, connection.createArrayOf("integer", pendingUserIds.toArray()));
+            statement.setArray(2, connection.createArrayOf("bigint", pendingFollowers.toArray()));
+            statement.setArray(3, connection.createArrayOf("bigint", pendingFollowing.toArray()));
+            statement.setInt(4, fromExclusive);
+            statement.setInt(5, toInclusive);
+            return statement;
+        });
+    }
+}
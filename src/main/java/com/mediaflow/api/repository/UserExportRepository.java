@@ -0,0 +1,79 @@
+package com.mediaflow.api.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Lectura de todos los usuarios (con roles y perfil) fila por fila, para la exportación.
+ *
+ * Con un fetch size fijo y dentro de una transacción (autocommit apagado) el driver de
+ * PostgreSQL usa un cursor en el servidor: trae fetchSize filas por viaje en lugar de
+ * cargar el resultado completo en memoria.
+ */
+@Repository
+public class UserExportRepository {
+
+    // Roles como arreglo por usuario (subconsulta sobre pk_users_roles) y perfil con LEFT JOIN
+    private static final String EXPORT_SELECT = """
+            SELECT
+                u.user_id,
+                u.name,
+                u.email,
+                u.date_birth,
+                u.updated_at,
+                ARRAY(
+                    SELECT r.name FROM users_roles ur JOIN roles r ON r.role_id = ur.role_id
+                    WHERE ur.user_id = u.user_id ORDER BY r.role_id
+                ) AS roles,
+                p.profile_id,
+                p.display_name,
+                p.preferred_language,
+                p.avatar_url,
+                p.bio
+            FROM users u
+            LEFT JOIN profiles p ON p.user_id = u.user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public UserExportRepository(JdbcTemplate jdbcTemplate, @Value("${users.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Recorre los usuarios en orden de id; con updatedSince solo los modificados desde entonces.
+     * Debe llamarse dentro de una transacción para que el cursor funcione.
+     */
+    public void forEachUser(Instant updatedSince, RowCallbackHandler handler) {
+        String sql = updatedSince == null
+                ? EXPORT_SELECT + "ORDER BY u.user_id"
+                : EXPORT_SELECT + "WHERE u.updated_at >= ? ORDER BY u.user_id";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            if (updatedSince != null) {
+                statement.setTimestamp(1, Timestamp.from(updatedSince));
+            }
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Hora de la base (inicio de la transacción actual), el mismo reloj que escribe updated_at
+     */
+    public Instant databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT now()", Timestamp.class).toInstant();
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+}
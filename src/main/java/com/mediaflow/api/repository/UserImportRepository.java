@@ -0,0 +1,126 @@
+package com.mediaflow.api.repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Escrituras por lotes de la importación masiva, con JDBC directo.
+ *
+ * Cada tabla se escribe con una sola sentencia por lote (INSERT ... SELECT FROM unnest de
+ * arreglos), en lugar de un save por usuario, perfil y rol. Los ids de usuario se reservan
+ * antes en la secuencia para poder enlazar perfiles y roles sin leer lo insertado.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserImportRepository {
+
+    private static final String ALLOCATE_USER_IDS = """
+            SELECT nextval(pg_get_serial_sequence('users', 'user_id'))
+            FROM generate_series(1, ?)
+            """;
+
+    // Los emails ya registrados (ux_users_email_lower) se omiten; RETURNING dice cuáles entraron
+    private static final String INSERT_USERS = """
+            INSERT INTO users (user_id, name, email, password_hash, date_birth)
+            SELECT u.user_id, u.name, u.email, u.password_hash, u.date_birth::date
+            FROM unnest(?::integer[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[])
+                AS u(user_id, name, email, password_hash, date_birth)
+            ON CONFLICT DO NOTHING
+            RETURNING user_id
+            """;
+
+    private static final String INSERT_PROFILES = """
+            INSERT INTO profiles (display_name, preferred_language, avatar_url, bio, user_id)
+            SELECT left(p.display_name, 30), p.preferred_language, ?, ?, p.user_id
+            FROM unnest(?::integer[], ?::varchar[], ?::varchar[])
+                AS p(user_id, display_name, preferred_language)
+            """;
+
+    private static final String INSERT_USER_ROLES = """
+            INSERT INTO users_roles (user_id, role_id)
+            SELECT ur.user_id, ur.role_id
+            FROM unnest(?::integer[], ?::integer[]) AS ur(user_id, role_id)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Integer> allocateUserIds(int count) {
+        return jdbcTemplate.queryForList(ALLOCATE_USER_IDS, Integer.class, count);
+    }
+
+    /**
+     * Inserta los usuarios, sus perfiles y sus roles. Devuelve los ids que se insertaron
+     * (los que no están tenían un email ya registrado).
+     */
+    public Set<Integer> insertBatch(List<Row> rows, String avatarUrl, String bio) {
+        Set<Integer> inserted = new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_USERS);
+            statement.setArray(1, integers(connection, rows.stream().map(Row::userId).toList()));
+            statement.setArray(2, varchars(connection, rows.stream().map(Row::name).toList()));
+            statement.setArray(3, varchars(connection, rows.stream().map(Row::email).toList()));
+            statement.setArray(4, varchars(connection, rows.stream().map(Row::passwordHash).toList()));
+            statement.setArray(5, varchars(connection, rows.stream().map(row -> row.dateBirth().toString()).toList()));
+            return statement;
+        }, (rs, rowNum) -> rs.getInt(1)));
+
+        List<Row> accepted = rows.stream().filter(row -> inserted.contains(row.userId())).toList();
+        if (accepted.isEmpty()) {
+            return inserted;
+        }
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_PROFILES);
+            statement.setString(1, avatarUrl);
+            statement.setString(2, bio);
+            statement.setArray(3, integers(connection, accepted.stream().map(Row::userId).toList()));
+            statement.setArray(4, varchars(connection, accepted.stream().map(Row::name).toList()));
+            statement.setArray(5, varchars(connection, accepted.stream().map(Row::preferredLanguage).toList()));
+            return statement;
+        });
+
+        List<Integer> userIds = new ArrayList<>();
+        List<Integer> roleIds = new ArrayList<>();
+        for (Row row : accepted) {
+            for (Integer roleId : row.roleIds()) {
+                userIds.add(row.userId());
+                roleIds.add(roleId);
+            }
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_USER_ROLES);
+            statement.setArray(1, integers(connection, userIds));
+            statement.setArray(2, integers(connection, roleIds));
+            return statement;
+        });
+
+        return inserted;
+    }
+
+    private static Array integers(Connection connection, List<Integer> values) throws SQLException {
+        return connection.createArrayOf("integer", values.toArray());
+    }
+
+    private static Array varchars(Connection connection, List<String> values) throws SQLException {
+        return connection.createArrayOf("varchar", values.toArray());
+    }
+
+    /**
+     * Usuario listo para insertar: id reservado, email normalizado y contraseña ya hasheada
+     */
+    public record Row(Integer userId, String name, String email, String passwordHash, LocalDate dateBirth,
+            String preferredLanguage, List<Integer> roleIds) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.mediaflow.api.repository;
+
+import java.sql.PreparedStatement;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediaflow.api.suggestion.UserLanguages;
+
+/**
+ * Idioma preferido de todos los perfiles, para el motor de sugerencias
+ */
+@Repository
+public class UserLanguageRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public UserLanguageRepository(JdbcTemplate jdbcTemplate, @Value("${graph.load-fetch-size:10000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public UserLanguages loadLanguages() {
+        UserLanguages.Builder languages = UserLanguages.builder();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT user_id, preferred_language FROM profiles");
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> languages.add(rs.getInt(1), rs.getString(2)));
+        return languages.build();
+    }
+}
@@ -1,18 +1,22 @@
 package com.mediaflow.api.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.mediaflow.api.dto.UserAuth;
+import com.mediaflow.api.dto.UserView;
 import com.mediaflow.api.model.User;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 
-    @Query(
-            value = """
+    // Login: hash, roles y perfil en una consulta
+    String USER_AUTH_SELECT = """
                     SELECT 
     u.user_id AS id,
     u.name AS userName,
@@ -29,7 +33,7 @@ FROM users u
 LEFT JOIN users_roles ur ON u.user_id = ur.user_id
 LEFT JOIN roles r ON ur.role_id = r.role_id 
 LEFT JOIN profiles p ON u.user_id = p.user_id 
-WHERE u.email = :email  
+WHERE lower(u.email) = lower(:email)
 GROUP BY 
     u.user_id,
     u.name, 
@@ -41,11 +45,65 @@ GROUP BY
     p.preferred_language,
     p.avatar_url,
     p.bio;
-                    """,
-            nativeQuery = true
-    )
+                    """;
+
+    // En una réplica: el login escala con ellas. Tras un cambio confirmado, LoginServiceImpl
+    // usa findByEmailOnPrimary mientras la réplica puede estar atrasada (ver CustomUserDetailsService)
+    @Transactional(readOnly = true)
+    @Query(value = USER_AUTH_SELECT, nativeQuery = true)
     Optional<UserAuth> findByEmail(@Param("email") String email);
+
+    @Transactional
+    @Query(value = USER_AUTH_SELECT, nativeQuery = true)
+    Optional<UserAuth> findByEmailOnPrimary(@Param("email") String email);
     
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email")
+    // Lecturas de usuario: roles agregados en SQL y perfil en la misma consulta
+    String USER_VIEW_SELECT = """
+            SELECT
+                u.user_id AS "id",
+                u.name AS "userName",
+                u.email AS "email",
+                u.date_birth AS "dateBirth",
+                ARRAY_AGG(r.name ORDER BY r.role_id) FILTER (WHERE r.role_id IS NOT NULL) AS "roles",
+                p.profile_id AS "profileId",
+                p.display_name AS "displayName",
+                p.preferred_language AS "preferredLanguage",
+                p.avatar_url AS "avatarUrl",
+                p.bio AS "bio"
+            FROM users u
+            LEFT JOIN users_roles ur ON u.user_id = ur.user_id
+            LEFT JOIN roles r ON ur.role_id = r.role_id
+            LEFT JOIN profiles p ON u.user_id = p.user_id
+            """;
+
+    String USER_VIEW_GROUP_BY = """
+            GROUP BY u.user_id, u.name, u.email, u.date_birth,
+                p.profile_id, p.display_name, p.preferred_language, p.avatar_url, p.bio
+            """;
+
+    @Query(value = USER_VIEW_SELECT + "WHERE u.user_id = :userId " + USER_VIEW_GROUP_BY, nativeQuery = true)
+    Optional<UserView> findViewById(@Param("userId") Integer userId);
+
+    @Query(value = USER_VIEW_SELECT + "WHERE lower(u.email) = lower(:email) " + USER_VIEW_GROUP_BY, nativeQuery = true)
+    Optional<UserView> findViewByEmail(@Param("email") String email);
+
+    // lower(email) usa el índice único ux_users_email_lower
+    String USER_FOR_AUTH_QUERY = "SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE lower(u.email) = lower(:email)";
+
+    // En una réplica, como findByEmail; la variante OnPrimary es para usuarios con cambios recientes
+    @Transactional(readOnly = true)
+    @Query(USER_FOR_AUTH_QUERY)
     Optional<User> findByEmailForAuth(@Param("email") String email);
+
+    @Transactional
+    @Query(USER_FOR_AUTH_QUERY)
+    Optional<User> findByEmailForAuthOnPrimary(@Param("email") String email);
+
+    @Query("SELECT u.email FROM User u JOIN u.roles r WHERE r.roleId = :roleId")
+    List<String> findEmailsByRoleId(@Param("roleId") Integer roleId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :passwordHash WHERE u.userId = :userId")
+    int updatePasswordHash(@Param("userId") Integer userId, @Param("passwordHash") String passwordHash);
 }
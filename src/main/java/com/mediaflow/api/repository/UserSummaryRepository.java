@@ -0,0 +1,63 @@
+package com.mediaflow.api.repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.mediaflow.api.dto.UserSummary;
+import com.mediaflow.api.security.RoleCatalog;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resúmenes de varios usuarios en una sola consulta
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserSummaryRepository {
+
+    // Los roles salen como ids y se traducen con RoleCatalog: sin JOIN a roles por fila
+    private static final String FIND_BY_IDS = """
+            SELECT u.user_id,
+                   coalesce(p.display_name, u.name) AS display_name,
+                   p.avatar_url,
+                   ARRAY(SELECT ur.role_id FROM users_roles ur WHERE ur.user_id = u.user_id) AS role_ids
+            FROM users u
+            LEFT JOIN profiles p ON p.user_id = u.user_id
+            WHERE u.user_id = ANY(?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleCatalog roleCatalog;
+
+    /**
+     * Los ids que no existen simplemente no aparecen en el resultado.
+     * Sin transacción read-only: se lee del primario, porque una réplica atrasada volvería a
+     * cachear un resumen que se acaba de invalidar
+     */
+    public List<UserSummary> findByIds(Collection<Integer> userIds) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_BY_IDS);
+            statement.setArray(1, connection.createArrayOf("integer", userIds.toArray()));
+            return statement;
+        }, (rs, rowNum) -> {
+            Array roleIds = rs.getArray("role_ids");
+            List<Integer> ids = new ArrayList<>();
+            for (Object roleId : (Object[]) roleIds.getArray()) {
+                ids.add(((Number) roleId).intValue());
+            }
+            roleIds.free();
+            return UserSummary.builder()
+                    .userId(rs.getInt("user_id"))
+                    .displayName(rs.getString("display_name"))
+                    .avatarUrl(rs.getString("avatar_url"))
+                    .roles(roleCatalog.namesOfIds(ids))
+                    .build();
+        });
+    }
+}
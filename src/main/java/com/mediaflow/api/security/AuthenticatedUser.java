@@ -0,0 +1,64 @@
+package com.mediaflow.api.security;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import lombok.Getter;
+
+/**
+ * Principal de cada request autenticado. Se construye una sola vez (desde los claims del
+ * token o desde la base de datos) y lleva el id y los roles del usuario, de modo que las
+ * verificaciones de acceso no necesitan consultar la base de datos.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Integer userId;
+    private final String username;
+    private final String password;
+    // Nombres de rol en mayúsculas, sin el prefijo "ROLE_"
+    private final Set<String> roles;
+    private final List<GrantedAuthority> authorities;
+    // Un bit por rol (posición = role_id), ver RoleCatalog
+    private final long roleMask;
+
+    public AuthenticatedUser(Integer userId, String username, String password, Collection<String> roles, long roleMask) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.roleMask = roleMask;
+        this.roles = roles.stream()
+                .map(AuthenticatedUser::normalizeRole)
+                .collect(Collectors.toUnmodifiableSet());
+        this.authorities = this.roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(ROLE_PREFIX + role))
+                .toList();
+    }
+
+    public boolean hasRole(String roleName) {
+        return roleName != null && roles.contains(normalizeRole(roleName));
+    }
+
+    public boolean hasAnyRoleBit(long bits) {
+        return (roleMask & bits) != 0L;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    private static String normalizeRole(String role) {
+        String upper = role.toUpperCase(Locale.ROOT);
+        return upper.startsWith(ROLE_PREFIX) ? upper.substring(ROLE_PREFIX.length()) : upper;
+    }
+}
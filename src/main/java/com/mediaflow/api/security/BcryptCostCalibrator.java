@@ -0,0 +1,44 @@
+package com.mediaflow.api.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Elige al arranque el costo de BCrypt según el hardware actual: el mayor costo cuyo
+ * tiempo de hash no supera la latencia objetivo, dentro de [minCost, maxCost].
+ */
+@Slf4j
+public final class BcryptCostCalibrator {
+
+    private static final String SAMPLE = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+
+    private BcryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        // Cada punto de costo duplica el trabajo, así que basta medir el costo mínimo
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minCost);
+        encoder.encode(SAMPLE); // calentamiento
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double measuredMillis = best / 1e6;
+        int cost = minCost;
+        double estimated = measuredMillis;
+        while (cost < maxCost && estimated * 2 <= targetMillis) {
+            cost++;
+            estimated *= 2;
+        }
+
+        log.info("BCrypt calibrado: costo {} (~{} ms, objetivo {} ms, costo {} = {} ms)",
+                cost, Math.round(estimated), targetMillis, minCost, String.format("%.1f", measuredMillis));
+        return cost;
+    }
+}
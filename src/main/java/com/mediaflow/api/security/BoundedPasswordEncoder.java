@@ -0,0 +1,36 @@
+package com.mediaflow.api.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import lombok.Getter;
+
+/**
+ * PasswordEncoder que ejecuta encode y matches en el {@link PasswordHashingExecutor}
+ * en lugar de hacerlo en el hilo del request.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    @Getter
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,18 @@
+package com.mediaflow.api.security;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class HashingStats {
+    int threads;
+    int queueCapacity;
+    int queueDepth;
+    int activeThreads;
+    long completed;
+    long rejected;
+    double avgWaitMillis;
+    double avgHashMillis;
+    double maxHashMillis;
+}
@@ -0,0 +1,102 @@
+package com.mediaflow.api.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contador de ventana deslizante en memoria, con locks por franja (lock striping).
+ *
+ * Cada clave guarda solo dos contadores: el de la ventana fija actual y el de la anterior.
+ * El conteo deslizante se estima ponderando la ventana anterior por la fracción que aún
+ * cae dentro de la ventana deslizante, lo que evita guardar un timestamp por intento.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final int STRIPES = 64;
+    // Tamaño a partir del cual una franja purga las claves inactivas
+    private static final int PURGE_THRESHOLD = 4096;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public InMemoryRateLimitStore() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public double recordAndCount(String key, long nowMillis, long windowMillis) {
+        long windowIndex = nowMillis / windowMillis;
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            if (stripe.windows.size() > PURGE_THRESHOLD) {
+                stripe.windows.values().removeIf(w -> w.index < windowIndex - 1);
+            }
+            Window window = stripe.windows.computeIfAbsent(key, k -> new Window(windowIndex));
+            window.roll(windowIndex);
+            window.current++;
+
+            double elapsedFraction = (double) (nowMillis % windowMillis) / windowMillis;
+            return window.previous * (1.0 - elapsedFraction) + window.current;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.windows.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.windows.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (STRIPES - 1)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Window> windows = new HashMap<>();
+    }
+
+    private static final class Window {
+        private long index;
+        private int current;
+        private int previous;
+
+        Window(long index) {
+            this.index = index;
+        }
+
+        void roll(long newIndex) {
+            if (newIndex == index) {
+                return;
+            }
+            previous = newIndex == index + 1 ? current : 0;
+            current = 0;
+            index = newIndex;
+        }
+    }
+}
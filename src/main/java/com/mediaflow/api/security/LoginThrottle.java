@@ -0,0 +1,89 @@
+package com.mediaflow.api.security;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mediaflow.api.exception.TooManyRequestsException;
+
+/**
+ * Limita los intentos de login por email y por IP del cliente con una ventana deslizante.
+ * Se consulta antes de cualquier acceso a la base de datos o cálculo de hash.
+ *
+ * La IP es la del cliente resuelta por server.forward-headers-strategy, no la del gateway.
+ * Con el {@link InMemoryRateLimitStore} por defecto cada instancia cuenta por separado, así
+ * que con N réplicas se admiten hasta N veces los límites configurados.
+ */
+@Component
+public class LoginThrottle {
+
+    private final RateLimitStore store;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxPerEmail;
+    private final int maxPerIp;
+
+    private final LongAdder rejected = new LongAdder();
+
+    public LoginThrottle(
+            RateLimitStore store,
+            @Value("${security.login-throttle.enabled:true}") boolean enabled,
+            @Value("${security.login-throttle.window-seconds:60}") long windowSeconds,
+            @Value("${security.login-throttle.max-per-email:10}") int maxPerEmail,
+            @Value("${security.login-throttle.max-per-ip:50}") int maxPerIp) {
+        this.store = store;
+        this.enabled = enabled;
+        this.windowMillis = windowSeconds * 1000;
+        this.maxPerEmail = maxPerEmail;
+        this.maxPerIp = maxPerIp;
+    }
+
+    /**
+     * Registra el intento y lanza TooManyRequestsException si el email o la IP superan su límite
+     */
+    public void acquire(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        boolean ipExceeded = clientIp != null
+                && store.recordAndCount(ipKey(clientIp), now, windowMillis) > maxPerIp;
+        boolean emailExceeded = email != null
+                && store.recordAndCount(emailKey(email), now, windowMillis) > maxPerEmail;
+
+        if (ipExceeded || emailExceeded) {
+            rejected.increment();
+            long retryAfterSeconds = Math.max(1, (windowMillis - now % windowMillis) / 1000);
+            throw new TooManyRequestsException(
+                    "Demasiados intentos de inicio de sesión. Intenta nuevamente más tarde.",
+                    retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Un login exitoso libera el contador del email (el de la IP se mantiene)
+     */
+    public void onSuccess(String email) {
+        if (enabled && email != null) {
+            store.reset(emailKey(email));
+        }
+    }
+
+    public LoginThrottleStats stats() {
+        return LoginThrottleStats.builder()
+                .enabled(enabled)
+                .trackedKeys(store.size())
+                .rejected(rejected.sum())
+                .build();
+    }
+
+    private static String emailKey(String email) {
+        return "login:email:" + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return "login:ip:" + clientIp;
+    }
+}
@@ -0,0 +1,12 @@
+package com.mediaflow.api.security;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class LoginThrottleStats {
+    boolean enabled;
+    int trackedKeys;
+    long rejected;
+}
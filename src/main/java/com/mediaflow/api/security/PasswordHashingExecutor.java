@@ -0,0 +1,124 @@
+package com.mediaflow.api.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.mediaflow.api.exception.ServiceOverloadedException;
+
+/**
+ * Pool dedicado para el hashing de contraseñas, con tantos hilos como núcleos y una cola
+ * acotada. Cuando la cola está llena la tarea se rechaza de inmediato con
+ * {@link ServiceOverloadedException} en lugar de acumular hilos de Tomcat esperando CPU.
+ */
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Long::max, 0);
+
+    public PasswordHashingExecutor(int threads, int queueCapacity, long timeoutMillis, long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreads(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Ejecuta la tarea en el pool y espera su resultado
+     */
+    public <T> T execute(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitNanos.add(startedAt - submittedAt);
+                try {
+                    return task.get();
+                } finally {
+                    long elapsed = System.nanoTime() - startedAt;
+                    hashNanos.add(elapsed);
+                    maxHashNanos.accumulate(elapsed);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw overloaded();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public HashingStats stats() {
+        long done = completed.sum();
+        return HashingStats.builder()
+                .threads(executor.getCorePoolSize())
+                .queueCapacity(queueCapacity)
+                .queueDepth(executor.getQueue().size())
+                .activeThreads(executor.getActiveCount())
+                .completed(done)
+                .rejected(rejected.sum())
+                .avgWaitMillis(done == 0 ? 0.0 : waitNanos.sum() / 1e6 / done)
+                .avgHashMillis(done == 0 ? 0.0 : hashNanos.sum() / 1e6 / done)
+                .maxHashMillis(maxHashNanos.get() / 1e6)
+                .build();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException(
+                "El servicio de autenticación está saturado. Intenta nuevamente en unos segundos.",
+                retryAfterSeconds);
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.mediaflow.api.security;
+
+/**
+ * Almacén de contadores para el rate limiting. La implementación por defecto vive en memoria
+ * ({@link InMemoryRateLimitStore}); para compartir contadores entre varias instancias basta
+ * declarar otro bean de este tipo respaldado por un almacén común.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Registra un intento para la clave y devuelve el número estimado de intentos dentro de
+     * la ventana deslizante que termina en nowMillis (incluido este).
+     */
+    double recordAndCount(String key, long nowMillis, long windowMillis);
+
+    /**
+     * Olvida los intentos registrados para la clave
+     */
+    void reset(String key);
+
+    /**
+     * Número de claves con contadores activos
+     */
+    int size();
+}
@@ -0,0 +1,172 @@
+package com.mediaflow.api.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mediaflow.api.repository.RefreshSessionRepository;
+import com.mediaflow.api.repository.RefreshSessionRepository.RefreshSession;
+
+import lombok.Getter;
+
+/**
+ * Sesiones de refresh token, guardadas en refresh_sessions para que cualquier instancia
+ * pueda rotarlas.
+ *
+ * El refresh token es opaco: "sessionId.secreto". Por sesión solo se guardan los digests
+ * SHA-256 del secreto vigente y del anterior, así que cada sesión ocupa una fila sin importar
+ * cuántas veces se haya rotado. Presentar el secreto anterior se trata como reutilización
+ * (token robado) y cierra la sesión completa; cualquier otro secreto se rechaza sin tocarla,
+ * porque el sessionId no es secreto (viaja en el claim "sid" y en GET /sessions).
+ */
+@Component
+public class RefreshTokenStore {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecureRandom random = new SecureRandom();
+    private final RefreshSessionRepository repository;
+    private final long refreshExpirationMillis;
+
+    public RefreshTokenStore(
+            RefreshSessionRepository repository,
+            @Value("${jwt.refresh-expiration:1209600000}") long refreshExpirationMillis) {
+        this.repository = repository;
+        this.refreshExpirationMillis = refreshExpirationMillis;
+    }
+
+    /**
+     * Abre una sesión nueva y devuelve su primer refresh token
+     */
+    public Rotation issue(Integer userId, String email, String clientIp) {
+        String sessionId = randomToken(16);
+        String secret = randomToken(32);
+        long now = System.currentTimeMillis();
+        RefreshSession session = new RefreshSession(sessionId, userId, email, clientIp, digest(secret), null,
+                now, now, now + refreshExpirationMillis);
+        repository.insert(session);
+        return new Rotation(new Session(session), sessionId + "." + secret);
+    }
+
+    /**
+     * Valida el refresh token y lo reemplaza por uno nuevo de la misma sesión.
+     * Lanza IllegalArgumentException si el token no es válido, expiró o ya fue usado.
+     */
+    public Rotation rotate(String refreshToken) {
+        int separator = refreshToken == null ? -1 : refreshToken.indexOf('.');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        String sessionId = refreshToken.substring(0, separator);
+        byte[] presented = digest(refreshToken.substring(separator + 1));
+
+        RefreshSession session = repository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+        if (session.expiresAt() <= System.currentTimeMillis()) {
+            repository.delete(sessionId);
+            throw new IllegalArgumentException("Refresh token expired");
+        }
+
+        String newSecret = randomToken(32);
+        long now = System.currentTimeMillis();
+        if (repository.rotate(sessionId, presented, digest(newSecret), now)) {
+            return new Rotation(new Session(session, now), sessionId + "." + newSecret);
+        }
+
+        // Se relee: una rotación concurrente con el mismo secreto deja ese digest como anterior
+        RefreshSession current = repository.findById(sessionId).orElse(null);
+        if (current != null && current.previousDigest() != null
+                && MessageDigest.isEqual(current.previousDigest(), presented)) {
+            // Un secreto anterior se volvió a usar: se asume robado y se cierra la sesión
+            repository.delete(sessionId);
+            throw new IllegalArgumentException("Refresh token reuse detected");
+        }
+        throw new IllegalArgumentException("Invalid refresh token");
+    }
+
+    public List<Session> findByUser(Integer userId) {
+        return repository.findActiveByUser(userId).stream()
+                .map(Session::new)
+                .toList();
+    }
+
+    /**
+     * Cierra una sesión del usuario; devuelve false si no existe o pertenece a otro usuario
+     */
+    public boolean revoke(Integer userId, String sessionId) {
+        return repository.deleteForUser(userId, sessionId);
+    }
+
+    /**
+     * Cierra todas las sesiones del usuario y devuelve sus ids
+     */
+    public Set<String> revokeAllForUser(Integer userId) {
+        return Set.copyOf(repository.deleteAllForUser(userId));
+    }
+
+    public int size() {
+        return repository.countActive();
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        repository.deleteExpired();
+    }
+
+    private String randomToken(int bytes) {
+        byte[] buffer = new byte[bytes];
+        random.nextBytes(buffer);
+        return ENCODER.encodeToString(buffer);
+    }
+
+    private static byte[] digest(String secret) {
+        try {
+            DECODER.decode(secret); // rechaza secretos con formato inválido
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Getter
+    public static final class Session {
+        private final String sessionId;
+        private final Integer userId;
+        private final String email;
+        private final String clientIp;
+        private final long createdAt;
+        private final long expiresAt;
+        private final long lastRefreshedAt;
+
+        private Session(RefreshSession session) {
+            this(session, session.lastRefreshedAt());
+        }
+
+        private Session(RefreshSession session, long lastRefreshedAt) {
+            this.sessionId = session.sessionId();
+            this.userId = session.userId();
+            this.email = session.email();
+            this.clientIp = session.clientIp();
+            this.createdAt = session.createdAt();
+            this.expiresAt = session.expiresAt();
+            this.lastRefreshedAt = lastRefreshedAt;
+        }
+    }
+
+    /**
+     * Sesión y refresh token (en claro) recién emitido para ella
+     */
+    public record Rotation(Session session, String refreshToken) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.mediaflow.api.security;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class RevocationStats {
+    int revokedTokens;
+    int revokedSessions;
+    int revokedUsers;
+    long bloomBits;
+    int bloomHashes;
+    long checks;
+    long bloomPositives;
+    long confirmedRevoked;
+}
@@ -0,0 +1,60 @@
+package com.mediaflow.api.security;
+
+import java.util.function.Supplier;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Verificación de roles sobre la máscara de bits del principal: un AND por chequeo,
+ * sin recorrer la lista de authorities ni comparar cadenas. Los roles sin bit (id mayor
+ * que {@link RoleCatalog#MAX_BIT}) se verifican por nombre.
+ *
+ * Uso en anotaciones: {@code @PreAuthorize("@roleAuthorization.has(authentication, 'ADMIN')")}.
+ * En SecurityConfig: {@code .access(roleAuthorization.require("ADMIN"))}.
+ */
+@Component("roleAuthorization")
+@RequiredArgsConstructor
+public class RoleAuthorization {
+
+    private final RoleCatalog roleCatalog;
+
+    public boolean has(Authentication authentication, String roleName) {
+        AuthenticatedUser principal = principal(authentication);
+        return principal != null && roleCatalog.grants(principal, roleName);
+    }
+
+    public boolean hasAny(Authentication authentication, String... roleNames) {
+        AuthenticatedUser principal = principal(authentication);
+        if (principal == null) {
+            return false;
+        }
+        for (String roleName : roleNames) {
+            if (roleCatalog.grants(principal, roleName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * AuthorizationManager para reglas por URL
+     */
+    public AuthorizationManager<RequestAuthorizationContext> require(String roleName) {
+        return (Supplier<Authentication> authentication, RequestAuthorizationContext context) ->
+                new AuthorizationDecision(has(authentication.get(), roleName));
+    }
+
+    private static AuthenticatedUser principal(Authentication authentication) {
+        return authentication != null
+                && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof AuthenticatedUser principal
+                ? principal
+                : null;
+    }
+}
@@ -0,0 +1,296 @@
+package com.mediaflow.api.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mediaflow.api.dto.RoleRow;
+import com.mediaflow.api.model.Role;
+import com.mediaflow.api.repository.RoleRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Catálogo de roles en memoria.
+ *
+ * Se carga al arrancar y se publica como un snapshot inmutable indexado por id y por nombre,
+ * con el flag de rol restringido ya calculado. Las lecturas no toman locks ni consultan la
+ * base de datos; {@link #refresh()} arma un snapshot nuevo y lo reemplaza (copy-on-write)
+ * cuando RoleServiceImpl escribe roles y cada roles.catalog.refresh-interval-ms, para ver los
+ * cambios hechos en otras instancias. {@link #registrationRoles} valida contra el snapshot y
+ * solo consulta la base si el snapshot superó ese intervalo (la recarga periódica falló) o si
+ * se pide un id que no conoce; un rol renombrado a ADMIN en otra instancia puede seguir
+ * asignándose hasta la próxima recarga. {@link #findCurrentByIds} siempre lee la base.
+ *
+ * También asigna a cada rol su posición de bit, que es su role_id: no cambia aunque se
+ * renombre el rol, así que una máscara emitida en un token sigue siendo válida. La máscara
+ * es un long: los roles con id fuera de 0..62 no tienen bit y se verifican por nombre
+ * ({@link #grants}); en el token viajan como lista de nombres junto a la máscara.
+ */
+@Slf4j
+@Component
+public class RoleCatalog {
+
+    public static final int MAX_BIT = 62;
+
+    // Roles que solo un administrador puede asignar (SERVICE: cuentas de otros servicios internos)
+    private static final Set<String> RESTRICTED_ROLES = Set.of("ADMIN", "MODERATOR", "SERVICE");
+
+    private static final long DEFAULT_REFRESH_INTERVAL_MILLIS = 30000;
+
+    private final RoleRepository roleRepository;
+    private final long refreshIntervalMillis;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public RoleCatalog(
+            RoleRepository roleRepository,
+            @Value("${roles.catalog.refresh-interval-ms:30000}") long refreshIntervalMillis) {
+        this.roleRepository = roleRepository;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.snapshot = load();
+    }
+
+    /**
+     * Con el intervalo de recarga por defecto (tests y benchmarks)
+     */
+    public RoleCatalog(RoleRepository roleRepository) {
+        this(roleRepository, DEFAULT_REFRESH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Bit del rol con ese id (0 si no es representable)
+     */
+    public static long bitOfId(Integer roleId) {
+        return roleId != null && roleId >= 0 && roleId <= MAX_BIT ? 1L << roleId : 0L;
+    }
+
+    public static long maskOfIds(Collection<Integer> roleIds) {
+        long mask = 0L;
+        for (Integer roleId : roleIds) {
+            mask |= bitOfId(roleId);
+        }
+        return mask;
+    }
+
+    public Optional<Entry> findById(Integer roleId) {
+        return Optional.ofNullable(snapshot.byId().get(roleId));
+    }
+
+    public Optional<Entry> findByName(String roleName) {
+        return roleName == null ? Optional.empty() : Optional.ofNullable(snapshot.byName().get(normalize(roleName)));
+    }
+
+    public List<Entry> findAll() {
+        return snapshot.all();
+    }
+
+    /**
+     * Roles de un usuario nuevo: el rol por defecto más los solicitados, sin duplicados.
+     * Los roles restringidos no se pueden auto-asignar en el registro.
+     */
+    public List<Entry> registrationRoles(Integer defaultRoleId, Collection<Integer> requested) {
+        Snapshot catalog = snapshot;
+        Map<Integer, Entry> roles = new LinkedHashMap<>();
+        roles.put(defaultRoleId, Optional.ofNullable(catalog.byId().get(defaultRoleId))
+                .orElseThrow(() -> new EntityNotFoundException("Default role not found")));
+
+        if (requested != null && !requested.isEmpty()) {
+            // Snapshot vencido o id desconocido (creado en otra instancia): nombres vigentes de la base
+            Map<Integer, Entry> current = isStale(catalog) || !catalog.byId().keySet().containsAll(requested)
+                    ? findCurrentByIds(requested)
+                    : catalog.byId();
+            for (Integer roleId : requested) {
+                if (roles.containsKey(roleId)) {
+                    continue;
+                }
+                Entry role = Optional.ofNullable(current.get(roleId))
+                        .orElseThrow(() -> new EntityNotFoundException("Role not found: " + roleId));
+                if (role.restricted()) {
+                    throw new IllegalArgumentException(
+                            "Cannot assign restricted role: " + role.name() +
+                                    ". This role can only be assigned by an administrator.");
+                }
+                roles.put(roleId, role);
+            }
+        }
+        return List.copyOf(roles.values());
+    }
+
+    /**
+     * Roles con esos ids leídos de la base de datos, no del snapshot: quien asigna roles decide
+     * con el nombre vigente aunque otra instancia lo haya renombrado (por ejemplo a ADMIN) hace
+     * instantes. Los ids que no existen no aparecen.
+     */
+    public Map<Integer, Entry> findCurrentByIds(Collection<Integer> roleIds) {
+        Map<Integer, Entry> roles = new HashMap<>();
+        if (roleIds == null || roleIds.isEmpty()) {
+            return roles;
+        }
+        for (RoleRow row : roleRepository.findRowsByIds(Set.copyOf(roleIds))) {
+            roles.put(row.getRoleId(), entry(row.getRoleId(), row.getName()));
+        }
+        return roles;
+    }
+
+    /**
+     * Bit del rol con ese nombre, con o sin prefijo "ROLE_" (0 si no existe)
+     */
+    public long bitOf(String roleName) {
+        return findByName(roleName).map(Entry::bit).orElse(0L);
+    }
+
+    /**
+     * Si el principal tiene el rol: por bit cuando el rol tiene uno y, si no, por nombre.
+     * Un rol que no está en el catálogo no se concede.
+     */
+    public boolean grants(AuthenticatedUser principal, String roleName) {
+        return findByName(roleName)
+                .map(role -> role.bit() != 0L
+                        ? principal.hasAnyRoleBit(role.bit())
+                        : principal.hasRole(role.normalizedName()))
+                .orElse(false);
+    }
+
+    /**
+     * Nombres normalizados de los roles conocidos que no entran en la máscara (van aparte en el token)
+     */
+    public List<String> namesWithoutBit(Collection<String> roleNames) {
+        List<String> names = new ArrayList<>();
+        for (String roleName : roleNames) {
+            findByName(roleName)
+                    .filter(role -> role.bit() == 0L)
+                    .ifPresent(role -> names.add(role.normalizedName()));
+        }
+        return names;
+    }
+
+    public long maskOf(Collection<String> roleNames) {
+        long mask = 0L;
+        for (String roleName : roleNames) {
+            mask |= bitOf(roleName);
+        }
+        return mask;
+    }
+
+    /**
+     * Nombres (en mayúsculas, sin prefijo) de los roles presentes en la máscara
+     */
+    public List<String> namesOf(long mask) {
+        String[] names = snapshot.nameByBit();
+        List<String> result = new ArrayList<>(Long.bitCount(mask));
+        long remaining = mask;
+        while (remaining != 0) {
+            int bit = Long.numberOfTrailingZeros(remaining);
+            if (names[bit] != null) {
+                result.add(names[bit]);
+            }
+            remaining &= remaining - 1;
+        }
+        return result;
+    }
+
+    /**
+     * Nombres (en mayúsculas, sin prefijo) de los roles con esos ids, con o sin bit
+     */
+    public List<String> namesOfIds(Collection<Integer> roleIds) {
+        Map<Integer, Entry> byId = snapshot.byId();
+        List<String> result = new ArrayList<>(roleIds.size());
+        for (Integer roleId : roleIds) {
+            Entry role = byId.get(roleId);
+            if (role != null) {
+                result.add(role.normalizedName());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Recarga el catálogo; se invoca después de crear, renombrar o eliminar roles
+     */
+    public synchronized void refresh() {
+        snapshot = load();
+    }
+
+    /**
+     * Recarga periódica: los roles escritos por otra instancia no pasan por su {@link #refresh()}
+     */
+    @Scheduled(fixedDelayString = "${roles.catalog.refresh-interval-ms:30000}",
+            initialDelayString = "${roles.catalog.refresh-interval-ms:30000}")
+    public void refreshPeriodically() {
+        try {
+            refresh();
+        } catch (DataAccessException e) {
+            // Se sigue usando el snapshot anterior
+            log.warn("Role catalog refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean isStale(Snapshot catalog) {
+        return System.currentTimeMillis() - catalog.loadedAtMillis() >= refreshIntervalMillis;
+    }
+
+    private Snapshot load() {
+        long loadedAt = System.currentTimeMillis();
+        Map<Integer, Entry> byId = new HashMap<>();
+        Map<String, Entry> byName = new HashMap<>();
+        String[] nameByBit = new String[MAX_BIT + 1];
+        for (RoleRow row : roleRepository.findAllRows()) {
+            Entry entry = entry(row.getRoleId(), row.getName());
+            byId.put(entry.roleId(), entry);
+            byName.put(entry.normalizedName(), entry);
+            if (entry.bit() != 0L) {
+                nameByBit[entry.roleId()] = entry.normalizedName();
+            } else {
+                log.info("RoleCatalog: el rol {} (id {}) no tiene bit, se verifica por nombre", entry.name(), entry.roleId());
+            }
+        }
+        List<Entry> all = byId.values().stream()
+                .sorted(Comparator.comparing(Entry::roleId))
+                .toList();
+        return new Snapshot(Map.copyOf(byId), Map.copyOf(byName), nameByBit, all, loadedAt);
+    }
+
+    private static Entry entry(Integer roleId, String roleName) {
+        String name = normalize(roleName);
+        return new Entry(roleId, roleName, name, RESTRICTED_ROLES.contains(name), bitOfId(roleId));
+    }
+
+    private static String normalize(String roleName) {
+        String upper = roleName.toUpperCase(Locale.ROOT);
+        return upper.startsWith("ROLE_") ? upper.substring("ROLE_".length()) : upper;
+    }
+
+    /**
+     * Rol del catálogo. {@code name} es el nombre tal como está guardado y
+     * {@code normalizedName} el nombre en mayúsculas sin prefijo.
+     */
+    public record Entry(Integer roleId, String name, String normalizedName, boolean restricted, long bit) {
+
+        /**
+         * Copia desacoplada (no administrada) para asociar a un usuario sin consultar la base de datos
+         */
+        public Role toRole() {
+            return Role.builder().roleId(roleId).name(name).build();
+        }
+    }
+
+    private record Snapshot(Map<Integer, Entry> byId, Map<String, Entry> byName, String[] nameByBit,
+            List<Entry> all, long loadedAtMillis) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.mediaflow.api.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Cifra las claves privadas de firma antes de guardarlas en jwt_signing_keys (AES-256-GCM con
+ * la clave jwt.key-encryption-key, que no vive en la base). Una copia de la tabla en una
+ * réplica o un backup no alcanza para firmar tokens.
+ *
+ * Formato: versión (1 byte) + IV (12 bytes) + texto cifrado con su tag. El kid y el algoritmo
+ * van como datos asociados: una clave copiada a otra fila no se descifra.
+ */
+public final class SigningKeyCipher {
+
+    private static final byte VERSION = 1;
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * @param base64Key 32 bytes en Base64
+     */
+    public SigningKeyCipher(String base64Key) {
+        byte[] raw;
+        try {
+            raw = Base64.getDecoder().decode(base64Key.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("jwt.key-encryption-key must be Base64", e);
+        }
+        if (raw.length != 32) {
+            throw new IllegalStateException("jwt.key-encryption-key must be 32 bytes (AES-256), got " + raw.length);
+        }
+        this.key = new SecretKeySpec(raw, "AES");
+    }
+
+    public byte[] encrypt(byte[] plaintext, String kid, String algorithm) {
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(associatedData(kid, algorithm));
+            byte[] encrypted = cipher.doFinal(plaintext);
+            return ByteBuffer.allocate(1 + IV_BYTES + encrypted.length)
+                    .put(VERSION)
+                    .put(iv)
+                    .put(encrypted)
+                    .array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Signing key encryption failed", e);
+        }
+    }
+
+    /**
+     * Falla si la clave de cifrado no es la misma con la que se guardó o si la fila se alteró
+     */
+    public byte[] decrypt(byte[] stored, String kid, String algorithm) {
+        if (stored.length <= 1 + IV_BYTES || stored[0] != VERSION) {
+            throw new IllegalStateException("Signing key " + kid + " is not encrypted with a supported format");
+        }
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, stored, 1, IV_BYTES));
+            cipher.updateAAD(associatedData(kid, algorithm));
+            return cipher.doFinal(stored, 1 + IV_BYTES, stored.length - 1 - IV_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Signing key " + kid + " cannot be decrypted with jwt.key-encryption-key", e);
+        }
+    }
+
+    private static byte[] associatedData(String kid, String algorithm) {
+        return (kid + ":" + algorithm).getBytes(StandardCharsets.UTF_8);
+    }
+}
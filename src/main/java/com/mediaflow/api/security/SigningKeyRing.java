@@ -0,0 +1,294 @@
+package com.mediaflow.api.security;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mediaflow.api.repository.SigningKeyRepository;
+import com.mediaflow.api.repository.SigningKeyRepository.StoredKey;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Anillo de claves de firma de los JWT.
+ *
+ * Con HS256 (por defecto) se firma con el secreto compartido jwt.secret y el JWKS queda vacío.
+ * Con ES256 o RS256 los pares de claves se guardan en jwt_signing_keys, identificados por "kid":
+ * la clave siguiente se publica en el JWKS una rotación antes de empezar a firmar, y la
+ * anterior se conserva para verificar hasta que caducan los tokens que firmó. Así los
+ * servicios que cachean el JWKS siempre conocen el kid de los tokens que reciben.
+ *
+ * Cada instancia relee el anillo cada jwt.key-refresh-interval-ms, y la que encuentra la rotación
+ * vencida la hace. Todas las réplicas publican el mismo JWKS y un reinicio no invalida sesiones.
+ * Las claves privadas se guardan cifradas con jwt.key-encryption-key ({@link SigningKeyCipher}).
+ */
+@Slf4j
+@Component
+public class SigningKeyRing extends LocatorAdapter<Key> {
+
+    private final SignatureAlgorithm algorithm;
+    private final SecretKey hmacKey;
+    private final long retentionMillis;
+    private final SigningKeyRepository repository;
+    private final long rotationIntervalMillis;
+    private final SigningKeyCipher cipher;
+
+    // Snapshot inmutable; se reemplaza completo en cada rotación
+    private volatile Ring ring;
+
+    @Autowired
+    public SigningKeyRing(
+            SigningKeyRepository repository,
+            @Value("${jwt.algorithm:HS256}") String algorithm,
+            @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}") String secretKey,
+            @Value("${jwt.expiration:900000}") long jwtExpiration,
+            @Value("${jwt.key-rotation-interval-ms:86400000}") long rotationIntervalMillis,
+            @Value("${jwt.key-encryption-key:}") String keyEncryptionKey) {
+        this.repository = repository;
+        this.hmacKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.algorithm = switch (algorithm.toUpperCase(Locale.ROOT)) {
+            case "HS256" -> null;
+            case "ES256" -> Jwts.SIG.ES256;
+            case "RS256" -> Jwts.SIG.RS256;
+            default -> throw new IllegalStateException("Unsupported jwt.algorithm: " + algorithm);
+        };
+        this.retentionMillis = jwtExpiration;
+        this.rotationIntervalMillis = rotationIntervalMillis;
+        boolean storesKeys = isAsymmetric() && repository != null;
+        if (storesKeys && (keyEncryptionKey == null || keyEncryptionKey.isBlank())) {
+            throw new IllegalStateException("jwt.key-encryption-key is required with jwt.algorithm=" + algorithm);
+        }
+        this.cipher = storesKeys ? new SigningKeyCipher(keyEncryptionKey) : null;
+        if (!isAsymmetric()) {
+            this.ring = ring(null, null, List.of());
+        } else if (repository == null) {
+            this.ring = ring(newKey(), newKey(), List.of());
+        } else {
+            // Si otra instancia ya creó las claves, initialize no hace nada y se cargan las suyas
+            repository.initialize(this.algorithm.getId(), store(newKey()), store(newKey()));
+            this.ring = load();
+        }
+    }
+
+    /**
+     * Claves solo en memoria, propias de esta instancia (benchmarks)
+     */
+    public SigningKeyRing(String algorithm, String secretKey, long jwtExpiration) {
+        this(null, algorithm, secretKey, jwtExpiration, 0, null);
+    }
+
+    public boolean isAsymmetric() {
+        return algorithm != null;
+    }
+
+    public String algorithmId() {
+        return isAsymmetric() ? algorithm.getId() : "HS256";
+    }
+
+    public SecretKey getHmacKey() {
+        return hmacKey;
+    }
+
+    /**
+     * Clave con la que se firman los tokens nuevos (null en modo HS256)
+     */
+    public SigningKey activeKey() {
+        return ring.active();
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Localiza la clave de verificación por kid. Los tokens sin kid solo se aceptan en modo HS256:
+     * con ES256/RS256 el secreto HMAC no verifica nada, porque su valor por defecto es público.
+     * Al cambiar de algoritmo los access tokens anteriores se rechazan y el cliente los renueva
+     * con su refresh token.
+     */
+    @Override
+    protected Key locate(ProtectedHeader header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (isAsymmetric()) {
+                throw new SecurityException("Missing signing key id");
+            }
+            return hmacKey;
+        }
+        Ring current = ring;
+        long now = System.currentTimeMillis();
+        for (SigningKey key : current.published()) {
+            if (key.kid().equals(kid) && key.usableAt(now)) {
+                return key.publicKey();
+            }
+        }
+        throw new SecurityException("Unknown signing key: " + kid);
+    }
+
+    /**
+     * La clave siguiente pasa a firmar, la activa se retira y se genera una nueva siguiente
+     */
+    public synchronized void rotate() {
+        if (!isAsymmetric()) {
+            return;
+        }
+        if (repository != null) {
+            repository.rotate(algorithm.getId(), 0, retentionMillis, store(newKey()));
+            ring = load();
+            log.info("Clave de firma JWT rotada, kid activo: {}", ring.active().kid());
+            return;
+        }
+        Ring current = ring;
+        long now = System.currentTimeMillis();
+        List<SigningKey> retired = new ArrayList<>();
+        retired.add(current.active().retire(now + retentionMillis));
+        current.retired().stream().filter(key -> key.usableAt(now)).forEach(retired::add);
+        ring = ring(current.next(), newKey(), List.copyOf(retired));
+        log.info("Clave de firma JWT rotada, kid activo: {}", current.next().kid());
+    }
+
+    /**
+     * Rota si la clave activa cumplió jwt.key-rotation-interval-ms y relee el anillo compartido,
+     * incluidas las rotaciones hechas por otras instancias
+     */
+    @Scheduled(fixedDelayString = "${jwt.key-refresh-interval-ms:60000}",
+            initialDelayString = "${jwt.key-refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        if (!isAsymmetric() || repository == null) {
+            return;
+        }
+        try {
+            String algorithmId = algorithm.getId();
+            // La clave nueva solo se genera cuando toca rotar; rotate vuelve a comprobarlo bajo el lock
+            if (repository.isRotationDue(algorithmId, rotationIntervalMillis)
+                    && repository.rotate(algorithmId, rotationIntervalMillis, retentionMillis, store(newKey()))) {
+                log.info("Clave de firma JWT rotada por esta instancia");
+            }
+            repository.deleteExpired();
+            Ring previous = ring;
+            ring = load();
+            if (!ring.active().kid().equals(previous.active().kid())) {
+                log.info("Clave de firma JWT activa: {}", ring.active().kid());
+            }
+        } catch (DataAccessException | IllegalStateException e) {
+            // Se sigue firmando con el anillo actual; los tokens siguen siendo verificables
+            log.warn("JWT signing key refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * JWKS (RFC 7517) con las claves públicas vigentes: siguiente, activa y retiradas
+     */
+    public String jwksJson() {
+        return ring.jwks();
+    }
+
+    private SigningKey newKey() {
+        KeyPair pair = algorithm.keyPair().build();
+        return new SigningKey(UUID.randomUUID().toString(), pair.getPrivate(), pair.getPublic(), Long.MAX_VALUE);
+    }
+
+    private Ring load() {
+        SigningKey active = null;
+        SigningKey next = null;
+        List<SigningKey> retired = new ArrayList<>();
+        for (StoredKey stored : repository.findUsable(algorithm.getId())) {
+            SigningKey key = decode(stored);
+            if (stored.verifyUntil() != Long.MAX_VALUE) {
+                retired.add(key);
+            } else if (stored.activated()) {
+                active = key;
+            } else {
+                next = key;
+            }
+        }
+        if (active == null || next == null) {
+            throw new IllegalStateException("jwt_signing_keys has no active and next key for " + algorithm.getId());
+        }
+        return ring(active, next, List.copyOf(retired));
+    }
+
+    private StoredKey store(SigningKey key) {
+        String algorithmId = algorithm.getId();
+        return new StoredKey(key.kid(), algorithmId,
+                cipher.encrypt(key.privateKey().getEncoded(), key.kid(), algorithmId),
+                key.publicKey().getEncoded(), false, key.verifyUntil());
+    }
+
+    private SigningKey decode(StoredKey stored) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance(algorithm == Jwts.SIG.ES256 ? "EC" : "RSA");
+            return new SigningKey(stored.kid(),
+                    factory.generatePrivate(new PKCS8EncodedKeySpec(
+                            cipher.decrypt(stored.privateKey(), stored.kid(), stored.algorithm()))),
+                    factory.generatePublic(new X509EncodedKeySpec(stored.publicKey())),
+                    stored.verifyUntil());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid signing key " + stored.kid(), e);
+        }
+    }
+
+    private String toJwk(SigningKey key) {
+        return Jwks.json(Jwks.builder()
+                .key(key.publicKey())
+                .id(key.kid())
+                .algorithm(algorithm.getId())
+                .publicKeyUse("sig")
+                .build());
+    }
+
+    public record SigningKey(String kid, PrivateKey privateKey, PublicKey publicKey, long verifyUntil) {
+
+        SigningKey retire(long until) {
+            return new SigningKey(kid, privateKey, publicKey, until);
+        }
+
+        boolean usableAt(long now) {
+            return verifyUntil > now;
+        }
+    }
+
+    private Ring ring(SigningKey active, SigningKey next, List<SigningKey> retired) {
+        List<SigningKey> published = new ArrayList<>();
+        if (active != null) {
+            published.add(active);
+            published.add(next);
+        }
+        published.addAll(retired);
+        // Se serializa una vez por rotación, no por petición
+        String jwks = published.stream()
+                .map(this::toJwk)
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+        return new Ring(active, next, retired, List.copyOf(published), jwks);
+    }
+
+    private record Ring(SigningKey active, SigningKey next, List<SigningKey> retired,
+            List<SigningKey> published, String jwks) {
+    }
+}
@@ -0,0 +1,252 @@
+package com.mediaflow.api.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mediaflow.api.dto.TokenClaims;
+import com.mediaflow.api.repository.TokenRevocationRepository;
+import com.mediaflow.api.repository.TokenRevocationRepository.Revocation;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lista de revocación de tokens, en memoria y compartida entre instancias.
+ *
+ * Se puede revocar un token puntual (por su jti), los de una sesión de refresh (por su sid)
+ * o todos los tokens de un usuario emitidos hasta cierto instante. La verificación consulta
+ * primero un filtro de Bloom: para la gran mayoría de tokens (no revocados) responde "no"
+ * sin tocar los mapas exactos ni la base de datos. Las entradas caducan junto con el token
+ * y el filtro se reconstruye periódicamente para olvidarlas.
+ *
+ * Cada revocación se guarda también en token_revocations; los demás nodos la incorporan en
+ * la siguiente sincronización (security.revocation.sync-interval-ms), así que un token
+ * revocado puede seguir aceptándose en otra réplica durante ese intervalo.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+    private static final char TOKEN = 't';
+    private static final char SESSION = 's';
+    private static final char USER = 'u';
+
+    private static final String TOKEN_PREFIX = "t:";
+    private static final String USER_PREFIX = "u:";
+    private static final String SESSION_PREFIX = "s:";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Cada sincronización relee este margen hacia atrás: cubre inserciones que confirmaron tarde
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(10);
+
+    private final TokenRevocationRepository repository;
+
+    private final int expectedEntries;
+    private final long maxTokenLifetimeMillis;
+
+    // jti -> instante en que el token expira
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // sid -> instante hasta el que pueden existir access tokens de la sesión
+    private final Map<String, Long> revokedSessions = new ConcurrentHashMap<>();
+    // userId -> tokens emitidos en este instante o antes (milisegundos, claim "iatms") quedan revocados
+    private final Map<Integer, UserCutoff> revokedUsers = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder bloomPositives = new LongAdder();
+    private final LongAdder confirmedRevoked = new LongAdder();
+
+    private Instant syncedUntil = Instant.EPOCH;
+
+    @Autowired
+    public TokenRevocationService(
+            TokenRevocationRepository repository,
+            @Value("${security.revocation.expected-entries:100000}") int expectedEntries,
+            @Value("${jwt.expiration:900000}") long maxTokenLifetimeMillis) {
+        this.repository = repository;
+        this.expectedEntries = expectedEntries;
+        this.maxTokenLifetimeMillis = maxTokenLifetimeMillis;
+        this.filter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Solo en memoria, sin compartir con otras instancias (benchmarks)
+     */
+    public TokenRevocationService(int expectedEntries, long maxTokenLifetimeMillis) {
+        this(null, expectedEntries, maxTokenLifetimeMillis);
+    }
+
+    /**
+     * Revoca un token puntual hasta su expiración
+     */
+    public void revoke(TokenClaims claims) {
+        if (claims.getTokenId() == null) {
+            return;
+        }
+        long expiresAt = claims.getExpiration() != null
+                ? claims.getExpiration().toEpochMilli()
+                : System.currentTimeMillis() + maxTokenLifetimeMillis;
+        record(new Revocation(TOKEN, claims.getTokenId(), null, expiresAt));
+    }
+
+    /**
+     * Revoca todos los tokens del usuario emitidos hasta ahora (borrado de cuenta, cambio de contraseña)
+     */
+    public void revokeAllForUser(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        record(new Revocation(USER, userId.toString(), now, now + maxTokenLifetimeMillis));
+    }
+
+    /**
+     * Revoca los access tokens emitidos para una sesión de refresh
+     */
+    public void revokeSession(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        record(new Revocation(SESSION, sessionId, null, System.currentTimeMillis() + maxTokenLifetimeMillis));
+    }
+
+    /**
+     * Incorpora las revocaciones hechas por otras instancias. La primera vez carga todas las vigentes.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval-ms:2000}")
+    public void syncFromDatabase() {
+        if (repository == null) {
+            return;
+        }
+        try {
+            Instant now = repository.databaseNow();
+            List<Revocation> revocations = repository.findCreatedAfter(syncedUntil.minus(SYNC_OVERLAP));
+            revocations.forEach(this::apply);
+            syncedUntil = now;
+        } catch (DataAccessException e) {
+            log.warn("Token revocation sync failed: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    public boolean isRevoked(TokenClaims claims) {
+        checks.increment();
+        BloomFilter current = filter;
+
+        String tokenId = claims.getTokenId();
+        boolean tokenMaybe = tokenId != null && current.mightContain(TOKEN_PREFIX + tokenId);
+        boolean userMaybe = claims.getUserId() != null && current.mightContain(USER_PREFIX + claims.getUserId());
+        String sessionId = claims.getSessionId();
+        boolean sessionMaybe = sessionId != null && current.mightContain(SESSION_PREFIX + sessionId);
+        if (!tokenMaybe && !userMaybe && !sessionMaybe) {
+            return false;
+        }
+
+        bloomPositives.increment();
+        boolean revoked = (tokenMaybe && revokedTokens.containsKey(tokenId))
+                || (sessionMaybe && revokedSessions.containsKey(sessionId))
+                || (userMaybe && issuedBeforeCutoff(claims));
+        if (revoked) {
+            confirmedRevoked.increment();
+        }
+        return revoked;
+    }
+
+    /**
+     * Elimina las entradas cuyos tokens ya expiraron y reconstruye el filtro sin ellas
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        purgeLocal();
+        if (repository != null) {
+            try {
+                repository.deleteExpired();
+            } catch (DataAccessException e) {
+                log.warn("Token revocation purge failed: {}", e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private synchronized void purgeLocal() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedSessions.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedUsers.values().removeIf(cutoff -> cutoff.expiresAt() <= now);
+
+        int size = revokedTokens.size() + revokedSessions.size() + revokedUsers.size();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, size * 2), FALSE_POSITIVE_RATE);
+        revokedTokens.keySet().forEach(tokenId -> rebuilt.add(TOKEN_PREFIX + tokenId));
+        revokedSessions.keySet().forEach(sessionId -> rebuilt.add(SESSION_PREFIX + sessionId));
+        revokedUsers.keySet().forEach(userId -> rebuilt.add(USER_PREFIX + userId));
+        filter = rebuilt;
+    }
+
+    public RevocationStats stats() {
+        BloomFilter current = filter;
+        return RevocationStats.builder()
+                .revokedTokens(revokedTokens.size())
+                .revokedSessions(revokedSessions.size())
+                .revokedUsers(revokedUsers.size())
+                .bloomBits(current.bitCount())
+                .bloomHashes(current.hashCount())
+                .checks(checks.sum())
+                .bloomPositives(bloomPositives.sum())
+                .confirmedRevoked(confirmedRevoked.sum())
+                .build();
+    }
+
+    /**
+     * Aplica la revocación en este nodo y la publica para los demás. Si no se puede guardar,
+     * igual queda vigente aquí.
+     */
+    private void record(Revocation revocation) {
+        apply(revocation);
+        if (repository != null) {
+            try {
+                repository.insert(revocation);
+            } catch (DataAccessException e) {
+                log.error("Token revocation not shared with other instances: {}", e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private synchronized void apply(Revocation revocation) {
+        switch (revocation.kind()) {
+            case TOKEN -> {
+                revokedTokens.merge(revocation.subject(), revocation.expiresAtMillis(), Math::max);
+                filter.add(TOKEN_PREFIX + revocation.subject());
+            }
+            case SESSION -> {
+                revokedSessions.merge(revocation.subject(), revocation.expiresAtMillis(), Math::max);
+                filter.add(SESSION_PREFIX + revocation.subject());
+            }
+            case USER -> {
+                Integer userId = Integer.valueOf(revocation.subject());
+                UserCutoff cutoff = new UserCutoff(revocation.issuedBefore(), revocation.expiresAtMillis());
+                // Gana el corte más reciente: una sincronización tardía no lo retrocede
+                revokedUsers.merge(userId, cutoff,
+                        (current, incoming) -> incoming.issuedAtOrBefore() > current.issuedAtOrBefore() ? incoming : current);
+                filter.add(USER_PREFIX + userId);
+            }
+            default -> log.warn("Unknown token revocation kind: {}", revocation.kind());
+        }
+    }
+
+    private boolean issuedBeforeCutoff(TokenClaims claims) {
+        UserCutoff cutoff = revokedUsers.get(claims.getUserId());
+        Instant issuedAt = claims.getIssuedAt();
+        // Milisegundos: un token emitido justo después (re-login tras cambiar la contraseña) no cae
+        return cutoff != null && (issuedAt == null || issuedAt.toEpochMilli() <= cutoff.issuedAtOrBefore());
+    }
+
+    private record UserCutoff(long issuedAtOrBefore, long expiresAt) {
+    }
+}
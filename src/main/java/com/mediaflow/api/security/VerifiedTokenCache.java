@@ -0,0 +1,114 @@
+package com.mediaflow.api.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mediaflow.api.cache.CacheStats;
+import com.mediaflow.api.cache.ExpiringCache;
+import com.mediaflow.api.dto.TokenClaims;
+import com.mediaflow.api.dto.TokenValidation;
+import com.mediaflow.api.service.JwtService;
+
+/**
+ * Caché de tokens ya verificados, indexada por el SHA-256 del token.
+ *
+ * Un cliente envía el mismo bearer token en cientos de peticiones; con esta caché solo
+ * la primera paga la verificación de la firma y el parseo JSON de los claims. Las demás
+ * calculan un digest y consultan la lista de revocación, que sigue aplicándose en cada
+ * petición. Las entradas nunca viven más allá del "exp" del token.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+
+    // MessageDigest no es thread-safe; uno por hilo evita crearlo en cada petición
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtService jwtService;
+    private final TokenRevocationService revocationService;
+    private final RoleCatalog roleCatalog;
+    private final ExpiringCache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(
+            JwtService jwtService,
+            TokenRevocationService revocationService,
+            RoleCatalog roleCatalog,
+            @Value("${security.token-cache.max-size:50000}") int maxSize,
+            @Value("${security.token-cache.ttl-seconds:900}") long ttlSeconds) {
+        this.jwtService = jwtService;
+        this.revocationService = revocationService;
+        this.roleCatalog = roleCatalog;
+        this.cache = new ExpiringCache<>("verifiedTokens", maxSize, ttlSeconds * 1000);
+    }
+
+    /**
+     * Devuelve el token verificado, o null si es inválido, expiró o fue revocado
+     */
+    public VerifiedToken resolve(String token) {
+        String key = digest(token);
+        VerifiedToken cached = cache.get(key);
+        if (cached != null) {
+            if (revocationService.isRevoked(cached.claims())) {
+                cache.invalidate(key);
+                return null;
+            }
+            return cached;
+        }
+
+        TokenValidation validation = jwtService.validate(token);
+        if (!validation.isValid() || revocationService.isRevoked(validation.getClaims())) {
+            // Los tokens rechazados no se guardan: no hay nada que ahorrar en ellos
+            return null;
+        }
+        TokenClaims claims = validation.getClaims();
+        VerifiedToken verified = new VerifiedToken(claims, fromClaims(claims));
+        if (claims.getExpiration() != null) {
+            cache.put(key, verified, claims.getExpiration().toEpochMilli());
+        }
+        return verified;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Construye el usuario autenticado a partir de los claims "sub", "userId" y "rm" del token,
+     * más "roles" con los roles sin bit (o todos, en tokens anteriores a la máscara).
+     * Los roles son los vigentes al momento del login.
+     */
+    private AuthenticatedUser fromClaims(TokenClaims claims) {
+        if (claims.getRoleMask() != null) {
+            long mask = claims.getRoleMask();
+            List<String> names = new ArrayList<>(roleCatalog.namesOf(mask));
+            names.addAll(claims.getRoles());
+            return new AuthenticatedUser(claims.getUserId(), claims.getSubject(), null, names, mask);
+        }
+        return new AuthenticatedUser(claims.getUserId(), claims.getSubject(), null, claims.getRoles(),
+                roleCatalog.maskOf(claims.getRoles()));
+    }
+
+    private static String digest(String token) {
+        return ENCODER.encodeToString(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Claims verificados y el principal armado con ellos (usado en modo stateless)
+     */
+    public record VerifiedToken(TokenClaims claims, AuthenticatedUser principal) {
+    }
+}
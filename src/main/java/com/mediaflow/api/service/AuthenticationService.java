@@ -6,6 +6,8 @@ import org.springframework.stereotype.Service;
 
 import com.mediaflow.api.model.User;
 import com.mediaflow.api.repository.UserRepository;
+import com.mediaflow.api.security.AuthenticatedUser;
+import com.mediaflow.api.security.RoleCatalog;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 public class AuthenticationService {
 
     private final UserRepository userRepository;
+    private final RoleCatalog roleCatalog;
 
     /**
      * Obtiene el email del usuario autenticado actualmente
@@ -36,27 +39,37 @@ public class AuthenticationService {
                 .orElseThrow(() -> new EntityNotFoundException("Usuario autenticado no encontrado"));
     }
 
+    /**
+     * Obtiene el principal del request actual (id y roles), sin consultar la base de datos
+     */
+    public AuthenticatedUser getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser principal)) {
+            throw new IllegalStateException("No hay usuario autenticado");
+        }
+        return principal;
+    }
+
     /**
      * Obtiene el ID del usuario autenticado
      */
     public Integer getCurrentUserId() {
-        return getCurrentUser().getUserId();
+        return getCurrentPrincipal().getUserId();
     }
 
     /**
      * Verifica si el usuario autenticado es el propietario del recurso
      */
     public boolean isOwner(Integer userId) {
-        return getCurrentUserId().equals(userId);
+        return isOwner(getCurrentPrincipal(), userId);
     }
 
     /**
      * Verifica si el usuario tiene un rol específico
      */
     public boolean hasRole(String roleName) {
-        User user = getCurrentUser();
-        return user.getRoles().stream()
-                .anyMatch(role -> role.getName().equalsIgnoreCase(roleName));
+        return roleCatalog.grants(getCurrentPrincipal(), roleName);
     }
 
     /**
@@ -71,15 +84,24 @@ public class AuthenticationService {
      * (es el propietario o es admin)
      */
     public boolean canAccess(Integer userId) {
-        return isOwner(userId) || isAdmin();
+        AuthenticatedUser principal = getCurrentPrincipal();
+        return isOwner(principal, userId) || roleCatalog.grants(principal, "ADMIN");
     }
 
     /**
      * Lanza excepción si el usuario no puede acceder al recurso
      */
     public void validateAccess(Integer userId) {
+        validateAccess(userId, "No tienes permiso para acceder a este recurso");
+    }
+
+    public void validateAccess(Integer userId, String message) {
         if (!canAccess(userId)) {
-            throw new SecurityException("No tienes permiso para acceder a este recurso");
+            throw new SecurityException(message);
         }
     }
+
+    private boolean isOwner(AuthenticatedUser principal, Integer userId) {
+        return principal.getUserId() != null && principal.getUserId().equals(userId);
+    }
 }
\ No newline at end of file
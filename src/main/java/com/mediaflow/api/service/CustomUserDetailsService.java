@@ -1,38 +1,118 @@
 package com.mediaflow.api.service;
 
-import java.util.stream.Collectors;
+import java.util.Collection;
+import java.util.Optional;
 
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.mediaflow.api.cache.CacheStats;
+import com.mediaflow.api.cache.ExpiringCache;
+import com.mediaflow.api.mapper.UserMapper;
+import com.mediaflow.api.model.Role;
 import com.mediaflow.api.model.User;
 import com.mediaflow.api.repository.UserRepository;
+import com.mediaflow.api.security.AuthenticatedUser;
+import com.mediaflow.api.security.RoleCatalog;
 
-import lombok.RequiredArgsConstructor;
-
+/**
+ * Los usuarios se cargan desde una réplica. Una réplica atrasada podría devolver el hash o los
+ * roles anteriores a un cambio recién confirmado y dejarlos en la caché hasta el TTL, así que
+ * cada evict se repite tras el commit y marca el email como cambiado durante
+ * cache.user-details.replica-lag-ms: mientras tanto se lee del primario. Un email que la
+ * réplica todavía no tiene (registro reciente) también se busca en el primario.
+ */
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService{
     private final UserRepository userRepository;
+
+    // Caché por email; se invalida cuando cambia el usuario o alguno de sus roles
+    private final ExpiringCache<String, AuthenticatedUser> cache;
+
+    // Emails con cambios recientes (entrada con TTL = atraso tolerado de las réplicas)
+    private final ExpiringCache<String, Boolean> recentlyChanged;
+
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            @Value("${cache.user-details.max-size:10000}") int maxSize,
+            @Value("${cache.user-details.ttl-seconds:300}") long ttlSeconds,
+            @Value("${cache.user-details.replica-lag-ms:5000}") long replicaLagMillis) {
+        this.userRepository = userRepository;
+        this.cache = new ExpiringCache<>("userDetails", maxSize, ttlSeconds * 1000);
+        this.recentlyChanged = new ExpiringCache<>("userDetailsRecentlyChanged", maxSize, replicaLagMillis);
+    }
+
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmailForAuth(email)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + email));
-
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(user.getRoles().stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName().toUpperCase()))
-                        .collect(Collectors.toList()))
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
+    public AuthenticatedUser loadUserByUsername(String email) throws UsernameNotFoundException {
+        // AuthenticatedUser es inmutable, así que se puede compartir desde la caché
+        return cache.get(UserMapper.normalizeEmail(email), this::loadFromDatabase);
+    }
+
+    /**
+     * Elimina de la caché al usuario con ese email, ahora y otra vez tras el commit: hasta
+     * entonces una lectura todavía ve la fila sin el cambio
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = UserMapper.normalizeEmail(email);
+        markChanged(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // La ventana de atraso de las réplicas empieza con el commit
+                    markChanged(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Si el usuario cambió hace menos de lo que puede tardar una réplica en verlo
+     */
+    public boolean changedRecently(String email) {
+        return email != null && recentlyChanged.get(UserMapper.normalizeEmail(email)) != null;
+    }
+
+    public void evictAll(Collection<String> emails) {
+        emails.forEach(this::evict);
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    private void markChanged(String key) {
+        recentlyChanged.put(key, Boolean.TRUE);
+        cache.invalidate(key);
+    }
+
+    private AuthenticatedUser loadFromDatabase(String email) {
+        boolean primary = changedRecently(email);
+        Optional<User> found = primary
+                ? userRepository.findByEmailForAuthOnPrimary(email)
+                : userRepository.findByEmailForAuth(email);
+        if (found.isEmpty() && !primary) {
+            found = userRepository.findByEmailForAuthOnPrimary(email);
+        }
+        User user = found.orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + email));
+
+        return new AuthenticatedUser(
+                user.getUserId(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getRoles().stream()
+                        .map(Role::getName)
+                        .toList(),
+                RoleCatalog.maskOfIds(user.getRoles().stream()
+                        .map(Role::getRoleId)
+                        .toList()));
     }
     
 }
@@ -0,0 +1,41 @@
+package com.mediaflow.api.service;
+
+import com.mediaflow.api.dto.FollowCounts;
+import com.mediaflow.api.dto.FollowPage;
+import com.mediaflow.api.dto.MutualFollowsResponse;
+import com.mediaflow.api.dto.RelationshipResponse;
+
+public interface FollowService {
+
+    /**
+     * Devuelve true si se creó la relación (false si ya existía).
+     * Lanza BadRequestException si el usuario intenta seguirse a sí mismo.
+     */
+    boolean follow(Integer followerId, Integer followedId);
+
+    /**
+     * Devuelve true si existía la relación
+     */
+    boolean unfollow(Integer followerId, Integer followedId);
+
+    boolean isFollowing(Integer followerId, Integer followedId);
+
+    /**
+     * Cantidad de seguidores y seguidos, sin contar filas de subscriptions
+     */
+    FollowCounts counts(Integer userId);
+
+    /**
+     * Relación entre dos usuarios (seguimiento en ambos sentidos, seguidores en común)
+     */
+    RelationshipResponse relationship(Integer userId, Integer otherUserId);
+
+    /**
+     * Usuarios que se siguen mutuamente con userId, ordenados por id (a lo sumo limit)
+     */
+    MutualFollowsResponse mutualFollows(Integer userId, Integer limit);
+
+    FollowPage findFollowers(Integer userId, Integer after, Integer limit);
+
+    FollowPage findFollowing(Integer userId, Integer after, Integer limit);
+}
@@ -0,0 +1,145 @@
+package com.mediaflow.api.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.mediaflow.api.dto.FollowCounts;
+import com.mediaflow.api.dto.FollowPage;
+import com.mediaflow.api.dto.FollowResponse;
+import com.mediaflow.api.dto.FollowView;
+import com.mediaflow.api.dto.MutualFollowsResponse;
+import com.mediaflow.api.dto.RelationshipResponse;
+import com.mediaflow.api.exception.BadRequestException;
+import com.mediaflow.api.graph.SocialGraph;
+import com.mediaflow.api.graph.SocialGraphIndex;
+import com.mediaflow.api.repository.FollowRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class FollowServiceImpl implements FollowService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final FollowRepository repository;
+    private final UserCounterService counterService;
+    private final SocialGraphIndex socialGraphIndex;
+    private final FollowSuggestionService suggestionService;
+
+    @Override
+    public boolean follow(Integer followerId, Integer followedId) {
+        if (followerId.equals(followedId)) {
+            throw new BadRequestException("No puedes seguirte a ti mismo");
+        }
+        requireUser(followedId);
+        boolean created = repository.follow(followerId, followedId) > 0;
+        if (created) {
+            counterService.recordFollow(followerId, followedId);
+            socialGraphIndex.follow(followerId, followedId);
+            suggestionService.onFollow(followerId, followedId);
+        }
+        return created;
+    }
+
+    @Override
+    public boolean unfollow(Integer followerId, Integer followedId) {
+        boolean removed = repository.unfollow(followerId, followedId) > 0;
+        if (removed) {
+            counterService.recordUnfollow(followerId, followedId);
+            socialGraphIndex.unfollow(followerId, followedId);
+            suggestionService.onUnfollow(followerId, followedId);
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean isFollowing(Integer followerId, Integer followedId) {
+        return repository.isFollowing(followerId, followedId);
+    }
+
+    @Override
+    public FollowCounts counts(Integer userId) {
+        requireUser(userId);
+        return counterService.counts(userId);
+    }
+
+    @Override
+    public RelationshipResponse relationship(Integer userId, Integer otherUserId) {
+        SocialGraph graph = socialGraphIndex.graph();
+        boolean following = graph.follows(userId, otherUserId);
+        boolean followedBy = graph.follows(otherUserId, userId);
+        return RelationshipResponse.builder()
+                .userId(userId)
+                .otherUserId(otherUserId)
+                .following(following)
+                .followedBy(followedBy)
+                .mutual(following && followedBy)
+                .followersInCommon(graph.followersInCommonCount(userId, otherUserId))
+                .reachableInTwoHops(graph.reachableInTwoHops(userId, otherUserId))
+                .build();
+    }
+
+    @Override
+    public MutualFollowsResponse mutualFollows(Integer userId, Integer limit) {
+        int[] mutuals = socialGraphIndex.graph().mutualFollows(userId);
+        return MutualFollowsResponse.builder()
+                .userId(userId)
+                .total(mutuals.length)
+                .userIds(Arrays.stream(mutuals).limit(pageSize(limit)).boxed().toList())
+                .build();
+    }
+
+    @Override
+    public FollowPage findFollowers(Integer userId, Integer after, Integer limit) {
+        requireUser(userId);
+        int size = pageSize(limit);
+        return toPage(repository.findFollowers(userId, cursor(after), size + 1), size);
+    }
+
+    @Override
+    public FollowPage findFollowing(Integer userId, Integer after, Integer limit) {
+        requireUser(userId);
+        int size = pageSize(limit);
+        return toPage(repository.findFollowing(userId, cursor(after), size + 1), size);
+    }
+
+    private void requireUser(Integer userId) {
+        if (!repository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found: " + userId);
+        }
+    }
+
+    private static int cursor(Integer after) {
+        return after != null ? after : 0;
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // Se pide una fila de más para saber si hay otra página sin hacer un COUNT
+    private static FollowPage toPage(List<FollowView> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<FollowResponse> items = rows.stream()
+                .limit(size)
+                .map(row -> FollowResponse.builder()
+                        .userId(row.getUserId())
+                        .name(row.getName())
+                        .displayName(row.getDisplayName())
+                        .avatarUrl(row.getAvatarUrl())
+                        .build())
+                .toList();
+        return FollowPage.builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getUserId() : null)
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.mediaflow.api.service;
+
+import com.mediaflow.api.dto.FollowSuggestionStats;
+import com.mediaflow.api.dto.FollowSuggestionsResponse;
+
+public interface FollowSuggestionService {
+
+    /**
+     * Sugerencias de a quién seguir para userId (a lo sumo limit)
+     */
+    FollowSuggestionsResponse suggest(Integer userId, Integer limit);
+
+    /**
+     * Actualiza incrementalmente las sugerencias en caché de followerId
+     */
+    void onFollow(Integer followerId, Integer followedId);
+
+    void onUnfollow(Integer followerId, Integer followedId);
+
+    void removeUser(Integer userId);
+
+    FollowSuggestionStats stats();
+}
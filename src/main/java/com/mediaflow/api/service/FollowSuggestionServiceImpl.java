@@ -0,0 +1,219 @@
+package com.mediaflow.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mediaflow.api.cache.ExpiringCache;
+import com.mediaflow.api.dto.FollowSuggestion;
+import com.mediaflow.api.dto.FollowSuggestionStats;
+import com.mediaflow.api.dto.FollowSuggestionsResponse;
+import com.mediaflow.api.graph.SocialGraph;
+import com.mediaflow.api.graph.SocialGraphIndex;
+import com.mediaflow.api.repository.UserLanguageRepository;
+import com.mediaflow.api.suggestion.FollowSuggestionEngine;
+import com.mediaflow.api.suggestion.LatencyHistogram;
+import com.mediaflow.api.suggestion.Ranking;
+import com.mediaflow.api.suggestion.UserLanguages;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sugerencias sobre el {@link SocialGraphIndex} en memoria, con caché por usuario.
+ *
+ * Se guardan suggestions.cache-candidates candidatos por usuario (más de los que pide una
+ * respuesta) para poder actualizarlos al seguir a alguien sin recalcular. Cada cálculo tiene
+ * un presupuesto de latencia: al agotarse se responde con lo acumulado (partial=true) y ese
+ * resultado se guarda por menos tiempo.
+ */
+@Slf4j
+@Service
+public class FollowSuggestionServiceImpl implements FollowSuggestionService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private final SocialGraphIndex socialGraphIndex;
+    private final UserLanguageRepository languageRepository;
+    private final ForkJoinPool pool;
+    private final FollowSuggestionEngine engine;
+    private final ExpiringCache<Integer, CachedRanking> cache;
+    private final long ttlMillis;
+    private final int candidates;
+    private final long budgetNanos;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder incrementalUpdates = new LongAdder();
+    private final LongAdder partialResults = new LongAdder();
+    private final LongAdder overBudget = new LongAdder();
+
+    private volatile UserLanguages languages = UserLanguages.empty();
+
+    public FollowSuggestionServiceImpl(
+            SocialGraphIndex socialGraphIndex,
+            UserLanguageRepository languageRepository,
+            @Value("${suggestions.threads:0}") int threads,
+            @Value("${suggestions.max-fanout:2000}") int maxFanout,
+            @Value("${suggestions.split-threshold:20000}") int splitThreshold,
+            @Value("${suggestions.overlap-weight:10}") int overlapWeight,
+            @Value("${suggestions.language-bonus:5}") int languageBonus,
+            @Value("${suggestions.cache.max-size:20000}") int cacheMaxSize,
+            @Value("${suggestions.cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${suggestions.cache-candidates:200}") int candidates,
+            @Value("${suggestions.latency-budget-ms:50}") long budgetMillis) {
+        this.socialGraphIndex = socialGraphIndex;
+        this.languageRepository = languageRepository;
+
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("follow-suggestions-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.engine = new FollowSuggestionEngine(pool, maxFanout, splitThreshold, overlapWeight, languageBonus);
+        this.cache = new ExpiringCache<>("followSuggestions", cacheMaxSize, ttlSeconds * 1000);
+        this.ttlMillis = ttlSeconds * 1000;
+        this.candidates = Math.max(candidates, MAX_LIMIT);
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::refreshLanguages, "follow-suggestions-languages");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(fixedDelayString = "${suggestions.languages-refresh-ms:900000}",
+            initialDelayString = "${suggestions.languages-refresh-ms:900000}")
+    public void refreshLanguages() {
+        try {
+            languages = languageRepository.loadLanguages();
+        } catch (RuntimeException e) {
+            log.warn("Preferred languages load failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public FollowSuggestionsResponse suggest(Integer userId, Integer limit) {
+        SocialGraph graph = socialGraphIndex.graph();
+        CachedRanking cached = cache.get(userId);
+        if (cached != null) {
+            return toResponse(userId, cached, limit, true);
+        }
+
+        long startedAt = System.nanoTime();
+        FollowSuggestionEngine.Result result = engine.rank(graph, languages, userId, candidates, startedAt + budgetNanos);
+        long elapsed = System.nanoTime() - startedAt;
+        latency.record(elapsed);
+        computed.increment();
+        if (elapsed > budgetNanos) {
+            overBudget.increment();
+        }
+
+        // Un resultado parcial se recalcula antes: quizá la próxima vez el pool esté menos cargado
+        long expiresAt = System.currentTimeMillis() + (result.partial() ? ttlMillis / 10 : ttlMillis);
+        if (result.partial()) {
+            partialResults.increment();
+        }
+        CachedRanking ranking = new CachedRanking(result.ranking(), result.partial(), expiresAt);
+        cache.put(userId, ranking, expiresAt);
+        return toResponse(userId, ranking, limit, false);
+    }
+
+    @Override
+    public void onFollow(Integer followerId, Integer followedId) {
+        CachedRanking cached = cache.get(followerId);
+        if (cached == null) {
+            return;
+        }
+        if (!socialGraphIndex.isReady()) {
+            cache.invalidate(followerId);
+            return;
+        }
+        Ranking updated = engine.applyFollow(socialGraphIndex.graph(), languages, followerId, followedId,
+                cached.ranking(), candidates);
+        // Conserva el vencimiento original: la aproximación no se estira con cada follow
+        cache.put(followerId, new CachedRanking(updated, cached.partial(), cached.expiresAt()), cached.expiresAt());
+        incrementalUpdates.increment();
+    }
+
+    @Override
+    public void onUnfollow(Integer followerId, Integer followedId) {
+        // Dejar de seguir quita solapamientos que el ranking no guarda: se recalcula en la próxima consulta
+        cache.invalidate(followerId);
+    }
+
+    @Override
+    public void removeUser(Integer userId) {
+        cache.invalidate(userId);
+    }
+
+    @Override
+    public FollowSuggestionStats stats() {
+        return FollowSuggestionStats.builder()
+                .cache(cache.stats())
+                .computed(computed.sum())
+                .incrementalUpdates(incrementalUpdates.sum())
+                .partialResults(partialResults.sum())
+                .overBudget(overBudget.sum())
+                .latencyBudgetMillis(TimeUnit.NANOSECONDS.toMillis(budgetNanos))
+                .p50Millis(latency.percentileMillis(0.50))
+                .p99Millis(latency.percentileMillis(0.99))
+                .maxMillis(latency.maxMillis())
+                .parallelism(engine.parallelism())
+                .languageProfiles(languages.size())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private FollowSuggestionsResponse toResponse(Integer userId, CachedRanking cached, Integer limit, boolean hit) {
+        Ranking ranking = cached.ranking();
+        UserLanguages current = languages;
+        int language = current.languageOf(userId);
+        int size = Math.min(ranking.size(), limit(limit));
+        List<FollowSuggestion> suggestions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            suggestions.add(FollowSuggestion.builder()
+                    .userId(ranking.ids()[i])
+                    .score(ranking.scores()[i])
+                    .followedByFollowing(ranking.overlaps()[i])
+                    .sameLanguage(current.same(language, ranking.ids()[i]))
+                    .build());
+        }
+        return FollowSuggestionsResponse.builder()
+                .userId(userId)
+                .suggestions(suggestions)
+                .partial(cached.partial())
+                .cached(hit)
+                .build();
+    }
+
+    private static int limit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    private record CachedRanking(Ranking ranking, boolean partial, long expiresAt) {
+    }
+}
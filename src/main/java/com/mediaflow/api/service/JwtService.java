@@ -1,29 +1,44 @@
 package com.mediaflow.api.service;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
-import javax.crypto.SecretKey;
-
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.mediaflow.api.dto.TokenClaims;
+import com.mediaflow.api.dto.TokenValidation;
+import com.mediaflow.api.security.SigningKeyRing;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
-    private String secretKey;
-
-    @Value("${jwt.expiration:86400000}") // 24 horas por defecto
-    private Long jwtExpiration;
+    // El parser se construye una sola vez y resuelve la clave de verificación por kid
+    private final SigningKeyRing keyRing;
+    private final JwtParser parser;
+    private final long jwtExpiration;
+
+    public JwtService(
+            SigningKeyRing keyRing,
+            @Value("${jwt.expiration:900000}") long jwtExpiration) { // 15 minutos por defecto
+        this.keyRing = keyRing;
+        this.parser = Jwts.parser().keyLocator(keyRing).build();
+        this.jwtExpiration = jwtExpiration;
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -39,7 +54,35 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        return buildToken(extraClaims, userDetails.getUsername(), jwtExpiration);
+    }
+
+    public String generateToken(Map<String, Object> extraClaims, String subject) {
+        return buildToken(extraClaims, subject, jwtExpiration);
+    }
+
+    /**
+     * Access token de corta duración con los claims que usa el filtro: rm (máscara de roles), userId y sid
+     */
+    public String generateAccessToken(Integer userId, String email, long roleMask, String sessionId) {
+        return generateAccessToken(userId, email, roleMask, List.of(), sessionId);
+    }
+
+    /**
+     * Igual, con los roles sin bit en la máscara (ver RoleCatalog) como lista "roles"
+     */
+    public String generateAccessToken(Integer userId, String email, long roleMask, Collection<String> rolesWithoutBit,
+            String sessionId) {
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put("rm", roleMask);
+        if (!rolesWithoutBit.isEmpty()) {
+            extraClaims.put("roles", List.copyOf(rolesWithoutBit));
+        }
+        extraClaims.put("userId", userId);
+        if (sessionId != null) {
+            extraClaims.put("sid", sessionId);
+        }
+        return generateToken(extraClaims, email);
     }
 
     public long getExpirationTime() {
@@ -48,43 +91,73 @@ public class JwtService {
 
     private String buildToken(
             Map<String, Object> extraClaims,
-            UserDetails userDetails,
+            String subject,
             long expiration
     ) {
-        return Jwts
+        long now = System.currentTimeMillis();
+        JwtBuilder builder = Jwts
                 .builder()
                 .claims(extraClaims)
-                .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                // iat es en segundos; la revocación por usuario compara en milisegundos
+                .claim("iatms", now)
+                .id(UUID.randomUUID().toString())
+                .subject(subject)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration));
+
+        if (!keyRing.isAsymmetric()) {
+            return builder.signWith(keyRing.getHmacKey()).compact();
+        }
+        // ES256/RS256: el kid permite a otros servicios elegir la clave pública del JWKS
+        SigningKeyRing.SigningKey key = keyRing.activeKey();
+        return builder
+                .header().keyId(key.kid()).and()
+                .signWith(key.privateKey(), keyRing.getAlgorithm())
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    /**
+     * Verifica la firma y la expiración del token con un único parseo
+     */
+    public TokenValidation validate(String token) {
+        try {
+            return TokenValidation.valid(toTokenClaims(extractAllClaims(token)));
+        } catch (ExpiredJwtException e) {
+            return TokenValidation.expired();
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenValidation.invalid();
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        TokenValidation validation = validate(token);
+        return validation.isValid()
+                && validation.getClaims().getSubject().equals(userDetails.getUsername());
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith((SecretKey) getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        // jjwt ya rechaza tokens expirados durante el parseo
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private TokenClaims toTokenClaims(Claims claims) {
+        Object roles = claims.get("roles");
+        Number userId = claims.get("userId", Number.class);
+        Number roleMask = claims.get("rm", Number.class);
+        Number issuedAtMillis = claims.get("iatms", Number.class);
+        return TokenClaims.builder()
+                .tokenId(claims.getId())
+                .subject(claims.getSubject())
+                .userId(userId != null ? userId.intValue() : null)
+                .sessionId(claims.get("sid", String.class))
+                .roles(roles instanceof Collection<?> values
+                        ? values.stream().map(String::valueOf).toList()
+                        : List.of())
+                .roleMask(roleMask != null ? roleMask.longValue() : null)
+                .issuedAt(issuedAtMillis != null
+                        ? Instant.ofEpochMilli(issuedAtMillis.longValue())
+                        : claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)
+                .expiration(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null)
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.mediaflow.api.service;
+
+import com.mediaflow.api.dto.AuthResponse;
+import com.mediaflow.api.dto.LoguinReques;
+
+public interface LoginService {
+
+    AuthResponse login(LoguinReques request, String clientIp);
+
+    AuthResponse refresh(String refreshToken);
+}
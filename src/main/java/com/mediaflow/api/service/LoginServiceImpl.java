@@ -0,0 +1,169 @@
+package com.mediaflow.api.service;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.mediaflow.api.dto.AuthResponse;
+import com.mediaflow.api.dto.LoguinReques;
+import com.mediaflow.api.dto.UserAuth;
+import com.mediaflow.api.exception.ServiceOverloadedException;
+import com.mediaflow.api.repository.UserRepository;
+import com.mediaflow.api.security.AuthenticatedUser;
+import com.mediaflow.api.security.LoginThrottle;
+import com.mediaflow.api.security.RefreshTokenStore;
+import com.mediaflow.api.security.RoleCatalog;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Flujo de login en una sola pasada: una consulta (usuario, roles y perfil),
+ * una verificación BCrypt y el token se construye a partir de ese mismo snapshot.
+ * Los intentos pasan primero por {@link LoginThrottle}.
+ *
+ * El access token es de corta duración; junto a él se emite un refresh token rotativo
+ * ({@link RefreshTokenStore}) que permite renovarlo sin volver a verificar la contraseña.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoginServiceImpl implements LoginService {
+
+    private final UserRepository repository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenStore refreshTokenStore;
+    private final RoleCatalog roleCatalog;
+
+    // Hash de una contraseña aleatoria, con el algoritmo y costo vigentes; se calcula en el primer uso
+    private volatile String dummyHash;
+
+    @Override
+    public AuthResponse login(LoguinReques request, String clientIp) {
+        // Antes de cualquier consulta o hash
+        loginThrottle.acquire(request.getEmail(), clientIp);
+
+        UserAuth user = findForLogin(request.getEmail());
+        if (user == null) {
+            // Mismo error y mismo costo BCrypt que una contraseña incorrecta: no se revela qué emails existen
+            passwordEncoder.matches(request.getPassword(), dummyHash());
+            throw new IllegalArgumentException("Invalid credentials");
+        }
+
+        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+            throw new IllegalArgumentException("Invalid credentials");
+        }
+        loginThrottle.onSuccess(request.getEmail());
+        rehashIfNeeded(user, request.getPassword());
+
+        // ARRAY_AGG devuelve {NULL} cuando el usuario no tiene roles
+        String[] roles = user.getRoles() == null
+                ? new String[0]
+                : Arrays.stream(user.getRoles()).filter(Objects::nonNull).toArray(String[]::new);
+
+        // Los roles viajan como una sola máscara de bits ("rm") en lugar de una lista de nombres
+        long roleMask = roleCatalog.maskOf(Arrays.asList(roles));
+
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.issue(user.getId(), user.getEmail(), clientIp);
+        String jwtToken = jwtService.generateAccessToken(user.getId(), user.getEmail(), roleMask,
+                roleCatalog.namesWithoutBit(Arrays.asList(roles)), rotation.session().getSessionId());
+
+        return AuthResponse.builder()
+                .token(jwtToken)
+                .tokenType("Bearer")
+                .expiresIn(jwtService.getExpirationTime())
+                .refreshToken(rotation.refreshToken())
+                .refreshExpiresIn(refreshExpiresIn(rotation))
+                .userId(user.getId())
+                .userName(user.getUserName())
+                .email(user.getEmail())
+                .dateBirth(user.getDateBirth())
+                .roles(roles)
+                .profileId(user.getProfileId())
+                .displayName(user.getDisplayName())
+                .preferredLanguage(user.getPreferredLanguage())
+                .avatarUrl(user.getAvatarUrl())
+                .bio(user.getBio())
+                .build();
+    }
+
+    @Override
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(refreshToken);
+        RefreshTokenStore.Session session = rotation.session();
+
+        // Roles vigentes desde la caché de UserDetails: sin BCrypt y normalmente sin consulta
+        AuthenticatedUser user;
+        try {
+            user = (AuthenticatedUser) userDetailsService.loadUserByUsername(session.getEmail());
+        } catch (UsernameNotFoundException e) {
+            refreshTokenStore.revoke(session.getUserId(), session.getSessionId());
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        if (!user.getUserId().equals(session.getUserId())) {
+            refreshTokenStore.revoke(session.getUserId(), session.getSessionId());
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
+        String jwtToken = jwtService.generateAccessToken(user.getUserId(), user.getUsername(), user.getRoleMask(),
+                roleCatalog.namesWithoutBit(user.getRoles()), session.getSessionId());
+
+        return AuthResponse.builder()
+                .token(jwtToken)
+                .tokenType("Bearer")
+                .expiresIn(jwtService.getExpirationTime())
+                .refreshToken(rotation.refreshToken())
+                .refreshExpiresIn(refreshExpiresIn(rotation))
+                .userId(user.getUserId())
+                .email(user.getUsername())
+                .roles(user.getRoles().toArray(String[]::new))
+                .build();
+    }
+
+    /**
+     * Desde una réplica, salvo que el usuario haya cambiado hace instantes (la réplica podría tener
+     * el hash o los roles anteriores) o que la réplica todavía no lo tenga (registro reciente)
+     */
+    private UserAuth findForLogin(String email) {
+        if (userDetailsService.changedRecently(email)) {
+            return repository.findByEmailOnPrimary(email).orElse(null);
+        }
+        return repository.findByEmail(email)
+                .or(() -> repository.findByEmailOnPrimary(email))
+                .orElse(null);
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    private long refreshExpiresIn(RefreshTokenStore.Rotation rotation) {
+        return Math.max(0, rotation.session().getExpiresAt() - System.currentTimeMillis());
+    }
+
+    /**
+     * Re-hashea la contraseña si quedó por debajo del algoritmo o costo configurado.
+     * Solo es posible aquí, mientras se tiene la contraseña en claro.
+     */
+    private void rehashIfNeeded(UserAuth user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            repository.updatePasswordHash(user.getId(), passwordEncoder.encode(rawPassword));
+            userDetailsService.evict(user.getEmail());
+        } catch (ServiceOverloadedException e) {
+            // El login ya fue válido; se reintentará en el próximo
+        }
+    }
+}
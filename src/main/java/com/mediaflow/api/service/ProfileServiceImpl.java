@@ -16,22 +16,35 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ProfileServiceImpl implements ProfileService{
     private final ProfileRepository repository;
+    private final AuthenticationService authenticationService;
+    private final UserSummaryService userSummaryService;
 
     @Override
     public ProfileResponse update(Integer profileId, ProfileRequest req) {
         Profile existing = repository.findById(profileId)
                 .orElseThrow(() -> new EntityNotFoundException("Profile not found: " + profileId));
+
+        // Solo el propietario del perfil (o un admin) puede actualizarlo
+        authenticationService.validateAccess(existing.getUser().getUserId(),
+                "No tienes permiso para actualizar este perfil");
+
         ProfileMapper.copyToEntity(req, existing);
         Profile saved = repository.save(existing);
+        userSummaryService.evict(existing.getUser().getUserId());
         return ProfileMapper.toResponse(saved);
     }
 
     @Override
     public void delete(Integer profileId) {
-        if (!repository.existsById(profileId)) {
-            throw new EntityNotFoundException("Profile not found: " + profileId);
-        }
-        repository.deleteById(profileId);
+        Profile existing = repository.findById(profileId)
+                .orElseThrow(() -> new EntityNotFoundException("Profile not found: " + profileId));
+
+        // Solo el propietario del perfil (o un admin) puede eliminarlo
+        authenticationService.validateAccess(existing.getUser().getUserId(),
+                "No tienes permiso para eliminar este perfil");
+
+        repository.delete(existing);
+        userSummaryService.evict(existing.getUser().getUserId());
     }
 
     @Override
@@ -3,12 +3,15 @@ package com.mediaflow.api.service;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.mediaflow.api.dto.RoleRequest;
 import com.mediaflow.api.dto.RoleResponse;
 import com.mediaflow.api.mapper.RoleMapper;
 import com.mediaflow.api.model.Role;
 import com.mediaflow.api.repository.RoleRepository;
+import com.mediaflow.api.repository.UserRepository;
+import com.mediaflow.api.security.RoleCatalog;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +20,12 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class RoleServiceImpl implements RoleService{
     private final RoleRepository repository;
+    private final UserRepository userRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final RoleCatalog roleCatalog;
+
     @Override
+    @Transactional(readOnly = true)
     public List<RoleResponse> findAll() {
         return repository.findAll().stream()
                 .map(RoleMapper::toResponse)
@@ -25,6 +33,7 @@ public class RoleServiceImpl implements RoleService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RoleResponse findById(Integer roleId) {
         Role role = repository.findById(roleId)
                 .orElseThrow(() -> new EntityNotFoundException("Role not found: " + roleId));
@@ -34,6 +43,7 @@ public class RoleServiceImpl implements RoleService{
     @Override
     public RoleResponse create(RoleRequest req) {
         Role saved = repository.save(RoleMapper.toEntity(req));
+        roleCatalog.refresh();
         return RoleMapper.toResponse(saved);
     }
 
@@ -43,6 +53,10 @@ public class RoleServiceImpl implements RoleService{
                 .orElseThrow(() -> new EntityNotFoundException("Role not found: " + roleId));
         RoleMapper.copyToEntity(req, existing);
         Role saved = repository.save(existing);
+        roleCatalog.refresh();
+
+        // Invalidar solo a los usuarios que tienen este rol
+        userDetailsService.evictAll(userRepository.findEmailsByRoleId(roleId));
         return RoleMapper.toResponse(saved);
     }
 
@@ -51,7 +65,10 @@ public class RoleServiceImpl implements RoleService{
         if (!repository.existsById(roleId)) {
             throw new EntityNotFoundException("Role not found: " + roleId);
         }
+        List<String> affectedEmails = userRepository.findEmailsByRoleId(roleId);
         repository.deleteById(roleId);
+        roleCatalog.refresh();
+        userDetailsService.evictAll(affectedEmails);
     }
     
 }
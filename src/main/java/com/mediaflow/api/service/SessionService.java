@@ -0,0 +1,14 @@
+package com.mediaflow.api.service;
+
+import java.util.List;
+
+import com.mediaflow.api.dto.SessionResponse;
+
+public interface SessionService {
+
+    List<SessionResponse> findByUser(Integer userId, String currentSessionId);
+
+    void revoke(Integer userId, String sessionId);
+
+    void revokeAll(Integer userId);
+}
@@ -0,0 +1,54 @@
+package com.mediaflow.api.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.mediaflow.api.dto.SessionResponse;
+import com.mediaflow.api.security.RefreshTokenStore;
+import com.mediaflow.api.security.TokenRevocationService;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Sesiones activas de un usuario, leídas de {@link RefreshTokenStore} por userId;
+ * cerrar una sesión también revoca sus access tokens.
+ */
+@Service
+@RequiredArgsConstructor
+public class SessionServiceImpl implements SessionService {
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenRevocationService revocationService;
+
+    @Override
+    public List<SessionResponse> findByUser(Integer userId, String currentSessionId) {
+        return refreshTokenStore.findByUser(userId).stream()
+                .map(session -> SessionResponse.builder()
+                        .sessionId(session.getSessionId())
+                        .clientIp(session.getClientIp())
+                        .createdAt(Instant.ofEpochMilli(session.getCreatedAt()))
+                        .lastRefreshedAt(Instant.ofEpochMilli(session.getLastRefreshedAt()))
+                        .expiresAt(Instant.ofEpochMilli(session.getExpiresAt()))
+                        .current(session.getSessionId().equals(currentSessionId))
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public void revoke(Integer userId, String sessionId) {
+        if (!refreshTokenStore.revoke(userId, sessionId)) {
+            throw new EntityNotFoundException("Session not found: " + sessionId);
+        }
+        revocationService.revokeSession(sessionId);
+    }
+
+    @Override
+    public void revokeAll(Integer userId) {
+        refreshTokenStore.revokeAllForUser(userId);
+        // El corte por usuario cubre los access tokens de todas sus sesiones
+        revocationService.revokeAllForUser(userId);
+    }
+}
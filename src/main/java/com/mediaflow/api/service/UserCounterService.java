@@ -0,0 +1,31 @@
+package com.mediaflow.api.service;
+
+import com.mediaflow.api.dto.FollowCounts;
+import com.mediaflow.api.dto.UserCounterStats;
+
+public interface UserCounterService {
+
+    void recordFollow(Integer followerId, Integer followedId);
+
+    void recordUnfollow(Integer followerId, Integer followedId);
+
+    /**
+     * Descuenta las relaciones de una cuenta que se va a eliminar. Debe llamarse dentro de la
+     * transacción del borrado y antes de eliminar sus filas de subscriptions.
+     */
+    void removeAccount(Integer userId);
+
+    /**
+     * Contadores del usuario: la fila de user_counters más los deltas aún no aplicados
+     */
+    FollowCounts counts(Integer userId);
+
+    void flush();
+
+    /**
+     * Recalcula todos los contadores desde subscriptions; devuelve cuántas filas se corrigieron
+     */
+    long reconcile();
+
+    UserCounterStats stats();
+}
@@ -0,0 +1,237 @@
+package com.mediaflow.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mediaflow.api.dto.FollowCounts;
+import com.mediaflow.api.dto.UserCounterStats;
+import com.mediaflow.api.repository.UserCounterRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Contadores de seguidores/seguidos con escritura diferida.
+ *
+ * Seguir o dejar de seguir solo incrementa dos LongAdder en memoria (sin contención entre
+ * hilos ni escrituras extra en la base); un flusher periódico aplica los deltas acumulados de
+ * todos los usuarios con un único upsert. Leer un contador es una fila de user_counters por
+ * clave primaria más el delta pendiente de este nodo.
+ *
+ * Los deltas se pierden si el proceso muere antes del flush, y con varios nodos cada uno solo
+ * ve sus propios pendientes; la reconciliación periódica recalcula los valores exactos desde
+ * subscriptions y corrige esas diferencias.
+ */
+@Slf4j
+@Service
+public class UserCounterServiceImpl implements UserCounterService {
+
+    // Flushes seguidos sin cambios antes de liberar la entrada de un usuario (~1 min con el
+    // intervalo por defecto): cuanto más inactiva, menos probable que un incremento se cruce
+    private static final int IDLE_FLUSHES_BEFORE_EVICT = 60;
+
+    private final UserCounterRepository repository;
+    private final int reconcileBatchSize;
+    private final Map<Integer, Delta> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder reconciledRows = new LongAdder();
+    private volatile double lastFlushMillis;
+
+    public UserCounterServiceImpl(
+            UserCounterRepository repository,
+            @Value("${counters.reconcile-batch-size:10000}") int reconcileBatchSize) {
+        this.repository = repository;
+        this.reconcileBatchSize = reconcileBatchSize;
+    }
+
+    @Override
+    public void recordFollow(Integer followerId, Integer followedId) {
+        delta(followerId).following.increment();
+        delta(followedId).followers.increment();
+    }
+
+    @Override
+    public void recordUnfollow(Integer followerId, Integer followedId) {
+        delta(followerId).following.decrement();
+        delta(followedId).followers.decrement();
+    }
+
+    @Override
+    public void removeAccount(Integer userId) {
+        repository.removeRelationsOf(userId);
+        // Su propia fila se borra en cascada con el usuario
+        pending.remove(userId);
+    }
+
+    @Override
+    public FollowCounts counts(Integer userId) {
+        long[] stored = repository.findCounts(userId);
+        Delta delta = pending.get(userId);
+        long followers = stored[0] + (delta != null ? delta.unflushedFollowers() : 0);
+        long following = stored[1] + (delta != null ? delta.unflushedFollowing() : 0);
+        return FollowCounts.builder()
+                .userId(userId)
+                .followers(Math.max(followers, 0))
+                .following(Math.max(following, 0))
+                .build();
+    }
+
+    /**
+     * Aplica los deltas pendientes. Los contadores del LongAdder nunca se resetean: cada entrada
+     * recuerda cuánto ya se escribió, así los incrementos concurrentes con el flush no se pierden
+     * y entran en el siguiente.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${counters.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        long startedAt = System.nanoTime();
+        List<Map.Entry<Integer, Delta>> changed = new ArrayList<>();
+        List<Integer> userIds = new ArrayList<>();
+        List<Long> followers = new ArrayList<>();
+        List<Long> following = new ArrayList<>();
+
+        for (Map.Entry<Integer, Delta> entry : pending.entrySet()) {
+            Delta delta = entry.getValue();
+            long followersDelta = delta.unflushedFollowers();
+            long followingDelta = delta.unflushedFollowing();
+            if (followersDelta == 0 && followingDelta == 0) {
+                evictIfIdle(entry.getKey(), delta);
+                continue;
+            }
+            delta.idleFlushes = 0;
+            changed.add(entry);
+            userIds.add(entry.getKey());
+            followers.add(followersDelta);
+            following.add(followingDelta);
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            repository.applyDeltas(userIds, followers, following);
+        } catch (DataAccessException e) {
+            // Los deltas siguen pendientes y se reintentan en el próximo flush
+            failedFlushes.increment();
+            log.warn("Follow counter flush failed: {}", e.getMostSpecificCause().getMessage());
+            return;
+        }
+
+        for (int i = 0; i < changed.size(); i++) {
+            Delta delta = changed.get(i).getValue();
+            delta.flushedFollowers += followers.get(i);
+            delta.flushedFollowing += following.get(i);
+        }
+        flushes.increment();
+        flushedRows.add(userIds.size());
+        lastFlushMillis = (System.nanoTime() - startedAt) / 1e6;
+    }
+
+    /**
+     * Recorre los usuarios por rangos de id para no bloquear toda la tabla en una sola sentencia.
+     *
+     * Cada rango se escribe como conteo exacto menos los deltas pendientes de este nodo, leídos
+     * justo antes bajo el mismo lock que el flush: los follows que llegan mientras corre la
+     * reconciliación ya están en subscriptions y el flush siguiente no los cuenta dos veces.
+     * Los pendientes de otros nodos no se ven desde aquí (a lo sumo un intervalo de flush).
+     */
+    @Override
+    @Scheduled(cron = "${counters.reconcile-cron:0 30 3 * * *}")
+    public synchronized long reconcile() {
+        // Se aplican los pendientes antes para que lo descontado por rango sea poco
+        flush();
+        int maxUserId = repository.findMaxUserId();
+        long fixed = 0;
+        for (int from = 0; from < maxUserId; from += reconcileBatchSize) {
+            int to = Math.min(from + reconcileBatchSize, maxUserId);
+            List<Integer> userIds = new ArrayList<>();
+            List<Long> followers = new ArrayList<>();
+            List<Long> following = new ArrayList<>();
+            for (Map.Entry<Integer, Delta> entry : pending.entrySet()) {
+                int userId = entry.getKey();
+                Delta delta = entry.getValue();
+                long followersDelta = delta.unflushedFollowers();
+                long followingDelta = delta.unflushedFollowing();
+                if (userId > from && userId <= to && (followersDelta != 0 || followingDelta != 0)) {
+                    userIds.add(userId);
+                    followers.add(followersDelta);
+                    following.add(followingDelta);
+                }
+            }
+            fixed += repository.reconcileRange(from, to, userIds, followers, following);
+        }
+        reconciledRows.add(fixed);
+        log.info("Follow counters reconciled: {} rows corrected", fixed);
+        return fixed;
+    }
+
+    @Override
+    public UserCounterStats stats() {
+        return UserCounterStats.builder()
+                .pendingUsers(pending.size())
+                .flushes(flushes.sum())
+                .flushedRows(flushedRows.sum())
+                .failedFlushes(failedFlushes.sum())
+                .lastFlushMillis(lastFlushMillis)
+                .reconciledRows(reconciledRows.sum())
+                .build();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Delta delta(Integer userId) {
+        return pending.computeIfAbsent(userId, id -> new Delta());
+    }
+
+    /**
+     * Libera la entrada de un usuario inactivo. Si un incremento llegó justo antes de quitarla,
+     * se traslada a una entrada nueva; lo que pudiera escaparse en esa ventana lo corrige la
+     * reconciliación.
+     */
+    private void evictIfIdle(Integer userId, Delta delta) {
+        if (++delta.idleFlushes < IDLE_FLUSHES_BEFORE_EVICT || !pending.remove(userId, delta)) {
+            return;
+        }
+        long lateFollowers = delta.unflushedFollowers();
+        long lateFollowing = delta.unflushedFollowing();
+        if (lateFollowers != 0 || lateFollowing != 0) {
+            Delta replacement = delta(userId);
+            replacement.followers.add(lateFollowers);
+            replacement.following.add(lateFollowing);
+        }
+    }
+
+    /**
+     * Totales acumulados del nodo para un usuario y cuánto de eso ya está en la base.
+     * Los campos "flushed" e "idleFlushes" solo los toca el flusher (bajo synchronized).
+     */
+    private static final class Delta {
+        private final LongAdder followers = new LongAdder();
+        private final LongAdder following = new LongAdder();
+        private volatile long flushedFollowers;
+        private volatile long flushedFollowing;
+        private int idleFlushes;
+
+        private long unflushedFollowers() {
+            return followers.sum() - flushedFollowers;
+        }
+
+        private long unflushedFollowing() {
+            return following.sum() - flushedFollowing;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.mediaflow.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+public interface UserExportService {
+
+    /**
+     * Escribe un usuario por línea (NDJSON) en out; devuelve cuántos se exportaron.
+     * Antes de escribir la primera línea informa a onStart la hora de inicio según la base de datos.
+     */
+    long exportUsers(Instant updatedSince, Consumer<Instant> onStart, OutputStream out) throws IOException;
+}
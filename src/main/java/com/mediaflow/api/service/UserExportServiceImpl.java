@@ -0,0 +1,103 @@
+package com.mediaflow.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaflow.api.repository.UserExportRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cada fila del cursor se escribe directo al stream con el generador de Jackson, sin
+ * construir DTOs ni acumular usuarios: la memoria no depende del tamaño de la base.
+ * La forma de cada línea es la de UserResponse más "updatedAt".
+ *
+ * Corre en el primario, no en una réplica: con una réplica atrasada, las filas confirmadas
+ * poco antes del inicio no estarían en esta exportación ni en la siguiente incremental.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserExportServiceImpl implements UserExportService {
+
+    private final UserExportRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public long exportUsers(Instant updatedSince, Consumer<Instant> onStart, OutputStream out) throws IOException {
+        // Mismo reloj que updated_at (now() de la base), no el de esta instancia
+        onStart.accept(repository.databaseNow());
+        int flushEvery = repository.getFetchSize();
+        long[] exported = { 0 };
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Sin separador entre objetos raíz: cada uno termina con su propio salto de línea
+            generator.setRootValueSeparator(null);
+
+            repository.forEachUser(updatedSince, rs -> {
+                try {
+                    writeUser(generator, rs);
+                    if (++exported[0] % flushEvery == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    // El cliente cortó la descarga: se aborta la consulta
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+        }
+        return exported[0];
+    }
+
+    private static void writeUser(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("userId", rs.getInt("user_id"));
+        generator.writeStringField("name", rs.getString("name"));
+        generator.writeStringField("email", rs.getString("email"));
+        LocalDate dateBirth = rs.getObject("date_birth", LocalDate.class);
+        generator.writeStringField("dateBirth", dateBirth != null ? dateBirth.toString() : null);
+
+        generator.writeArrayFieldStart("roles");
+        Array roles = rs.getArray("roles");
+        if (roles != null) {
+            for (Object role : (Object[]) roles.getArray()) {
+                generator.writeString((String) role);
+            }
+            roles.free();
+        }
+        generator.writeEndArray();
+
+        int profileId = rs.getInt("profile_id");
+        if (rs.wasNull()) {
+            generator.writeNullField("profile");
+        } else {
+            generator.writeObjectFieldStart("profile");
+            generator.writeNumberField("profileId", profileId);
+            generator.writeStringField("displayName", rs.getString("display_name"));
+            generator.writeStringField("preferredLanguage", rs.getString("preferred_language"));
+            generator.writeStringField("avatarUrl", rs.getString("avatar_url"));
+            generator.writeStringField("bio", rs.getString("bio"));
+            generator.writeEndObject();
+        }
+
+        OffsetDateTime updatedAt = rs.getObject("updated_at", OffsetDateTime.class);
+        generator.writeStringField("updatedAt", updatedAt != null ? updatedAt.toInstant().toString() : null);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
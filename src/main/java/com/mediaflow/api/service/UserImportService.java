@@ -0,0 +1,23 @@
+package com.mediaflow.api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import com.mediaflow.api.dto.UserImportError;
+import com.mediaflow.api.dto.UserImportSummary;
+
+public interface UserImportService {
+
+    enum Format {
+        NDJSON,
+        CSV
+    }
+
+    /**
+     * Importa usuarios línea por línea; cada línea rechazada se entrega a errors apenas se
+     * conoce el motivo, sin acumular el reporte en memoria
+     */
+    UserImportSummary importUsers(InputStream input, Format format, Consumer<UserImportError> errors)
+            throws IOException;
+}
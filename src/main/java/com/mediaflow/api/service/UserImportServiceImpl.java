@@ -0,0 +1,249 @@
+package com.mediaflow.api.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaflow.api.dto.UserImportError;
+import com.mediaflow.api.dto.UserImportSummary;
+import com.mediaflow.api.dto.UserRequest;
+import com.mediaflow.api.mapper.ProfileMapper;
+import com.mediaflow.api.mapper.UserImportMapper;
+import com.mediaflow.api.mapper.UserMapper;
+import com.mediaflow.api.repository.UserImportRepository;
+import com.mediaflow.api.security.BoundedPasswordEncoder;
+import com.mediaflow.api.security.RoleCatalog;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importación masiva de usuarios con memoria constante: se lee la entrada en lotes,
+ * las contraseñas de cada lote se hashean en paralelo y el lote se escribe con una
+ * sentencia por tabla en su propia transacción.
+ *
+ * El hashing usa un pool propio con la mitad de los núcleos por defecto y CallerRunsPolicy:
+ * cuando la cola se llena el hilo de la importación hashea él mismo, lo que frena la lectura
+ * en lugar de rechazar líneas. No pasa por el pool acotado de los logins, que seguiría
+ * respondiendo 503 a usuarios reales mientras dura la importación.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Integer DEFAULT_ROLE_ID = 1; // VIEWER por defecto
+
+    private final UserImportRepository repository;
+    private final RoleCatalog roleCatalog;
+    private final PasswordEncoder hashingEncoder;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ThreadPoolExecutor hashingPool;
+
+    public UserImportServiceImpl(
+            UserImportRepository repository,
+            RoleCatalog roleCatalog,
+            PasswordEncoder passwordEncoder,
+            ObjectMapper objectMapper,
+            Validator validator,
+            TransactionTemplate transactionTemplate,
+            @Value("${users.import.batch-size:1000}") int batchSize,
+            @Value("${users.import.hashing-threads:0}") int hashingThreads) {
+        this.repository = repository;
+        this.roleCatalog = roleCatalog;
+        this.hashingEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.getDelegate()
+                : passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+
+        int threads = hashingThreads > 0
+                ? hashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.hashingPool = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public UserImportSummary importUsers(InputStream input, Format format, Consumer<UserImportError> errors)
+            throws IOException {
+        long startedAt = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        long lineNumber = 0;
+        String[] header = null;
+        if (format == Format.CSV) {
+            lineNumber++;
+            try {
+                header = UserImportMapper.parseCsvHeader(reader.readLine());
+            } catch (IllegalArgumentException e) {
+                // Sin encabezado válido no se puede interpretar ninguna línea
+                errors.accept(error(lineNumber, null, e.getMessage()));
+                return UserImportSummary.builder().build();
+            }
+        }
+
+        long processed = 0;
+        long imported = 0;
+        List<Pending> batch = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            processed++;
+
+            UserRequest request = null;
+            try {
+                request = format == Format.CSV
+                        ? UserImportMapper.fromCsv(header, line)
+                        : objectMapper.readValue(line, UserRequest.class);
+                validate(request);
+                List<Integer> roleIds = roleCatalog.registrationRoles(DEFAULT_ROLE_ID, request.getRoles()).stream()
+                        .map(RoleCatalog.Entry::roleId)
+                        .toList();
+                batch.add(new Pending(lineNumber, request, roleIds));
+            } catch (JsonProcessingException e) {
+                errors.accept(error(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage()));
+            } catch (RuntimeException e) {
+                errors.accept(error(lineNumber, request != null ? request.getEmail() : null, e.getMessage()));
+            }
+
+            if (batch.size() >= batchSize) {
+                imported += flush(batch, errors);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += flush(batch, errors);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        log.info("User import finished: {}/{} imported in {} ms", imported, processed, elapsedMillis);
+        return UserImportSummary.builder()
+                .processed(processed)
+                .imported(imported)
+                .failed(processed - imported)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    /**
+     * Hashea las contraseñas del lote en paralelo y lo inserta en una transacción.
+     * Devuelve cuántos usuarios se insertaron.
+     */
+    private int flush(List<Pending> batch, Consumer<UserImportError> errors) {
+        List<String> hashes;
+        try {
+            hashes = batch.stream()
+                    .map(pending -> CompletableFuture.supplyAsync(
+                            () -> hashingEncoder.encode(pending.request().getPassword()), hashingPool))
+                    .toList()
+                    .stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+        } catch (CompletionException e) {
+            batch.forEach(pending -> errors.accept(error(pending, "Password hashing failed: " + e.getCause().getMessage())));
+            return 0;
+        }
+
+        Set<Integer> inserted;
+        List<UserImportRepository.Row> rows = new ArrayList<>(batch.size());
+        try {
+            inserted = transactionTemplate.execute(status -> {
+                List<Integer> userIds = repository.allocateUserIds(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    rows.add(toRow(userIds.get(i), batch.get(i), hashes.get(i)));
+                }
+                return repository.insertBatch(rows, ProfileMapper.DEFAULT_AVATAR_URL, ProfileMapper.DEFAULT_BIO);
+            });
+        } catch (DataAccessException e) {
+            log.warn("User import batch failed: {}", e.getMostSpecificCause().getMessage());
+            batch.forEach(pending -> errors.accept(error(pending, "Batch failed: " + e.getMostSpecificCause().getMessage())));
+            return 0;
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (!inserted.contains(rows.get(i).userId())) {
+                errors.accept(error(batch.get(i), "Email already registered"));
+            }
+        }
+        return inserted.size();
+    }
+
+    private void validate(UserRequest request) {
+        Set<ConstraintViolation<UserRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static UserImportRepository.Row toRow(Integer userId, Pending pending, String passwordHash) {
+        UserRequest request = pending.request();
+        String language = (request.getPreferredLanguage() != null && !request.getPreferredLanguage().isBlank())
+                ? request.getPreferredLanguage()
+                : ProfileMapper.DEFAULT_LANGUAGE;
+        return new UserImportRepository.Row(userId, request.getName(), UserMapper.normalizeEmail(request.getEmail()),
+                passwordHash, request.getDateBirth(), language, pending.roleIds());
+    }
+
+    private static UserImportError error(Pending pending, String message) {
+        return error(pending.line(), pending.request().getEmail(), message);
+    }
+
+    private static UserImportError error(long line, String email, String message) {
+        return UserImportError.builder()
+                .line(line)
+                .email(email)
+                .error(message)
+                .build();
+    }
+
+    private record Pending(long line, UserRequest request, List<Integer> roleIds) {
+    }
+}
@@ -1,6 +1,5 @@
 package com.mediaflow.api.service;
 
-import com.mediaflow.api.dto.UserAuth;
 import com.mediaflow.api.dto.UserRequest;
 import com.mediaflow.api.dto.UserResponse;
 
@@ -16,6 +15,4 @@ public interface UserService {
 
     void delete(Integer userId);
 
-    UserAuth login(String email, String password);
-
 }
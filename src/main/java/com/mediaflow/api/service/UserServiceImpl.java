@@ -1,25 +1,29 @@
 package com.mediaflow.api.service;
 
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import com.mediaflow.api.dto.UserAuth;
 import com.mediaflow.api.dto.UserRequest;
 import com.mediaflow.api.dto.UserResponse;
+import com.mediaflow.api.graph.SocialGraphIndex;
+import com.mediaflow.api.mapper.ProfileMapper;
 import com.mediaflow.api.mapper.UserMapper;
 import com.mediaflow.api.model.Profile;
 import com.mediaflow.api.model.Role;
 import com.mediaflow.api.model.User;
+import com.mediaflow.api.repository.FollowRepository;
 import com.mediaflow.api.repository.ProfileRepository;
-import com.mediaflow.api.repository.RoleRepository;
 import com.mediaflow.api.repository.UserRepository;
+import com.mediaflow.api.security.RoleCatalog;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -29,25 +33,34 @@ import lombok.RequiredArgsConstructor;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository repository;
-    private final RoleRepository repositoryRole;
+    private final RoleCatalog roleCatalog;
     private final PasswordEncoder passwordEncoder;
     private final ProfileRepository profileRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final SessionService sessionService;
+    private final FollowRepository followRepository;
+    private final UserCounterService userCounterService;
+    private final SocialGraphIndex socialGraphIndex;
+    private final FollowSuggestionService followSuggestionService;
+    private final UserSummaryService userSummaryService;
 
-    private static final List<String> RESTRICTED_ROLES = List.of("ADMIN", "MODERATOR");
     private static final Integer DEFAULT_ROLE_ID = 1; // VIEWER por defecto
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponse findById(Integer userId) {
-        User user = repository.findById(userId)
+        // Una sola consulta: usuario, roles y perfil
+        return repository.findViewById(userId)
+                .map(UserMapper::toResponse)
                 .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
-        return UserMapper.toResponse(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponse findByEmail(String email) {
-        User user = repository.findByEmailForAuth(email)
+        return repository.findViewByEmail(email)
+                .map(UserMapper::toResponse)
                 .orElseThrow(() -> new EntityNotFoundException("User not found: " + email));
-        return UserMapper.toResponse(user);
     }
 
     @Override
@@ -55,41 +68,11 @@ public class UserServiceImpl implements UserService {
         User user = UserMapper.toEntity(req);
         user.setPassword(passwordEncoder.encode(req.getPassword()));
 
-        // ASIGNACIÓN SEGURA DE ROLES EN EL REGISTRO
-        List<Role> roles = new ArrayList<>();
-
-        // Siempre agregar el rol por defecto (VIEWER)
-        Role defaultRole = repositoryRole.findById(DEFAULT_ROLE_ID)
-                .orElseThrow(() -> new EntityNotFoundException("Default role not found"));
-        roles.add(defaultRole);
-
-        // Si se proporcionan roles adicionales, validarlos
-        if (req.getRoles() != null && !req.getRoles().isEmpty()) {
-            for (Integer roleId : req.getRoles()) {
-                // Saltar el rol por defecto (ya está agregado)
-                if (roleId.equals(DEFAULT_ROLE_ID)) {
-                    continue;
-                }
-
-                // Buscar el rol
-                Role role = repositoryRole.findById(roleId)
-                        .orElseThrow(() -> new EntityNotFoundException("Role not found: " + roleId));
-
-                // BLOQUEAR ROLES RESTRINGIDOS
-                if (RESTRICTED_ROLES.contains(role.getName().toUpperCase())) {
-                    throw new IllegalArgumentException(
-                            "Cannot assign restricted role: " + role.getName() +
-                                    ". This role can only be assigned by an administrator.");
-                }
-
-                roles.add(role);
-            }
-        }
-
-        // Eliminar duplicados
-        Map<Integer, Role> rolesMap = roles.stream()
-                .collect(Collectors.toMap(Role::getRoleId, r -> r, (r1, r2) -> r1));
-        user.setRoles(new ArrayList<>(rolesMap.values()));
+        // ASIGNACIÓN SEGURA DE ROLES EN EL REGISTRO (desde el catálogo, sin consultas):
+        // VIEWER siempre, y los roles restringidos quedan bloqueados
+        user.setRoles(roleCatalog.registrationRoles(DEFAULT_ROLE_ID, req.getRoles()).stream()
+                .map(RoleCatalog.Entry::toRole)
+                .collect(Collectors.toCollection(ArrayList::new)));
 
         // Guardar el usuario
         User savedUser = repository.save(user);
@@ -97,14 +80,13 @@ public class UserServiceImpl implements UserService {
         // Crear el perfil predeterminado
         String language = (req.getPreferredLanguage() != null && !req.getPreferredLanguage().isBlank())
                 ? req.getPreferredLanguage()
-                : "es";
+                : ProfileMapper.DEFAULT_LANGUAGE;
 
         Profile profile = Profile.builder()
                 .displayName(savedUser.getName())
                 .preferredLanguage(language)
-                .avatarUrl(
-                        "https://media.istockphoto.com/id/1495088043/es/vector/icono-de-perfil-de-usuario-avatar-o-icono-de-persona-foto-de-perfil-s%C3%ADmbolo-de-retrato.jpg?s=612x612&w=0&k=20&c=mY3gnj2lU7khgLhV6dQBNqomEGj3ayWH-xtpYuCXrzk=")
-                .bio("Nuevo usuario registrado.")
+                .avatarUrl(ProfileMapper.DEFAULT_AVATAR_URL)
+                .bio(ProfileMapper.DEFAULT_BIO)
                 .user(savedUser)
                 .build();
 
@@ -118,47 +100,50 @@ public class UserServiceImpl implements UserService {
     public UserResponse update(Integer userId, UserRequest req) {
         User existing = repository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
+        String previousEmail = existing.getEmail();
 
         UserMapper.copyToEntity(req, existing);
 
-        if (req.getPassword() != null && !req.getPassword().isBlank()) {
+        boolean passwordChanged = req.getPassword() != null && !req.getPassword().isBlank()
+                && !passwordEncoder.matches(req.getPassword(), existing.getPassword());
+        if (passwordChanged) {
             existing.setPassword(passwordEncoder.encode(req.getPassword()));
         }
 
-        Set<Role> roles = new HashSet<>();
+        Map<Integer, Role> roles = new LinkedHashMap<>();
 
         // Siempre mantener el rol por defecto
-        Role defaultRole = repositoryRole.findById(DEFAULT_ROLE_ID)
-                .orElseThrow(() -> new EntityNotFoundException("Default role not found"));
-        roles.add(defaultRole);
+        roles.put(DEFAULT_ROLE_ID, defaultRole().toRole());
 
         if (req.getRoles() != null && !req.getRoles().isEmpty()) {
+            // Nombres vigentes en la base: el flag restringido no sale de un snapshot posiblemente viejo
+            Map<Integer, RoleCatalog.Entry> current = roleCatalog.findCurrentByIds(req.getRoles());
             for (Integer roleId : req.getRoles()) {
-                if (roleId.equals(DEFAULT_ROLE_ID)) {
+                if (roles.containsKey(roleId)) {
                     continue;
                 }
 
-                Role role = repositoryRole.findById(roleId)
+                RoleCatalog.Entry role = Optional.ofNullable(current.get(roleId))
                         .orElseThrow(() -> new EntityNotFoundException("Role not found: " + roleId));
 
                 // PROTEGER CONTRA ASIGNACIÓN NO AUTORIZADA DE ROLES RESTRINGIDOS
-                if (RESTRICTED_ROLES.contains(role.getName().toUpperCase())) {
+                if (role.restricted()) {
                     // Verificar si el usuario YA TIENE ese rol (puede mantenerlo)
                     boolean userAlreadyHasRole = existing.getRoles().stream()
                             .anyMatch(r -> r.getRoleId().equals(roleId));
 
                     if (!userAlreadyHasRole) {
                         throw new IllegalArgumentException(
-                                "Cannot assign restricted role: " + role.getName() +
+                                "Cannot assign restricted role: " + role.name() +
                                         ". This role can only be assigned by an administrator.");
                     }
                 }
 
-                roles.add(role);
+                roles.put(roleId, role.toRole());
             }
         }
 
-        existing.setRoles(new ArrayList<>(roles));
+        existing.setRoles(new ArrayList<>(roles.values()));
 
         // Actualizar idioma del perfil
         if (req.getPreferredLanguage() != null && !req.getPreferredLanguage().isBlank()) {
@@ -169,25 +154,57 @@ public class UserServiceImpl implements UserService {
         }
 
         User saved = repository.save(existing);
+
+        // Las credenciales o los roles pudieron cambiar
+        userDetailsService.evict(previousEmail);
+        userDetailsService.evict(saved.getEmail());
+        userSummaryService.evict(userId);
+        if (passwordChanged || !previousEmail.equals(saved.getEmail())) {
+            // Cambiaron las credenciales: se cierran las sesiones y sus tokens
+            sessionService.revokeAll(userId);
+        }
+
         return UserMapper.toResponse(saved);
     }
 
     @Override
+    @Transactional
     public void delete(Integer userId) {
-        if (!repository.existsById(userId)) {
-            throw new EntityNotFoundException("User not found: " + userId);
-        }
-        repository.deleteById(userId);
+        User existing = repository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
+        // Los seguidores (followed_id) no los borra JPA: solo es dueño del lado follower_id.
+        // Antes se descuentan esas relaciones de los contadores de los demás usuarios.
+        userCounterService.removeAccount(userId);
+        followRepository.deleteAllByUser(userId);
+        repository.delete(existing);
+
+        // Índices en memoria, cachés y sesiones recién después del commit: si el borrado hace
+        // rollback no quedan desalineados, y una lectura concurrente no vuelve a cachear al usuario
+        String email = existing.getEmail();
+        afterCommit(() -> {
+            socialGraphIndex.removeUser(userId);
+            followSuggestionService.removeUser(userId);
+            userSummaryService.evict(userId);
+            userDetailsService.evict(email);
+            sessionService.revokeAll(userId);
+        });
     }
 
-    @Override
-    public UserAuth login(String email, String password) {
-        UserAuth user = repository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("Invalid credentials"));
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
-            throw new IllegalArgumentException("Invalid credentials");
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
-        return user;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
+    private RoleCatalog.Entry defaultRole() {
+        return roleCatalog.findById(DEFAULT_ROLE_ID)
+                .orElseThrow(() -> new EntityNotFoundException("Default role not found"));
+    }
 }
@@ -0,0 +1,24 @@
+package com.mediaflow.api.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.mediaflow.api.cache.CacheStats;
+import com.mediaflow.api.dto.UserSummary;
+
+public interface UserSummaryService {
+
+    /**
+     * Resúmenes en el orden pedido, sin repetidos; los ids inexistentes se omiten.
+     * Más de {@code UserSummaryServiceImpl.MAX_IDS} ids es un BadRequestException
+     */
+    List<UserSummary> findSummaries(Collection<Integer> userIds);
+
+    /**
+     * Descarta el resumen en caché tras cambiar el nombre, avatar o roles del usuario.
+     * Dentro de una transacción se vuelve a descartar después del commit
+     */
+    void evict(Integer userId);
+
+    CacheStats stats();
+}
@@ -0,0 +1,101 @@
+package com.mediaflow.api.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mediaflow.api.cache.CacheStats;
+import com.mediaflow.api.cache.ExpiringCache;
+import com.mediaflow.api.dto.UserSummary;
+import com.mediaflow.api.exception.BadRequestException;
+import com.mediaflow.api.repository.UserSummaryRepository;
+
+/**
+ * Caché read-through de resúmenes: los ids que faltan se cargan todos juntos con una
+ * única consulta, así un feed con decenas de autores cuesta a lo sumo un viaje a la base.
+ *
+ * Lo cargado solo se guarda si ninguna invalidación se cruzó con la consulta, y las
+ * invalidaciones hechas dentro de una transacción se repiten después del commit.
+ */
+@Service
+public class UserSummaryServiceImpl implements UserSummaryService {
+
+    public static final int MAX_IDS = 500;
+
+    private final UserSummaryRepository repository;
+    private final ExpiringCache<Integer, UserSummary> cache;
+
+    public UserSummaryServiceImpl(
+            UserSummaryRepository repository,
+            @Value("${users.summaries.cache.max-size:100000}") int maxSize,
+            @Value("${users.summaries.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.repository = repository;
+        this.cache = new ExpiringCache<>("userSummaries", maxSize, ttlSeconds * 1000);
+    }
+
+    @Override
+    public List<UserSummary> findSummaries(Collection<Integer> userIds) {
+        if (userIds.size() > MAX_IDS) {
+            throw new BadRequestException("At most " + MAX_IDS + " user ids per request");
+        }
+        Set<Integer> requested = new LinkedHashSet<>(userIds);
+        Map<Integer, UserSummary> found = new HashMap<>(requested.size() * 2);
+        Map<Integer, Long> misses = new LinkedHashMap<>();
+        for (Integer userId : requested) {
+            UserSummary cached = cache.get(userId);
+            if (cached != null) {
+                found.put(userId, cached);
+            } else {
+                // Generación tomada antes de leer: si se invalida durante la consulta, no se guarda
+                misses.put(userId, cache.generation(userId));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (UserSummary summary : repository.findByIds(misses.keySet())) {
+                Integer userId = summary.getUserId();
+                cache.putIfNotInvalidated(userId, summary, Long.MAX_VALUE, misses.get(userId));
+                found.put(userId, summary);
+            }
+        }
+
+        List<UserSummary> result = new ArrayList<>(found.size());
+        for (Integer userId : requested) {
+            UserSummary summary = found.get(userId);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void evict(Integer userId) {
+        // Ya, para que una carga en curso no guarde el valor anterior, y otra vez tras el commit:
+        // hasta entonces una lectura todavía ve la fila sin el cambio
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
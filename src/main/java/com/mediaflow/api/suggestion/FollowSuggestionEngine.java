@@ -0,0 +1,173 @@
+package com.mediaflow.api.suggestion;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.mediaflow.api.graph.IntRange;
+import com.mediaflow.api.graph.SocialGraph;
+
+/**
+ * Sugerencias "a quién seguir" por amigos de amigos: cada candidato suma un punto por cada
+ * seguido del usuario que ya lo sigue, ponderado por overlapWeight, más languageBonus si
+ * comparte idioma preferido. Se excluyen el propio usuario y quienes ya sigue.
+ *
+ * El recorrido de segundo grado se reparte en un ForkJoinPool por tramos de seguidos con
+ * trabajo parecido (aristas a recorrer); cada tarea acumula en su propio {@link IntScoreMap}
+ * y los mapas se combinan al unir las tareas. Los top-K salen de un heap acotado.
+ *
+ * Las cuentas con muchísimos seguidos (bots, agregadores) se muestrean: de cada seguido se
+ * recorren a lo sumo maxFanout vecinos repartidos a lo largo de su lista.
+ */
+public final class FollowSuggestionEngine {
+
+    private final ForkJoinPool pool;
+    private final int maxFanout;
+    private final int splitThreshold;
+    private final int overlapWeight;
+    private final int languageBonus;
+
+    public FollowSuggestionEngine(ForkJoinPool pool, int maxFanout, int splitThreshold, int overlapWeight,
+            int languageBonus) {
+        this.pool = pool;
+        this.maxFanout = maxFanout;
+        this.splitThreshold = splitThreshold;
+        this.overlapWeight = overlapWeight;
+        this.languageBonus = languageBonus;
+    }
+
+    /**
+     * Calcula los mejores limit candidatos para user. Si se alcanza deadlineNanos (según
+     * System.nanoTime) se devuelve lo acumulado hasta ese momento, marcado como parcial.
+     */
+    public Result rank(SocialGraph graph, UserLanguages languages, int user, int limit, long deadlineNanos) {
+        int[] friends = graph.following(user).toArray();
+        if (friends.length == 0) {
+            return new Result(Ranking.EMPTY, false);
+        }
+
+        // cost[i] = aristas a recorrer por los seguidos friends[0..i)
+        long[] cost = new long[friends.length + 1];
+        for (int i = 0; i < friends.length; i++) {
+            cost[i + 1] = cost[i] + Math.min(graph.followingCount(friends[i]), maxFanout);
+        }
+
+        OverlapTask task = new OverlapTask(graph, user, friends, cost, 0, friends.length, deadlineNanos);
+        // Los usuarios con poco trabajo se resuelven en el hilo de la petición, sin pasar por el pool
+        IntScoreMap overlaps = cost[friends.length] <= splitThreshold ? task.compute() : pool.invoke(task);
+        return new Result(select(languages, user, friends, overlaps, limit), task.expired());
+    }
+
+    /**
+     * Actualiza un ranking ya calculado cuando user empieza a seguir a followed, sin recorrer
+     * otra vez todo el segundo grado: followed sale de los candidatos y sus seguidos suman un
+     * punto de solapamiento. Los candidatos que no estaban en el ranking entran con el
+     * solapamiento que aporta followed (cota inferior: el resto se recupera al expirar la caché).
+     */
+    public Ranking applyFollow(SocialGraph graph, UserLanguages languages, int user, int followed, Ranking ranking,
+            int limit) {
+        int[] friends = graph.following(user).toArray();
+        IntRange next = graph.following(followed);
+        IntScoreMap overlaps = new IntScoreMap(ranking.size() + Math.min(next.size(), maxFanout));
+        for (int i = 0; i < ranking.size(); i++) {
+            overlaps.add(ranking.ids()[i], ranking.overlaps()[i]);
+        }
+        accumulate(next, user, overlaps);
+        return select(languages, user, friends, overlaps, limit);
+    }
+
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    private Ranking select(UserLanguages languages, int user, int[] friends, IntScoreMap overlaps, int limit) {
+        int language = languages.languageOf(user);
+        TopScores top = new TopScores(Math.min(limit, overlaps.size()));
+        overlaps.forEach((candidate, overlap) -> {
+            if (candidate != user && Arrays.binarySearch(friends, candidate) < 0) {
+                int score = overlap * overlapWeight + (languages.same(language, candidate) ? languageBonus : 0);
+                top.offer(candidate, score, overlap);
+            }
+        });
+        return top.drain();
+    }
+
+    private void accumulate(IntRange neighbors, int user, IntScoreMap overlaps) {
+        int degree = neighbors.size();
+        int take = Math.min(degree, maxFanout);
+        for (int j = 0; j < take; j++) {
+            int candidate = neighbors.get(take == degree ? j : (int) ((long) j * degree / take));
+            if (candidate != user) {
+                overlaps.add(candidate, 1);
+            }
+        }
+    }
+
+    public record Result(Ranking ranking, boolean partial) {
+    }
+
+    private final class OverlapTask extends RecursiveTask<IntScoreMap> {
+
+        private final SocialGraph graph;
+        private final int user;
+        private final int[] friends;
+        private final long[] cost;
+        private final int from;
+        private final int to;
+        private final long deadlineNanos;
+        private volatile boolean expired;
+        private OverlapTask left;
+        private OverlapTask right;
+
+        OverlapTask(SocialGraph graph, int user, int[] friends, long[] cost, int from, int to, long deadlineNanos) {
+            this.graph = graph;
+            this.user = user;
+            this.friends = friends;
+            this.cost = cost;
+            this.from = from;
+            this.to = to;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        protected IntScoreMap compute() {
+            if (to - from > 1 && cost[to] - cost[from] > splitThreshold) {
+                int mid = splitPoint();
+                left = new OverlapTask(graph, user, friends, cost, from, mid, deadlineNanos);
+                right = new OverlapTask(graph, user, friends, cost, mid, to, deadlineNanos);
+                left.fork();
+                IntScoreMap rightScores = right.compute();
+                IntScoreMap leftScores = left.join();
+                // Se vuelca el mapa chico sobre el grande
+                if (leftScores.size() < rightScores.size()) {
+                    rightScores.addAll(leftScores);
+                    return rightScores;
+                }
+                leftScores.addAll(rightScores);
+                return leftScores;
+            }
+
+            IntScoreMap scores = new IntScoreMap((int) Math.min(cost[to] - cost[from], 1 << 16));
+            for (int i = from; i < to; i++) {
+                if (System.nanoTime() - deadlineNanos > 0) {
+                    expired = true;
+                    break;
+                }
+                accumulate(graph.following(friends[i]), user, scores);
+            }
+            return scores;
+        }
+
+        boolean expired() {
+            return expired || left != null && (left.expired() || right.expired());
+        }
+
+        // Índice que deja a cada lado la mitad del trabajo (y al menos un seguido)
+        private int splitPoint() {
+            long half = (cost[from] + cost[to]) / 2;
+            int index = Arrays.binarySearch(cost, from, to + 1, half);
+            int mid = index >= 0 ? index : -index - 1;
+            return Math.max(from + 1, Math.min(to - 1, mid));
+        }
+    }
+}
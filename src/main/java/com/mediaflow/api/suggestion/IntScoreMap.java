@@ -0,0 +1,100 @@
+package com.mediaflow.api.suggestion;
+
+import java.util.Arrays;
+
+/**
+ * Mapa int -> int con direccionamiento abierto (sondeo lineal) sobre dos arreglos.
+ * Acumula puntajes sin crear un Integer por candidato; no es thread-safe, cada worker
+ * usa el suyo y al final se combinan con {@link #addAll}.
+ */
+public final class IntScoreMap {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+    private int shift;
+
+    public IntScoreMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    public void add(int key, int delta) {
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            values[slot] = delta;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+        } else {
+            values[slot] += delta;
+        }
+    }
+
+    /**
+     * Puntaje de key, o 0 si no está
+     */
+    public int get(int key) {
+        int slot = slot(key);
+        return keys[slot] == EMPTY ? 0 : values[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void addAll(IntScoreMap other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != EMPTY) {
+                add(other.keys[i], other.values[i]);
+            }
+        }
+    }
+
+    public void forEach(Entry consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int slot(int key) {
+        // Mezcla de Fibonacci: los ids consecutivos no caen en slots consecutivos
+        int slot = key * 0x9E3779B9 >>> shift;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    @FunctionalInterface
+    public interface Entry {
+        void accept(int key, int value);
+    }
+}
@@ -0,0 +1,74 @@
+package com.mediaflow.api.suggestion;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias en microsegundos con buckets log-lineales: cuatro por cada
+ * potencia de 2, así los percentiles tienen un error menor al 25% con 256 contadores fijos.
+ * Registrar es lock-free.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(index(micros));
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Percentil (0..1) en milisegundos: límite superior del bucket que lo contiene
+     */
+    public double percentileMillis(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0.0;
+        }
+        long target = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBound(i), max.get()) / 1000.0;
+            }
+        }
+        return max.get() / 1000.0;
+    }
+
+    public double maxMillis() {
+        return max.get() / 1000.0;
+    }
+
+    private static int index(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (msb - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return ((msb - SUB_BITS + 1) << SUB_BITS) + sub;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int msb = (index >> SUB_BITS) + SUB_BITS - 1;
+        int sub = index & (SUB_BUCKETS - 1);
+        long width = 1L << (msb - SUB_BITS);
+        return ((long) (SUB_BUCKETS + sub) << (msb - SUB_BITS)) + width - 1;
+    }
+}
@@ -0,0 +1,14 @@
+package com.mediaflow.api.suggestion;
+
+/**
+ * Candidatos ordenados de mejor a peor: id, puntaje y cuántos de los seguidos del usuario
+ * ya siguen a cada candidato
+ */
+public record Ranking(int[] ids, int[] scores, int[] overlaps) {
+
+    public static final Ranking EMPTY = new Ranking(new int[0], new int[0], new int[0]);
+
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,102 @@
+package com.mediaflow.api.suggestion;
+
+/**
+ * Los k candidatos de mayor puntaje, con un min-heap acotado sobre arreglos de int:
+ * O(n log k) y memoria fija aunque haya millones de candidatos. A igual puntaje gana
+ * el id menor, para que el resultado sea determinístico.
+ */
+public final class TopScores {
+
+    private final int[] ids;
+    private final int[] scores;
+    private final int[] overlaps;
+    private int size;
+
+    public TopScores(int capacity) {
+        this.ids = new int[capacity];
+        this.scores = new int[capacity];
+        this.overlaps = new int[capacity];
+    }
+
+    public void offer(int id, int score, int overlap) {
+        if (ids.length == 0) {
+            return;
+        }
+        if (size < ids.length) {
+            set(size, id, score, overlap);
+            siftUp(size++);
+        } else if (better(id, score, ids[0], scores[0])) {
+            set(0, id, score, overlap);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Vacía el heap y devuelve los candidatos de mejor a peor
+     */
+    public Ranking drain() {
+        int count = size;
+        int[] rankedIds = new int[count];
+        int[] rankedScores = new int[count];
+        int[] rankedOverlaps = new int[count];
+        for (int i = count - 1; i >= 0; i--) {
+            rankedIds[i] = ids[0];
+            rankedScores[i] = scores[0];
+            rankedOverlaps[i] = overlaps[0];
+            size--;
+            if (size > 0) {
+                set(0, ids[size], scores[size], overlaps[size]);
+                siftDown(0);
+            }
+        }
+        return new Ranking(rankedIds, rankedScores, rankedOverlaps);
+    }
+
+    private static boolean better(int id, int score, int otherId, int otherScore) {
+        return score > otherScore || score == otherScore && id < otherId;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(ids[parent], scores[parent], ids[index], scores[index])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int worst = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && better(ids[worst], scores[worst], ids[left], scores[left])) {
+                worst = left;
+            }
+            if (right < size && better(ids[worst], scores[worst], ids[right], scores[right])) {
+                worst = right;
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void set(int index, int id, int score, int overlap) {
+        ids[index] = id;
+        scores[index] = score;
+        overlaps[index] = overlap;
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        int score = scores[a];
+        int overlap = overlaps[a];
+        set(a, ids[b], scores[b], overlaps[b]);
+        set(b, id, score, overlap);
+    }
+}
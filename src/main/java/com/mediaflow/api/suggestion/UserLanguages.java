@@ -0,0 +1,83 @@
+package com.mediaflow.api.suggestion;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Idioma preferido de cada usuario como un short por id (índice en un diccionario de
+ * idiomas), para comparar idiomas de millones de candidatos sin tocar la base ni Strings.
+ * El código 0 significa "sin perfil". Inmutable una vez construido.
+ */
+public final class UserLanguages {
+
+    private static final UserLanguages EMPTY = new UserLanguages(new short[0], new String[] { null });
+
+    private final short[] codes;
+    private final String[] names;
+
+    private UserLanguages(short[] codes, String[] names) {
+        this.codes = codes;
+        this.names = names;
+    }
+
+    public static UserLanguages empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int languageOf(int user) {
+        return user >= 0 && user < codes.length ? codes[user] : 0;
+    }
+
+    public String nameOf(int code) {
+        return code > 0 && code < names.length ? names[code] : null;
+    }
+
+    public boolean same(int code, int user) {
+        return code != 0 && code == languageOf(user);
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    public int languages() {
+        return names.length - 1;
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Short> dictionary = new HashMap<>();
+        private short[] codes = new short[1024];
+        private int maxUser = -1;
+
+        public Builder add(int user, String language) {
+            if (user < 0 || language == null) {
+                return this;
+            }
+            if (user >= codes.length) {
+                codes = Arrays.copyOf(codes, Math.max(user + 1, codes.length * 2));
+            }
+            // Los idiomas son pocos: más de Short.MAX_VALUE distintos quedan como "sin idioma"
+            Short code = dictionary.computeIfAbsent(language.toLowerCase(),
+                    key -> dictionary.size() < Short.MAX_VALUE ? (short) (dictionary.size() + 1) : 0);
+            codes[user] = code;
+            maxUser = Math.max(maxUser, user);
+            return this;
+        }
+
+        public UserLanguages build() {
+            String[] names = new String[dictionary.size() + 1];
+            dictionary.forEach((name, code) -> {
+                if (code > 0) {
+                    names[code] = name;
+                }
+            });
+            return new UserLanguages(Arrays.copyOf(codes, maxUser + 1), names);
+        }
+    }
+}
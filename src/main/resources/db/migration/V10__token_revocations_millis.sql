@@ -0,0 +1,9 @@
+-- issued_before de las revocaciones por usuario ('u') pasa de segundos a milisegundos, la
+-- precisión del claim "iatms": un token emitido en el mismo segundo pero después de la
+-- revocación (re-login tras cambiar la contraseña) ya no queda revocado.
+UPDATE token_revocations
+SET issued_before = issued_before * 1000
+WHERE kind = 'u' AND issued_before < 100000000000;
+
+COMMENT ON COLUMN token_revocations.issued_before IS
+    'Solo kind = u: se revocan los tokens con iatms (milisegundos desde epoch) <= issued_before';
@@ -0,0 +1,34 @@
+-- Esquema base, equivalente al que generaba ddl-auto=update.
+-- IF NOT EXISTS permite aplicarlo sobre bases de datos ya existentes.
+
+CREATE TABLE IF NOT EXISTS roles (
+    role_id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(30) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(70) NOT NULL,
+    email VARCHAR(70) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    date_birth DATE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS users_roles (
+    user_id INTEGER NOT NULL REFERENCES users (user_id),
+    role_id INTEGER NOT NULL REFERENCES roles (role_id)
+);
+
+CREATE TABLE IF NOT EXISTS profiles (
+    profile_id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    display_name VARCHAR(30) NOT NULL,
+    preferred_language VARCHAR(30) NOT NULL,
+    avatar_url TEXT NOT NULL,
+    bio TEXT NOT NULL,
+    user_id INTEGER NOT NULL UNIQUE REFERENCES users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS subscriptions (
+    follower_id INTEGER NOT NULL REFERENCES users (user_id),
+    followed_id INTEGER NOT NULL REFERENCES users (user_id)
+);
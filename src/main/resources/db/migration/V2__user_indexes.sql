@@ -0,0 +1,60 @@
+-- Emails que solo difieren en mayúsculas o espacios (Foo@x y foo@x) chocarían con el índice
+-- único de abajo. No se fusionan cuentas automáticamente: la migración se detiene listando
+-- cada grupo con sus user_id para resolverlos a mano antes de volver a arrancar.
+DO $$
+DECLARE
+    collisions INTEGER;
+    details TEXT;
+BEGIN
+    SELECT count(*), string_agg(format('%s -> %s', normalized, accounts), E'\n' ORDER BY normalized)
+    INTO collisions, details
+    FROM (
+        SELECT lower(trim(email)) AS normalized,
+               string_agg(format('%s (user_id %s)', email, user_id), ', ' ORDER BY user_id) AS accounts
+        FROM users
+        GROUP BY lower(trim(email))
+        HAVING count(*) > 1
+    ) duplicates;
+
+    IF collisions > 0 THEN
+        RAISE EXCEPTION E'users.email: % email(s) collide once lower-cased, resolve them before migrating:\n%',
+                collisions, details
+            USING HINT = 'Keep one account per email (change or delete the others) and restart the application';
+    END IF;
+END $$;
+
+-- Emails en minúsculas: las búsquedas usan lower(email) y el índice único de abajo.
+UPDATE users SET email = lower(trim(email)) WHERE email <> lower(trim(email));
+
+-- Login y cada request autenticado filtran por email
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_lower ON users (lower(email));
+
+-- users_roles: sin filas repetidas, PK (user_id, role_id) e índice inverso por rol
+DELETE FROM users_roles a
+    USING users_roles b
+    WHERE a.ctid < b.ctid AND a.user_id = b.user_id AND a.role_id = b.role_id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'pk_users_roles') THEN
+        ALTER TABLE users_roles ADD CONSTRAINT pk_users_roles PRIMARY KEY (user_id, role_id);
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS ix_users_roles_role_user ON users_roles (role_id, user_id);
+
+-- subscriptions: PK (follower_id, followed_id) e índice inverso para listar seguidores
+DELETE FROM subscriptions a
+    USING subscriptions b
+    WHERE a.ctid < b.ctid AND a.follower_id = b.follower_id AND a.followed_id = b.followed_id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'pk_subscriptions') THEN
+        ALTER TABLE subscriptions ADD CONSTRAINT pk_subscriptions PRIMARY KEY (follower_id, followed_id);
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS ix_subscriptions_followed_follower ON subscriptions (followed_id, follower_id);
+
+-- profiles.user_id ya es UNIQUE (índice implícito), no necesita otro
@@ -0,0 +1,57 @@
+-- updated_at para exportaciones incrementales (GET /api/v1/admin/users/export?updatedSince=...).
+-- Lo mantienen triggers, así que cubre JPA, la importación masiva y cualquier UPDATE directo.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS ix_users_updated_at ON users (updated_at);
+
+-- Cambios en la fila del usuario
+CREATE OR REPLACE FUNCTION users_touch_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_users_updated_at ON users;
+CREATE TRIGGER trg_users_updated_at
+    BEFORE UPDATE ON users
+    FOR EACH ROW EXECUTE FUNCTION users_touch_updated_at();
+
+-- Cambios en perfil o roles marcan al usuario como modificado, una vez por sentencia.
+-- "updated_at < now()" evita reescribir usuarios creados o tocados en la misma transacción
+-- (por ejemplo, cada lote de la importación masiva).
+CREATE OR REPLACE FUNCTION users_touch_from_new_rows() RETURNS trigger AS $$
+BEGIN
+    UPDATE users SET updated_at = now()
+    WHERE user_id IN (SELECT user_id FROM changed_rows) AND updated_at < now();
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION users_touch_from_old_rows() RETURNS trigger AS $$
+BEGIN
+    UPDATE users SET updated_at = now()
+    WHERE user_id IN (SELECT user_id FROM removed_rows) AND updated_at < now();
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_profiles_insert_touch_user ON profiles;
+CREATE TRIGGER trg_profiles_insert_touch_user
+    AFTER INSERT ON profiles REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION users_touch_from_new_rows();
+
+DROP TRIGGER IF EXISTS trg_profiles_update_touch_user ON profiles;
+CREATE TRIGGER trg_profiles_update_touch_user
+    AFTER UPDATE ON profiles REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION users_touch_from_new_rows();
+
+DROP TRIGGER IF EXISTS trg_users_roles_insert_touch_user ON users_roles;
+CREATE TRIGGER trg_users_roles_insert_touch_user
+    AFTER INSERT ON users_roles REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION users_touch_from_new_rows();
+
+DROP TRIGGER IF EXISTS trg_users_roles_delete_touch_user ON users_roles;
+CREATE TRIGGER trg_users_roles_delete_touch_user
+    AFTER DELETE ON users_roles REFERENCING OLD TABLE AS removed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION users_touch_from_old_rows();
@@ -0,0 +1,16 @@
+-- Contadores de seguidores/seguidos por usuario: leer "N seguidores" no recorre subscriptions.
+-- Los mantiene UserCounterService (deltas en memoria aplicados por lotes) y una
+-- reconciliación periódica corrige cualquier diferencia con subscriptions.
+CREATE TABLE IF NOT EXISTS user_counters (
+    user_id INTEGER PRIMARY KEY REFERENCES users (user_id) ON DELETE CASCADE,
+    followers_count BIGINT NOT NULL DEFAULT 0,
+    following_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- Valores iniciales a partir de las relaciones existentes
+INSERT INTO user_counters (user_id, followers_count, following_count)
+SELECT u.user_id,
+       (SELECT count(*) FROM subscriptions s WHERE s.followed_id = u.user_id),
+       (SELECT count(*) FROM subscriptions s WHERE s.follower_id = u.user_id)
+FROM users u
+ON CONFLICT (user_id) DO NOTHING;
@@ -0,0 +1,14 @@
+-- Revocaciones de tokens compartidas entre instancias. Cada nodo las escribe aquí y lee
+-- periódicamente las nuevas para actualizar su lista en memoria (TokenRevocationService).
+-- kind: 't' = jti de un token, 's' = sesión de refresh (sid), 'u' = usuario (tokens con iat <= issued_before)
+CREATE TABLE IF NOT EXISTS token_revocations (
+    revocation_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    kind CHAR(1) NOT NULL,
+    subject VARCHAR(64) NOT NULL,
+    issued_before BIGINT,
+    expires_at TIMESTAMPTZ NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS ix_token_revocations_created_at ON token_revocations (created_at);
+CREATE INDEX IF NOT EXISTS ix_token_revocations_expires_at ON token_revocations (expires_at);
@@ -0,0 +1,17 @@
+-- Sesiones de refresh token compartidas entre instancias (RefreshTokenStore): cualquier réplica
+-- puede rotar un token emitido por otra. Solo se guardan digests SHA-256 de los secretos:
+-- el vigente y el inmediatamente anterior, para distinguir un token reutilizado de uno inventado.
+CREATE TABLE IF NOT EXISTS refresh_sessions (
+    session_id VARCHAR(32) PRIMARY KEY,
+    user_id INTEGER NOT NULL REFERENCES users (user_id) ON DELETE CASCADE,
+    email VARCHAR(70) NOT NULL,
+    client_ip VARCHAR(45),
+    secret_digest BYTEA NOT NULL,
+    previous_digest BYTEA,
+    created_at TIMESTAMPTZ NOT NULL,
+    last_refreshed_at TIMESTAMPTZ NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_refresh_sessions_user_id ON refresh_sessions (user_id);
+CREATE INDEX IF NOT EXISTS ix_refresh_sessions_expires_at ON refresh_sessions (expires_at);
@@ -0,0 +1,15 @@
+-- Claves de firma ES256/RS256 compartidas por todas las instancias (SigningKeyRing): todas
+-- firman con la misma clave activa y publican el mismo JWKS, y sobreviven a los reinicios.
+-- activated_at NULL = clave siguiente (publicada, aún no firma); verify_until NOT NULL = retirada.
+-- private_key va en PKCS#8 sin cifrar: quien lee esta tabla puede firmar tokens.
+CREATE TABLE IF NOT EXISTS jwt_signing_keys (
+    kid VARCHAR(36) PRIMARY KEY,
+    algorithm VARCHAR(10) NOT NULL,
+    private_key BYTEA NOT NULL,
+    public_key BYTEA NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    activated_at TIMESTAMPTZ,
+    verify_until TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS ix_jwt_signing_keys_algorithm ON jwt_signing_keys (algorithm);
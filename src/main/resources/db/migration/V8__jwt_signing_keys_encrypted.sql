@@ -0,0 +1,29 @@
+-- private_key pasa a guardarse cifrada con AES-256-GCM bajo jwt.key-encryption-key
+-- (SigningKeyCipher). Las claves guardadas en claro ya pudieron copiarse a réplicas y
+-- backups, así que se descartan: al arrancar se generan claves nuevas y los access tokens
+-- firmados con las anteriores se renuevan con su refresh token.
+DELETE FROM jwt_signing_keys;
+
+COMMENT ON COLUMN jwt_signing_keys.private_key IS
+    'PKCS#8 cifrado: versión (1 byte) + IV (12 bytes) + AES-256-GCM; kid:algorithm como datos asociados';
+
+-- Solo el rol del servicio (dueño de la tabla) la lee: se quitan los permisos de cualquier otro rol
+DO $$
+DECLARE
+    grantee_name TEXT;
+BEGIN
+    FOR grantee_name IN
+        SELECT DISTINCT grantee
+        FROM information_schema.role_table_grants
+        WHERE table_schema = current_schema()
+          AND table_name = 'jwt_signing_keys'
+          AND grantee <> current_user
+    LOOP
+        IF grantee_name = 'PUBLIC' THEN
+            EXECUTE 'REVOKE ALL ON TABLE jwt_signing_keys FROM PUBLIC';
+        ELSE
+            EXECUTE format('REVOKE ALL ON TABLE jwt_signing_keys FROM %I', grantee_name);
+        END IF;
+    END LOOP;
+END
+$$;
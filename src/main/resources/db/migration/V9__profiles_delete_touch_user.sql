@@ -0,0 +1,6 @@
+-- Borrar un perfil (DELETE /profiles/{id}) también cambia lo que exporta el usuario ("profile": null).
+-- Sin este trigger la exportación incremental nunca lo informaba y el consumidor conservaba el perfil.
+DROP TRIGGER IF EXISTS trg_profiles_delete_touch_user ON profiles;
+CREATE TRIGGER trg_profiles_delete_touch_user
+    AFTER DELETE ON profiles REFERENCING OLD TABLE AS removed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION users_touch_from_old_rows();
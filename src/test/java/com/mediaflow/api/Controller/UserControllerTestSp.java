@@ -163,7 +163,7 @@ public class UserControllerTestSp {
     // ==================== TEST 5: LOGIN WITH NON-EXISTENT EMAIL ====================
     @Test
     @Order(5)
-    public void test05_Login_WithNonExistentEmail_ShouldReturnNotFound() throws Exception {
+    public void test05_Login_WithNonExistentEmail_ShouldReturnUnauthorized() throws Exception {
         String loginJson = """
         {
           "email": "nonexistent@example.com",
@@ -176,7 +176,8 @@ public class UserControllerTestSp {
                 .content(loginJson)
                 .accept(MediaType.APPLICATION_JSON))
                 .andDo(print())
-                .andExpect(status().isNotFound());
+                // Igual que una contraseña incorrecta: no se revela si el email existe
+                .andExpect(status().isUnauthorized());
         
         System.out.println("Non-existent email handled correctly");
     }
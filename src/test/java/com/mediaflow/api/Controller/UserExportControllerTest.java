@@ -0,0 +1,250 @@
+package com.mediaflow.api.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaflow.api.controller.UserExportController;
+import com.mediaflow.api.repository.UserExportRepository;
+import com.mediaflow.api.service.UserExportServiceImpl;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Exportación NDJSON completa e incremental: forma de cada línea, cabecera X-Export-Watermark
+ * y cambios de perfil o roles que deben aparecer en la siguiente exportación incremental
+ */
+public class UserExportControllerTest {
+
+    private static final Instant START = Instant.parse("2025-01-31T12:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExportTable table = new ExportTable();
+    private final UserExportController controller = new UserExportController(
+            new UserExportServiceImpl(table, objectMapper));
+
+    @Test
+    public void fullExport_ShouldStreamEveryUserWithWatermark() throws Exception {
+        table.user(1, List.of("VIEWER"), true);
+        table.user(3, List.of("VIEWER", "ADMIN"), false);
+        table.user(2, List.of(), true);
+
+        Export export = export(null);
+
+        assertNull(table.lastUpdatedSince);
+        assertEquals(START.minus(Duration.ofMinutes(1)).toString(), export.watermark());
+        assertEquals(List.of(1, 2, 3), export.userIds());
+
+        JsonNode first = export.lines().get(0);
+        assertEquals("User 1", first.get("name").asText());
+        assertEquals("user1@example.com", first.get("email").asText());
+        assertEquals("1990-01-01", first.get("dateBirth").asText());
+        assertEquals("VIEWER", first.get("roles").get(0).asText());
+        assertEquals(101, first.get("profile").get("profileId").asInt());
+        assertEquals("Display 1", first.get("profile").get("displayName").asText());
+        assertEquals(START.minus(Duration.ofHours(1)).toString(), first.get("updatedAt").asText());
+
+        JsonNode third = export.lines().get(2);
+        assertEquals(2, third.get("roles").size());
+        assertTrue(third.get("profile").isNull());
+    }
+
+    @Test
+    public void incrementalExport_ShouldIncludeProfileAndRoleChanges() throws Exception {
+        table.user(1, List.of("VIEWER"), true);
+        table.user(2, List.of("VIEWER"), true);
+        table.user(3, List.of("VIEWER"), true);
+        Instant watermark = Instant.parse(export(null).watermark());
+
+        table.now = START.plus(Duration.ofMinutes(10));
+        table.deleteProfile(2);
+        table.addRole(3, "CREATOR");
+
+        Export incremental = export(watermark);
+
+        assertEquals(watermark, table.lastUpdatedSince);
+        assertEquals(List.of(2, 3), incremental.userIds());
+        assertTrue(incremental.lines().get(0).get("profile").isNull());
+        assertEquals("CREATOR", incremental.lines().get(1).get("roles").get(1).asText());
+        assertEquals(table.now.minus(Duration.ofMinutes(1)).toString(), incremental.watermark());
+    }
+
+    @Test
+    public void incrementalExport_WithoutChanges_ShouldBeEmptyAndAdvanceWatermark() throws Exception {
+        table.user(1, List.of("VIEWER"), true);
+        Instant watermark = Instant.parse(export(null).watermark());
+        table.now = START.plus(Duration.ofMinutes(10));
+
+        Export incremental = export(watermark);
+
+        assertTrue(incremental.lines().isEmpty());
+        assertEquals(table.now.minus(Duration.ofMinutes(1)).toString(), incremental.watermark());
+    }
+
+    private Export export(Instant updatedSince) throws Exception {
+        Map<String, String> headers = new HashMap<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        controller.exportUsers(updatedSince, response(headers, body));
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return new Export(headers.get("X-Export-Watermark"), lines);
+    }
+
+    private static HttpServletResponse response(Map<String, String> headers, ByteArrayOutputStream body) {
+        ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+        };
+        return (HttpServletResponse) Proxy.newProxyInstance(HttpServletResponse.class.getClassLoader(),
+                new Class<?>[] { HttpServletResponse.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "setHeader" -> headers.put((String) args[0], (String) args[1]);
+                    case "getOutputStream" -> out;
+                    case "isCommitted" -> false;
+                    default -> null;
+                });
+    }
+
+    private record Export(String watermark, List<JsonNode> lines) {
+
+        List<Integer> userIds() {
+            return lines.stream().map(line -> line.get("userId").asInt()).toList();
+        }
+    }
+
+    /**
+     * Tablas users, users_roles y profiles en memoria; las modificaciones tocan updated_at como los triggers de V3 y V9
+     */
+    private static class ExportTable extends UserExportRepository {
+
+        private final Map<Integer, Map<String, Object>> users = new TreeMap<>();
+        private Instant now = START;
+        private Instant lastUpdatedSince;
+
+        ExportTable() {
+            super(null, 2);
+        }
+
+        void user(int userId, List<String> roles, boolean withProfile) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("user_id", userId);
+            row.put("name", "User " + userId);
+            row.put("email", "user" + userId + "@example.com");
+            row.put("date_birth", LocalDate.of(1990, 1, userId));
+            row.put("updated_at", now.minus(Duration.ofHours(1)));
+            row.put("roles", new ArrayList<>(roles));
+            if (withProfile) {
+                row.put("profile_id", 100 + userId);
+                row.put("display_name", "Display " + userId);
+                row.put("preferred_language", "en");
+                row.put("avatar_url", "https://example.com/" + userId + ".png");
+                row.put("bio", "Bio " + userId);
+            }
+            users.put(userId, row);
+        }
+
+        void deleteProfile(int userId) {
+            Map<String, Object> row = users.get(userId);
+            List.of("profile_id", "display_name", "preferred_language", "avatar_url", "bio").forEach(row::remove);
+            row.put("updated_at", now);
+        }
+
+        @SuppressWarnings("unchecked")
+        void addRole(int userId, String role) {
+            Map<String, Object> row = users.get(userId);
+            ((List<String>) row.get("roles")).add(role);
+            row.put("updated_at", now);
+        }
+
+        @Override
+        public void forEachUser(Instant updatedSince, RowCallbackHandler handler) {
+            lastUpdatedSince = updatedSince;
+            for (Map<String, Object> row : users.values()) {
+                if (updatedSince == null || !((Instant) row.get("updated_at")).isBefore(updatedSince)) {
+                    try {
+                        handler.processRow(resultSet(row));
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public Instant databaseNow() {
+            return now;
+        }
+
+        private static ResultSet resultSet(Map<String, Object> row) {
+            boolean[] lastWasNull = { false };
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] { ResultSet.class },
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("wasNull")) {
+                            return lastWasNull[0];
+                        }
+                        Object value = row.get((String) args[0]);
+                        lastWasNull[0] = value == null;
+                        return switch (method.getName()) {
+                            case "getInt" -> value != null ? value : 0;
+                            case "getString" -> value;
+                            case "getObject" -> value instanceof Instant instant
+                                    ? OffsetDateTime.ofInstant(instant, ZoneOffset.UTC)
+                                    : value;
+                            case "getArray" -> array(((List<?>) value).toArray());
+                            default -> throw new UnsupportedOperationException(method.getName());
+                        };
+                    });
+        }
+
+        private static Array array(Object[] values) {
+            return (Array) Proxy.newProxyInstance(Array.class.getClassLoader(),
+                    new Class<?>[] { Array.class },
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getArray" -> values;
+                        case "free" -> null;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.mediaflow.api.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Cantidad de sentencias SQL por endpoint de lectura de usuarios.
+ * Con jwt.stateless=true el filtro no consulta la base de datos, así que cada
+ * request debe resolverse con exactamente una consulta.
+ */
+@SpringBootTest(properties = {
+        "jwt.stateless=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ContextConfiguration(classes = com.mediaflow.api.MediaFlowApiApplication.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserReadQueryCountTest {
+
+    private static final String TEST_EMAIL = "query.count@example.com";
+    private static final String TEST_PASSWORD = "SecurePassword123";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Integer userId;
+    private String token;
+
+    @BeforeAll
+    void registerAndLogin() throws Exception {
+        String registerJson = """
+        {
+          "name": "Query Count User",
+          "email": "%s",
+          "password": "%s",
+          "dateBirth": "1995-06-15",
+          "roles": [1],
+          "preferredLanguage": "en"
+        }
+        """.formatted(TEST_EMAIL, TEST_PASSWORD);
+
+        MvcResult registered = mvc.perform(post("/api/v1/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(registerJson))
+                .andExpect(status().isCreated())
+                .andReturn();
+        JsonNode user = objectMapper.readTree(registered.getResponse().getContentAsString());
+        userId = user.get("userId").asInt();
+
+        String loginJson = """
+        {
+          "email": "%s",
+          "password": "%s"
+        }
+        """.formatted(TEST_EMAIL, TEST_PASSWORD);
+
+        MvcResult login = mvc.perform(post("/api/v1/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(loginJson))
+                .andExpect(status().isOk())
+                .andReturn();
+        token = objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @AfterAll
+    void deleteUser() throws Exception {
+        mvc.perform(delete("/api/v1/users/delete_account/" + userId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    @Test
+    public void getUserById_ShouldUseOneStatement() throws Exception {
+        Statistics statistics = statistics();
+
+        mvc.perform(get("/api/v1/users/" + userId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(TEST_EMAIL))
+                .andExpect(jsonPath("$.roles[0]").exists())
+                .andExpect(jsonPath("$.profile").exists());
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "GET /api/v1/users/{id}");
+    }
+
+    @Test
+    public void getCurrentUser_ShouldUseOneStatement() throws Exception {
+        Statistics statistics = statistics();
+
+        mvc.perform(get("/api/v1/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(TEST_EMAIL))
+                .andExpect(jsonPath("$.roles[0]").exists())
+                .andExpect(jsonPath("$.profile").exists());
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "GET /api/v1/users/me");
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
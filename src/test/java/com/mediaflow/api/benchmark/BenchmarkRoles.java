@@ -0,0 +1,56 @@
+package com.mediaflow.api.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import com.mediaflow.api.dto.RoleRow;
+import com.mediaflow.api.model.Role;
+import com.mediaflow.api.repository.RoleRepository;
+import com.mediaflow.api.security.RoleCatalog;
+
+/**
+ * Catálogo de roles fijo para los benchmarks, sin base de datos
+ */
+final class BenchmarkRoles {
+
+    static final List<Role> ROLES = List.of(
+            Role.builder().roleId(1).name("VIEWER").build(),
+            Role.builder().roleId(2).name("CREATOR").build(),
+            Role.builder().roleId(3).name("MODERATOR").build(),
+            Role.builder().roleId(4).name("ADMIN").build());
+
+    private BenchmarkRoles() {
+    }
+
+    static RoleRepository repository() {
+        return (RoleRepository) Proxy.newProxyInstance(
+                RoleRepository.class.getClassLoader(),
+                new Class<?>[] { RoleRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> ROLES;
+                    case "findAllRows" -> ROLES.stream().map(BenchmarkRoles::row).toList();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "BenchmarkRoleRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static RoleRow row(Role role) {
+        return new RoleRow() {
+            @Override
+            public Integer getRoleId() {
+                return role.getRoleId();
+            }
+
+            @Override
+            public String getName() {
+                return role.getName();
+            }
+        };
+    }
+
+    static RoleCatalog roleCatalog() {
+        return new RoleCatalog(repository());
+    }
+}
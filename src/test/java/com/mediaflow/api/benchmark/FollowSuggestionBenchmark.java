@@ -0,0 +1,139 @@
+package com.mediaflow.api.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.mediaflow.api.graph.EdgeBuffer;
+import com.mediaflow.api.graph.SocialGraph;
+import com.mediaflow.api.suggestion.FollowSuggestionEngine;
+import com.mediaflow.api.suggestion.Ranking;
+import com.mediaflow.api.suggestion.UserLanguages;
+
+/**
+ * Latencia de {@link FollowSuggestionEngine} sobre un grafo sintético con cola larga
+ * (~10M aristas): en modo SampleTime JMH reporta p50/p99/p999 por consulta.
+ * splitThreshold=2147483647 es el cálculo secuencial en el hilo de la petición.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FollowSuggestionBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int MEAN_FOLLOWING = 10;
+    private static final int MAX_FOLLOWING = 5000;
+    private static final String[] LANGUAGES = { "es", "en", "pt", "fr", "de", "it", "ja", "ko" };
+    private static final int QUERY_USERS = 4096;
+    private static final int CANDIDATES = 200;
+
+    @Param({ "2147483647", "20000" })
+    private int splitThreshold;
+
+    private SocialGraph graph;
+    private UserLanguages languages;
+    private ForkJoinPool pool;
+    private FollowSuggestionEngine engine;
+    private int[] users;
+    private int[] followed;
+    private Ranking[] rankings;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        EdgeBuffer edges = new EdgeBuffer(USERS * MEAN_FOLLOWING);
+        UserLanguages.Builder languageBuilder = UserLanguages.builder();
+        int[] targets = new int[MAX_FOLLOWING];
+        int[] active = new int[QUERY_USERS / 2];
+        int activeCount = 0;
+        for (int user = 0; user < USERS; user++) {
+            // Seguidos con distribución de Pareto (alfa 1.5): pocos usuarios muy activos, la mayoría sigue a unos pocos
+            int count = Math.min(MAX_FOLLOWING, (int) (MEAN_FOLLOWING / 3.0 / Math.pow(1 - random.nextDouble(), 1 / 1.5)));
+            for (int i = 0; i < count; i++) {
+                targets[i] = popularUser(random);
+            }
+            Arrays.sort(targets, 0, count);
+            for (int i = 0; i < count; i++) {
+                if (targets[i] != user && (i == 0 || targets[i] != targets[i - 1])) {
+                    edges.add(user, targets[i]);
+                }
+            }
+            if (count >= 200 && activeCount < active.length) {
+                active[activeCount++] = user;
+            }
+            languageBuilder.add(user, LANGUAGES[(int) (LANGUAGES.length * Math.pow(random.nextDouble(), 2))]);
+        }
+        graph = SocialGraph.build(edges);
+        languages = languageBuilder.build();
+
+        System.out.printf("%nedges=%d activeUsers=%d%n", graph.edgeCount(), activeCount);
+
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        engine = new FollowSuggestionEngine(pool, 2000, splitThreshold, 10, 5);
+
+        users = new int[QUERY_USERS];
+        followed = new int[QUERY_USERS];
+        rankings = new Ranking[QUERY_USERS];
+        for (int i = 0; i < QUERY_USERS; i++) {
+            // La mitad de las consultas son de usuarios activos (200+ seguidos): la cola del p99
+            users[i] = i % 2 == 0 && activeCount > 0 ? active[random.nextInt(activeCount)] : random.nextInt(USERS);
+            followed[i] = popularUser(random);
+            rankings[i] = engine.rank(graph, languages, users[i], CANDIDATES,
+                    System.nanoTime() + TimeUnit.MINUTES.toNanos(1)).ranking();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static int popularUser(SplittableRandom random) {
+        return (int) (USERS * Math.pow(random.nextDouble(), 3));
+    }
+
+    private int query() {
+        next = (next + 1) & (QUERY_USERS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Ranking fullRank() {
+        return engine.rank(graph, languages, users[query()], CANDIDATES, System.nanoTime() + TimeUnit.SECONDS.toNanos(1))
+                .ranking();
+    }
+
+    // El grafo no se modifica: mide solo el costo de actualizar un ranking en caché
+    @Benchmark
+    public Ranking incrementalFollow() {
+        int i = query();
+        return engine.applyFollow(graph, languages, users[i], followed[i], rankings[i], CANDIDATES);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FollowSuggestionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
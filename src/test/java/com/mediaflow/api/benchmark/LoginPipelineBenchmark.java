@@ -0,0 +1,199 @@
+package com.mediaflow.api.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.mediaflow.api.dto.AuthResponse;
+import com.mediaflow.api.dto.LoguinReques;
+import com.mediaflow.api.dto.UserAuth;
+import com.mediaflow.api.model.Role;
+import com.mediaflow.api.model.User;
+import com.mediaflow.api.repository.RefreshSessionRepository;
+import com.mediaflow.api.repository.RefreshSessionRepository.RefreshSession;
+import com.mediaflow.api.repository.UserRepository;
+import com.mediaflow.api.security.InMemoryRateLimitStore;
+import com.mediaflow.api.security.LoginThrottle;
+import com.mediaflow.api.security.RefreshTokenStore;
+import com.mediaflow.api.security.SigningKeyRing;
+import com.mediaflow.api.service.CustomUserDetailsService;
+import com.mediaflow.api.service.JwtService;
+import com.mediaflow.api.service.LoginServiceImpl;
+
+/**
+ * Compara el login anterior (AuthenticationManager + findByEmail + loadUserByUsername,
+ * dos BCrypt) contra el flujo de una sola pasada de {@link LoginServiceImpl}.
+ * Las consultas por login se imprimen al final de cada trial; se ejecuta con el método main.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginPipelineBenchmark {
+
+    private static final String EMAIL = "bench@mediaflow.com";
+    private static final String PASSWORD = "SecurePassword123";
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final AtomicLong queries = new AtomicLong();
+    private long logins;
+
+    private UserRepository repository;
+    private PasswordEncoder passwordEncoder;
+    private JwtService jwtService;
+    private UserDetailsService userDetailsService;
+    private DaoAuthenticationProvider authenticationProvider;
+    private LoginServiceImpl loginService;
+    private LoguinReques request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(10);
+        String hash = passwordEncoder.encode(PASSWORD);
+        repository = countingRepository(hash);
+
+        jwtService = new JwtService(new SigningKeyRing("HS256", SECRET, 86400000L), 86400000L);
+
+        // Sin caché, como lo resolvía CustomUserDetailsService antes
+        userDetailsService = email -> {
+            User user = repository.findByEmailForAuth(email).orElseThrow();
+            return org.springframework.security.core.userdetails.User.builder()
+                    .username(user.getEmail())
+                    .password(user.getPassword())
+                    .authorities(user.getRoles().stream()
+                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName().toUpperCase()))
+                            .collect(Collectors.toList()))
+                    .build();
+        };
+        authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+
+        loginService = new LoginServiceImpl(repository, passwordEncoder, jwtService,
+                new CustomUserDetailsService(repository, 1000, 300, 5000),
+                new LoginThrottle(new InMemoryRateLimitStore(), false, 60, 10, 50),
+                new RefreshTokenStore(new RefreshSessionRepository(null) {
+                    // La sesión de refresh no es parte de lo que se mide: sin base de datos
+                    @Override
+                    public void insert(RefreshSession session) {
+                    }
+                }, 1209600000L),
+                BenchmarkRoles.roleCatalog());
+
+        request = new LoguinReques();
+        request.setEmail(EMAIL);
+        request.setPassword(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%n  consultas por login: %.2f%n", logins == 0 ? 0.0 : (double) queries.get() / logins);
+    }
+
+    @Benchmark
+    public String legacyLogin() {
+        logins++;
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+        UserAuth user = repository.findByEmail(EMAIL).orElseThrow();
+        if (!passwordEncoder.matches(PASSWORD, user.getPasswordHash())) {
+            throw new IllegalArgumentException("Invalid credentials");
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(EMAIL);
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put("roles", userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList()));
+        extraClaims.put("userId", user.getId());
+        return jwtService.generateToken(extraClaims, userDetails);
+    }
+
+    @Benchmark
+    public AuthResponse singlePassLogin() {
+        logins++;
+        return loginService.login(request, "127.0.0.1");
+    }
+
+    private UserRepository countingRepository(String hash) {
+        UserAuth auth = userAuth(hash);
+        User user = User.builder()
+                .userId(1)
+                .name("Bench User")
+                .email(EMAIL)
+                .password(hash)
+                .dateBirth(LocalDate.of(1995, 6, 15))
+                .roles(List.of(Role.builder().roleId(1).name("VIEWER").build()))
+                .build();
+
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[] { UserRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByEmail" -> {
+                        queries.incrementAndGet();
+                        yield Optional.of(auth);
+                    }
+                    case "findByEmailForAuth" -> {
+                        queries.incrementAndGet();
+                        yield Optional.of(user);
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "CountingUserRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static UserAuth userAuth(String hash) {
+        return new UserAuth() {
+            public Integer getId() { return 1; }
+            public String getUserName() { return "Bench User"; }
+            public String getEmail() { return EMAIL; }
+            public LocalDate getDateBirth() { return LocalDate.of(1995, 6, 15); }
+            public String getPasswordHash() { return hash; }
+            public String[] getRoles() { return new String[] { "VIEWER" }; }
+            public Integer getProfileId() { return 1; }
+            public String getDisplayName() { return "Bench User"; }
+            public String getPreferredLanguage() { return "es"; }
+            public String getAvatarUrl() { return "https://mediaflow.com/avatar.png"; }
+            public String getBio() { return "Bench"; }
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginPipelineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package com.mediaflow.api.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.mediaflow.api.graph.EdgeBuffer;
+import com.mediaflow.api.graph.SocialGraph;
+
+/**
+ * Consultas sobre {@link SocialGraph} con ~10M aristas y popularidad con cola larga
+ * (pocos usuarios con cientos de miles de seguidores, la mayoría con unos pocos).
+ * En el setup se imprime la memoria del CSR por arista.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SocialGraphBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int MEAN_FOLLOWING = 10;
+    private static final int QUERY_PAIRS = 4096;
+
+    private SocialGraph graph;
+    private int[] left;
+    private int[] right;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        EdgeBuffer edges = new EdgeBuffer(USERS * MEAN_FOLLOWING);
+        int[] followed = new int[4096];
+        for (int user = 0; user < USERS; user++) {
+            int count = Math.min(followed.length, 1 + (int) (-Math.log(1 - random.nextDouble()) * (MEAN_FOLLOWING - 1)));
+            for (int i = 0; i < count; i++) {
+                followed[i] = popularUser(random);
+            }
+            // Sin aristas repetidas ni autoseguimiento, igual que subscriptions
+            Arrays.sort(followed, 0, count);
+            for (int i = 0; i < count; i++) {
+                if (followed[i] != user && (i == 0 || followed[i] != followed[i - 1])) {
+                    edges.add(user, followed[i]);
+                }
+            }
+        }
+        graph = SocialGraph.build(edges);
+
+        left = new int[QUERY_PAIRS];
+        right = new int[QUERY_PAIRS];
+        for (int i = 0; i < QUERY_PAIRS; i++) {
+            // La mitad de las consultas involucra a un usuario popular
+            left[i] = random.nextInt(USERS);
+            right[i] = i % 2 == 0 ? popularUser(random) : random.nextInt(USERS);
+        }
+
+        System.out.printf("%nedges=%d nodes=%d csrBytes=%d bytesPerEdge=%.2f%n",
+                graph.edgeCount(), graph.nodeCount(), graph.baseMemoryBytes(),
+                (double) graph.baseMemoryBytes() / graph.edgeCount());
+    }
+
+    // Ids bajos concentran seguidores (distribución tipo Zipf)
+    private static int popularUser(SplittableRandom random) {
+        return (int) (USERS * Math.pow(random.nextDouble(), 3));
+    }
+
+    private int pair() {
+        next = (next + 1) & (QUERY_PAIRS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public boolean follows() {
+        int i = pair();
+        return graph.follows(left[i], right[i]);
+    }
+
+    @Benchmark
+    public int[] mutualFollows() {
+        return graph.mutualFollows(left[pair()]);
+    }
+
+    @Benchmark
+    public int followersInCommonCount() {
+        int i = pair();
+        return graph.followersInCommonCount(left[i], right[i]);
+    }
+
+    @Benchmark
+    public boolean reachableInTwoHops() {
+        int i = pair();
+        return graph.reachableInTwoHops(left[i], right[i]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SocialGraphBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.mediaflow.api.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.mediaflow.api.dto.TokenValidation;
+import com.mediaflow.api.security.AuthenticatedUser;
+import com.mediaflow.api.security.RoleCatalog;
+import com.mediaflow.api.security.SigningKeyRing;
+import com.mediaflow.api.security.TokenRevocationService;
+import com.mediaflow.api.security.VerifiedTokenCache;
+import com.mediaflow.api.service.JwtService;
+
+/**
+ * CPU por petición para autenticar un bearer token repetido: verificación completa
+ * (firma + JSON + revocación) contra un acierto en {@link VerifiedTokenCache}
+ * (SHA-256 del token + revocación). La diferencia es lo que ahorra cada petición repetida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerifiedTokenCacheBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final long EXPIRATION = 900000L;
+
+    @Param({ "HS256", "ES256" })
+    private String algorithm;
+
+    private JwtService jwtService;
+    private TokenRevocationService revocationService;
+    private RoleCatalog roleCatalog;
+    private VerifiedTokenCache cache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(new SigningKeyRing(algorithm, SECRET, EXPIRATION), EXPIRATION);
+        revocationService = new TokenRevocationService(100000, EXPIRATION);
+        roleCatalog = BenchmarkRoles.roleCatalog();
+        cache = new VerifiedTokenCache(jwtService, revocationService, roleCatalog, 50000, 900);
+        token = jwtService.generateAccessToken(42, "bench@mediaflow.com", roleCatalog.maskOf(List.of("VIEWER")), "session");
+        cache.resolve(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser fullVerification() {
+        TokenValidation validation = jwtService.validate(token);
+        if (!validation.isValid() || revocationService.isRevoked(validation.getClaims())) {
+            return null;
+        }
+        long mask = validation.getClaims().getRoleMask();
+        return new AuthenticatedUser(validation.getClaims().getUserId(), validation.getClaims().getSubject(),
+                null, roleCatalog.namesOf(mask), mask);
+    }
+
+    @Benchmark
+    public AuthenticatedUser cachedVerification() {
+        VerifiedTokenCache.VerifiedToken verified = cache.resolve(token);
+        return verified != null ? verified.principal() : null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VerifiedTokenCacheBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
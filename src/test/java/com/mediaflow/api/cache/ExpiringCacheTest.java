@@ -0,0 +1,43 @@
+package com.mediaflow.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Invalidaciones que llegan mientras se carga un valor
+ */
+public class ExpiringCacheTest {
+
+    private final ExpiringCache<String, String> cache = new ExpiringCache<>("test", 100, 60000);
+
+    @Test
+    public void loader_ShouldCacheLoadedValue() {
+        assertEquals("v1", cache.get("key", key -> "v1"));
+        assertEquals("v1", cache.get("key", key -> "v2"));
+    }
+
+    @Test
+    public void loader_ShouldNotCacheValueInvalidatedWhileLoading() {
+        String loaded = cache.get("key", key -> {
+            // Otro hilo actualiza la fuente e invalida mientras esta carga está en curso
+            cache.invalidate("key");
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertNull(cache.get("key"));
+        assertEquals("fresh", cache.get("key", key -> "fresh"));
+    }
+
+    @Test
+    public void putIfNotInvalidated_ShouldRejectAfterInvalidateAll() {
+        long generation = cache.generation("key");
+        cache.invalidateAll();
+
+        assertFalse(cache.putIfNotInvalidated("key", "stale", Long.MAX_VALUE, generation));
+        assertNull(cache.get("key"));
+    }
+}
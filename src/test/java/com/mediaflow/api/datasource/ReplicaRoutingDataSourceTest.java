@@ -0,0 +1,109 @@
+package com.mediaflow.api.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Enrutamiento entre primario y réplicas con DataSources de prueba: cada conexión
+ * registra de qué origen salió.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private final List<String> served = new ArrayList<>();
+
+    @AfterEach
+    void clearReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void writes_ShouldUsePrimary() throws Exception {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                stub("primary", true), List.of(stub("replica-0", true)), 1);
+
+        routing.getConnection();
+
+        assertEquals(List.of("primary"), served);
+    }
+
+    @Test
+    public void readOnly_ShouldRoundRobinReplicas() throws Exception {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                stub("primary", true), List.of(stub("replica-0", true), stub("replica-1", true)), 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        for (int i = 0; i < 4; i++) {
+            routing.getConnection();
+        }
+
+        assertEquals(List.of("replica-0", "replica-1", "replica-0", "replica-1"), served);
+    }
+
+    @Test
+    public void readOnly_ShouldSkipFailedReplicaAndFallBackToPrimary() throws Exception {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                stub("primary", true), List.of(stub("replica-0", false)), 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routing.getConnection();
+        routing.getConnection();
+
+        // La réplica falla una vez y queda fuera de la rotación
+        assertEquals(List.of("primary", "primary"), served);
+        assertEquals(false, routing.replicaHealth().get("replica-0"));
+    }
+
+    @Test
+    public void healthCheck_ShouldRestoreRecoveredReplica() throws Exception {
+        boolean[] up = { false };
+        DataSource replica = stub("replica-0", () -> up[0]);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(stub("primary", true), List.of(replica), 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routing.getConnection();
+        up[0] = true;
+        routing.checkHealth();
+        served.clear();
+        routing.getConnection();
+
+        assertEquals(List.of("replica-0"), served);
+    }
+
+    private DataSource stub(String name, boolean available) {
+        return stub(name, () -> available);
+    }
+
+    private DataSource stub(String name, BooleanSupplier available) {
+        Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "isValid" -> true;
+                    case "close" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("getConnection")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    if (!available.getAsBoolean()) {
+                        throw new SQLException(name + " is down");
+                    }
+                    served.add(name);
+                    return connection;
+                });
+    }
+}
@@ -0,0 +1,213 @@
+package com.mediaflow.api.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.WebRequest;
+
+import com.mediaflow.api.configuration.ReadReplicaConfig;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Enrutamiento con JPA real y open-in-view: una petición que lee en una transacción
+ * read-only y después escribe debe hacer la escritura en el primario.
+ */
+public class ReplicaRoutingJpaTest {
+
+    private final List<String> statements = new ArrayList<>();
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+
+    @AfterEach
+    void close() {
+        if (factoryBean != null) {
+            factoryBean.destroy();
+        }
+    }
+
+    @Test
+    public void writeAfterReadOnlyInSameRequest_ShouldUsePrimary() throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        new ReadReplicaConfig().replicaConnectionHandling().customize(properties);
+        EntityManagerFactory emf = entityManagerFactory(properties);
+
+        inRequest(emf, () -> readThenWrite(emf));
+
+        assertEquals("replica-0", origin(0, "select"));
+        assertEquals("primary", origin(1, "update"));
+    }
+
+    @Test
+    public void defaultConnectionHandling_ShouldKeepReplicaForWrite() throws Exception {
+        // Sin la configuración de réplicas: la sesión retiene la conexión de la primera lectura
+        EntityManagerFactory emf = entityManagerFactory(new HashMap<>());
+
+        inRequest(emf, () -> readThenWrite(emf));
+
+        assertEquals("replica-0", origin(1, "update"));
+    }
+
+    private void readThenWrite(EntityManagerFactory emf) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(emf);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        // Como UserServiceImpl.update: findById (read-only) y después save
+        readOnly.executeWithoutResult(status -> entityManager(emf).find(Item.class, 1));
+        readWrite.executeWithoutResult(status -> entityManager(emf)
+                .createNativeQuery("update items set name = 'renamed' where id = 1")
+                .executeUpdate());
+    }
+
+    /**
+     * Abre y cierra la sesión de la petición como lo hace open-in-view
+     */
+    private static void inRequest(EntityManagerFactory emf, Runnable body) throws Exception {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(emf);
+        WebRequest request = webRequest();
+        interceptor.preHandle(request);
+        try {
+            body.run();
+        } finally {
+            interceptor.afterCompletion(request, null);
+        }
+    }
+
+    private static EntityManager entityManager(EntityManagerFactory emf) {
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+    }
+
+    private String origin(int index, String verb) {
+        String statement = statements.get(index);
+        assertEquals(verb, statement.substring(statement.indexOf(':') + 1).trim().split(" ")[0]);
+        return statement.substring(0, statement.indexOf(':'));
+    }
+
+    private EntityManagerFactory entityManagerFactory(Map<String, Object> properties) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                database("primary"), List.of(database("replica-0")), 1);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+
+        properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+        properties.put("hibernate.boot.allow_jdbc_metadata_access", false);
+        properties.put("hibernate.hbm2ddl.auto", "none");
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(Item.class.getName()));
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        return factoryBean.getObject();
+    }
+
+    /**
+     * Base de prueba: registra cada sentencia como "origen: sql"; las consultas no devuelven filas
+     */
+    private DataSource database(String name) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getConnection" -> connection(name);
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private Connection connection(String name) {
+        boolean[] autoCommit = { true };
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareStatement" -> statement(name, (String) args[0]);
+                    case "getAutoCommit" -> autoCommit[0];
+                    case "setAutoCommit" -> {
+                        autoCommit[0] = (Boolean) args[0];
+                        yield null;
+                    }
+                    case "isValid" -> true;
+                    case "getTransactionIsolation" -> Connection.TRANSACTION_READ_COMMITTED;
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private PreparedStatement statement(String name, String sql) {
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "executeQuery" -> {
+                        statements.add(name + ": " + sql.toLowerCase());
+                        yield emptyResultSet();
+                    }
+                    case "executeUpdate" -> {
+                        statements.add(name + ": " + sql.toLowerCase());
+                        yield 1;
+                    }
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private ResultSet emptyResultSet() {
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> defaultValue(method.getReturnType()));
+    }
+
+    private static WebRequest webRequest() {
+        Map<String, Object> attributes = new HashMap<>();
+        return (WebRequest) Proxy.newProxyInstance(ReplicaRoutingJpaTest.class.getClassLoader(),
+                new Class<?>[] { WebRequest.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getAttribute" -> attributes.get((String) args[0]);
+                    case "setAttribute" -> attributes.put((String) args[0], args[1]);
+                    case "removeAttribute" -> attributes.remove((String) args[0]);
+                    case "getDescription" -> "test request";
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class || type == long.class || type == short.class || type == byte.class) {
+            return type == long.class ? (Object) 0L : (Object) 0;
+        }
+        return null;
+    }
+
+    @Entity
+    @Table(name = "items")
+    public static class Item {
+        @Id
+        private Integer id;
+        private String name;
+    }
+}
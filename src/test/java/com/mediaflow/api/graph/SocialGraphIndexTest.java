@@ -0,0 +1,186 @@
+package com.mediaflow.api.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.mediaflow.api.exception.ServiceOverloadedException;
+import com.mediaflow.api.repository.SocialGraphRepository;
+
+/**
+ * Overlay sobre la base CSR y cambios que llegan mientras se reconstruye el índice
+ */
+public class SocialGraphIndexTest {
+
+    @Test
+    public void overlay_ShouldAddAndRemoveEdgesOverBase() {
+        SocialGraph graph = SocialGraph.build(edges(1, 2, 1, 3, 2, 3));
+
+        assertTrue(graph.addEdge(1, 4));
+        assertFalse(graph.addEdge(1, 2));
+        assertTrue(graph.removeEdge(1, 3));
+        assertFalse(graph.removeEdge(3, 1));
+
+        assertArrayEquals(new int[] { 2, 4 }, graph.following(1).toArray());
+        assertArrayEquals(new int[] { 2 }, graph.followers(3).toArray());
+        assertArrayEquals(new int[] { 1 }, graph.followers(4).toArray());
+        assertEquals(3, graph.edgeCount());
+        assertEquals(2, graph.overlaySize());
+    }
+
+    @Test
+    public void overlay_ShouldCancelOutWhenEdgeIsRestored() {
+        SocialGraph graph = SocialGraph.build(edges(1, 2));
+
+        graph.removeEdge(1, 2);
+        graph.addEdge(1, 2);
+
+        assertTrue(graph.follows(1, 2));
+        assertArrayEquals(new int[] { 1 }, graph.followers(2).toArray());
+        assertEquals(1, graph.edgeCount());
+    }
+
+    @Test
+    public void compaction_ShouldKeepCurrentEdges() {
+        SocialGraph graph = SocialGraph.build(edges(1, 2, 1, 3));
+        graph.removeEdge(1, 2);
+        graph.addEdge(5, 1);
+
+        SocialGraph compacted = SocialGraph.build(graph.toEdges());
+
+        assertEquals(0, compacted.overlaySize());
+        assertArrayEquals(new int[] { 3 }, compacted.following(1).toArray());
+        assertArrayEquals(new int[] { 5 }, compacted.followers(1).toArray());
+        assertEquals(2, compacted.edgeCount());
+    }
+
+    @Test
+    public void graph_ShouldBeUnavailableUntilFirstLoad() {
+        SocialGraphIndex index = new SocialGraphIndex(repository(() -> edges(1, 2)), 1000, 5);
+
+        assertThrows(ServiceOverloadedException.class, index::graph);
+
+        index.rebuildFromDatabase();
+
+        assertTrue(index.isReady());
+        assertTrue(index.graph().follows(1, 2));
+    }
+
+    @Test
+    public void changesDuringRebuild_ShouldBeReplayedOnNewGraph() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        boolean[] firstLoad = { true };
+        SocialGraphIndex index = new SocialGraphIndex(repository(() -> {
+            if (firstLoad[0]) {
+                firstLoad[0] = false;
+                return edges(1, 2, 2, 3);
+            }
+            loading.countDown();
+            await(release);
+            // La carga leyó subscriptions antes de los cambios de abajo
+            return edges(1, 2, 2, 3);
+        }), 1000, 5);
+        index.rebuildFromDatabase();
+
+        Thread rebuild = new Thread(index::rebuildFromDatabase);
+        rebuild.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        index.follow(3, 1);
+        index.unfollow(1, 2);
+        // Visibles en el grafo actual mientras se reconstruye
+        assertTrue(index.graph().follows(3, 1));
+        release.countDown();
+        rebuild.join(5000);
+
+        SocialGraph rebuilt = index.graph();
+        assertTrue(rebuilt.follows(3, 1));
+        assertFalse(rebuilt.follows(1, 2));
+        assertTrue(rebuilt.follows(2, 3));
+        assertEquals(2, index.stats().getBuilds());
+    }
+
+    @Test
+    public void failedRebuild_ShouldKeepCurrentGraph() {
+        boolean[] failing = { false };
+        SocialGraphIndex index = new SocialGraphIndex(repository(() -> {
+            if (failing[0]) {
+                throw new IllegalStateException("database down");
+            }
+            return edges(1, 2);
+        }), 1000, 5);
+        index.rebuildFromDatabase();
+        index.follow(2, 1);
+
+        failing[0] = true;
+        index.rebuildFromDatabase();
+
+        assertTrue(index.graph().follows(1, 2));
+        assertTrue(index.graph().follows(2, 1));
+        assertEquals(1, index.stats().getBuilds());
+    }
+
+    @Test
+    public void overlayAboveThreshold_ShouldBeCompacted() throws Exception {
+        SocialGraphIndex index = new SocialGraphIndex(repository(() -> edges(1, 2)), 3, 5);
+        index.rebuildFromDatabase();
+
+        index.follow(1, 3);
+        index.follow(1, 4);
+        index.follow(1, 5);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (index.graph().overlaySize() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, index.graph().overlaySize());
+        assertArrayEquals(new int[] { 2, 3, 4, 5 }, index.graph().following(1).toArray());
+    }
+
+    @Test
+    public void removeUser_ShouldDropEdgesInBothDirections() {
+        SocialGraphIndex index = new SocialGraphIndex(repository(() -> edges(1, 2, 2, 3, 3, 2)), 1000, 5);
+        index.rebuildFromDatabase();
+
+        index.removeUser(2);
+
+        assertEquals(0, index.graph().edgeCount());
+        assertTrue(index.graph().followers(3).isEmpty());
+    }
+
+    private static SocialGraphRepository repository(Supplier<EdgeBuffer> source) {
+        return new SocialGraphRepository(null, 0) {
+            @Override
+            public EdgeBuffer loadEdges() {
+                return source.get();
+            }
+        };
+    }
+
+    /**
+     * Pares (seguidor, seguido)
+     */
+    private static EdgeBuffer edges(int... pairs) {
+        EdgeBuffer edges = new EdgeBuffer(pairs.length / 2);
+        for (int i = 0; i < pairs.length; i += 2) {
+            edges.add(pairs[i], pairs[i + 1]);
+        }
+        return edges;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.mediaflow.api.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.mediaflow.api.exception.TooManyRequestsException;
+
+/**
+ * Límites de intentos de login por email y por IP, con el almacén en memoria
+ */
+public class LoginThrottleTest {
+
+    // Ventana larga: el test no cruza un cambio de ventana
+    private static final long WINDOW_SECONDS = 3600;
+
+    private final LoginThrottle throttle = new LoginThrottle(new InMemoryRateLimitStore(), true, WINDOW_SECONDS, 3, 5);
+
+    @Test
+    public void email_ShouldBeRejectedAfterLimit() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("user@example.com", "10.0.0." + i);
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> throttle.acquire("USER@example.com ", "10.0.0.9"));
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertEquals(1, throttle.stats().getRejected());
+    }
+
+    @Test
+    public void ip_ShouldBeRejectedAcrossEmails() {
+        for (int i = 0; i < 5; i++) {
+            throttle.acquire("user" + i + "@example.com", "203.0.113.7");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquire("other@example.com", "203.0.113.7"));
+        // Otra IP no comparte el contador
+        assertDoesNotThrow(() -> throttle.acquire("other@example.com", "203.0.113.8"));
+    }
+
+    @Test
+    public void success_ShouldResetEmailCounter() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("user@example.com", "10.0.0.1");
+        }
+        throttle.onSuccess("user@example.com");
+
+        assertDoesNotThrow(() -> throttle.acquire("user@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    public void disabled_ShouldNeverReject() {
+        LoginThrottle disabled = new LoginThrottle(new InMemoryRateLimitStore(), false, WINDOW_SECONDS, 1, 1);
+
+        for (int i = 0; i < 10; i++) {
+            disabled.acquire("user@example.com", "10.0.0.1");
+        }
+        assertEquals(0, disabled.stats().getTrackedKeys());
+    }
+}
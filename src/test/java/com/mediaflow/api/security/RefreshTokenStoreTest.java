@@ -0,0 +1,170 @@
+package com.mediaflow.api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.mediaflow.api.repository.RefreshSessionRepository;
+import com.mediaflow.api.repository.RefreshSessionRepository.RefreshSession;
+
+/**
+ * Rotación de refresh tokens, detección de reutilización y sesiones compartidas entre instancias
+ */
+public class RefreshTokenStoreTest {
+
+    private static final long EXPIRATION_MILLIS = 1_209_600_000L;
+
+    private final SessionTable table = new SessionTable();
+    private final RefreshTokenStore store = new RefreshTokenStore(table, EXPIRATION_MILLIS);
+
+    @Test
+    public void rotate_ShouldReplaceTokenInSameSession() {
+        RefreshTokenStore.Rotation issued = store.issue(1, "user@example.com", "10.0.0.1");
+
+        RefreshTokenStore.Rotation rotated = store.rotate(issued.refreshToken());
+
+        assertEquals(issued.session().getSessionId(), rotated.session().getSessionId());
+        assertNotEquals(issued.refreshToken(), rotated.refreshToken());
+        assertEquals(Integer.valueOf(1), rotated.session().getUserId());
+        assertEquals("user@example.com", rotated.session().getEmail());
+    }
+
+    @Test
+    public void previousToken_ShouldBeTreatedAsReuseAndCloseSession() {
+        RefreshTokenStore.Rotation issued = store.issue(1, "user@example.com", "10.0.0.1");
+        RefreshTokenStore.Rotation rotated = store.rotate(issued.refreshToken());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> store.rotate(issued.refreshToken()));
+
+        assertEquals("Refresh token reuse detected", ex.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> store.rotate(rotated.refreshToken()));
+        assertTrue(store.findByUser(1).isEmpty());
+    }
+
+    @Test
+    public void unknownSecretForKnownSession_ShouldBeRejectedWithoutClosingIt() {
+        RefreshTokenStore.Rotation issued = store.issue(1, "user@example.com", "10.0.0.1");
+        String sessionId = issued.session().getSessionId();
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> store.rotate(sessionId + ".AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"));
+
+        assertEquals("Invalid refresh token", ex.getMessage());
+        assertEquals(1, store.findByUser(1).size());
+        assertEquals(sessionId, store.rotate(issued.refreshToken()).session().getSessionId());
+    }
+
+    @Test
+    public void malformedOrUnknownToken_ShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> store.rotate(null));
+        assertThrows(IllegalArgumentException.class, () -> store.rotate("no-separator"));
+        assertThrows(IllegalArgumentException.class, () -> store.rotate("missing.!!!"));
+        assertThrows(IllegalArgumentException.class, () -> store.rotate("missing.AAAA"));
+    }
+
+    @Test
+    public void session_ShouldRotateOnAnotherInstance() {
+        RefreshTokenStore other = new RefreshTokenStore(table, EXPIRATION_MILLIS);
+        RefreshTokenStore.Rotation issued = store.issue(1, "user@example.com", "10.0.0.1");
+
+        RefreshTokenStore.Rotation rotated = other.rotate(issued.refreshToken());
+
+        assertEquals(issued.session().getSessionId(), store.rotate(rotated.refreshToken()).session().getSessionId());
+    }
+
+    @Test
+    public void revoke_ShouldOnlyCloseOwnSessions() {
+        RefreshTokenStore.Rotation first = store.issue(1, "user@example.com", "10.0.0.1");
+        store.issue(1, "user@example.com", "10.0.0.2");
+        RefreshTokenStore.Rotation foreign = store.issue(2, "other@example.com", "10.0.0.3");
+
+        assertFalse(store.revoke(1, foreign.session().getSessionId()));
+        assertTrue(store.revoke(1, first.session().getSessionId()));
+        assertEquals(1, store.findByUser(1).size());
+
+        assertEquals(1, store.revokeAllForUser(1).size());
+        assertTrue(store.findByUser(1).isEmpty());
+        assertEquals(1, store.size());
+    }
+
+    /**
+     * Tabla refresh_sessions en memoria, con la misma semántica de compara-y-reemplaza de rotate
+     */
+    private static class SessionTable extends RefreshSessionRepository {
+
+        private final Map<String, RefreshSession> rows = new LinkedHashMap<>();
+
+        SessionTable() {
+            super(null);
+        }
+
+        @Override
+        public synchronized void insert(RefreshSession session) {
+            rows.put(session.sessionId(), session);
+        }
+
+        @Override
+        public synchronized Optional<RefreshSession> findById(String sessionId) {
+            return Optional.ofNullable(rows.get(sessionId));
+        }
+
+        @Override
+        public synchronized boolean rotate(String sessionId, byte[] expectedDigest, byte[] newDigest, long refreshedAt) {
+            RefreshSession row = rows.get(sessionId);
+            if (row == null || !Arrays.equals(row.secretDigest(), expectedDigest)) {
+                return false;
+            }
+            rows.put(sessionId, new RefreshSession(row.sessionId(), row.userId(), row.email(), row.clientIp(),
+                    newDigest, row.secretDigest(), row.createdAt(), refreshedAt, row.expiresAt()));
+            return true;
+        }
+
+        @Override
+        public synchronized List<RefreshSession> findActiveByUser(Integer userId) {
+            return rows.values().stream().filter(row -> row.userId().equals(userId)).toList();
+        }
+
+        @Override
+        public synchronized boolean delete(String sessionId) {
+            return rows.remove(sessionId) != null;
+        }
+
+        @Override
+        public synchronized boolean deleteForUser(Integer userId, String sessionId) {
+            RefreshSession row = rows.get(sessionId);
+            return row != null && row.userId().equals(userId) && rows.remove(sessionId) != null;
+        }
+
+        @Override
+        public synchronized List<String> deleteAllForUser(Integer userId) {
+            List<String> ids = new ArrayList<>();
+            for (RefreshSession row : findActiveByUser(userId)) {
+                rows.remove(row.sessionId());
+                ids.add(row.sessionId());
+            }
+            return ids;
+        }
+
+        @Override
+        public synchronized int countActive() {
+            return rows.size();
+        }
+
+        @Override
+        public int deleteExpired() {
+            return 0;
+        }
+    }
+}
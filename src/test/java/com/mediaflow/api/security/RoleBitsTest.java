@@ -0,0 +1,120 @@
+package com.mediaflow.api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import com.mediaflow.api.model.Role;
+
+/**
+ * Máscara de roles (bit = role_id) y verificaciones de acceso por bits, con los roles sin bit por nombre
+ */
+public class RoleBitsTest {
+
+    private final TestRoles roles = new TestRoles();
+    private final RoleCatalog catalog = new RoleCatalog(roles.repository());
+    private final RoleAuthorization authorization = new RoleAuthorization(catalog);
+
+    @Test
+    public void mask_ShouldUseRoleIdAsBitPosition() {
+        assertEquals(1L << 4, catalog.bitOf("ADMIN"));
+        assertEquals(1L << 4, catalog.bitOf("role_admin"));
+        assertEquals((1L << 1) | (1L << 2), catalog.maskOf(List.of("VIEWER", "ROLE_CREATOR")));
+        assertEquals(0L, catalog.bitOf("UNKNOWN"));
+    }
+
+    @Test
+    public void namesOf_ShouldRoundTripAndIgnoreUnknownBits() {
+        long mask = catalog.maskOf(List.of("ADMIN", "VIEWER")) | (1L << 40);
+
+        assertEquals(List.of("VIEWER", "ADMIN"), catalog.namesOf(mask));
+    }
+
+    @Test
+    public void bitOfId_ShouldNotRepresentIdsOutOfRange() {
+        assertEquals(0L, RoleCatalog.bitOfId(null));
+        assertEquals(0L, RoleCatalog.bitOfId(-1));
+        assertEquals(0L, RoleCatalog.bitOfId(RoleCatalog.MAX_BIT + 1));
+        assertEquals(1L << RoleCatalog.MAX_BIT, RoleCatalog.bitOfId(RoleCatalog.MAX_BIT));
+        assertEquals((1L << 1) | (1L << 3), RoleCatalog.maskOfIds(List.of(1, 3, 99)));
+    }
+
+    @Test
+    public void has_ShouldCheckPrincipalMask() {
+        Authentication admin = authenticated(catalog.maskOf(List.of("ADMIN")));
+        Authentication viewer = authenticated(catalog.maskOf(List.of("VIEWER")));
+
+        assertTrue(authorization.has(admin, "ADMIN"));
+        assertFalse(authorization.has(viewer, "ADMIN"));
+        assertTrue(authorization.hasAny(viewer, "ADMIN", "VIEWER"));
+        // Un rol inexistente no tiene bit: nunca se concede, ni siquiera con todos los bits
+        assertFalse(authorization.has(authenticated(-1L), "UNKNOWN"));
+    }
+
+    @Test
+    public void has_ShouldRejectMissingOrUnauthenticatedPrincipal() {
+        Authentication unauthenticated = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(1, "user@example.com", null, List.of("ADMIN"), catalog.bitOf("ADMIN")), null);
+
+        assertFalse(authorization.has(null, "ADMIN"));
+        assertFalse(authorization.has(unauthenticated, "ADMIN"));
+    }
+
+    @Test
+    public void roleWithoutBit_ShouldBeCheckedByName() {
+        roles.roles.add(Role.builder().roleId(RoleCatalog.MAX_BIT + 1).name("AUDITOR").build());
+        roles.roles.add(Role.builder().roleId(70).name("SUPPORT").build());
+        catalog.refresh();
+        long viewerMask = catalog.maskOf(List.of("VIEWER"));
+        Authentication auditor = authenticated(List.of("VIEWER", "AUDITOR"), viewerMask);
+
+        assertEquals(0L, catalog.bitOf("AUDITOR"));
+        assertTrue(authorization.has(auditor, "AUDITOR"));
+        assertTrue(authorization.has(auditor, "ROLE_auditor"));
+        assertTrue(authorization.has(auditor, "VIEWER"));
+        assertFalse(authorization.has(auditor, "SUPPORT"));
+        assertTrue(authorization.hasAny(auditor, "SUPPORT", "AUDITOR"));
+        // La máscara no alcanza: sin el nombre el rol no se concede
+        assertFalse(authorization.has(authenticated(-1L), "AUDITOR"));
+    }
+
+    @Test
+    public void rolesWithoutBit_ShouldBeListedApartAndResolvedById() {
+        roles.roles.add(Role.builder().roleId(70).name("SUPPORT").build());
+        catalog.refresh();
+
+        assertEquals(List.of("SUPPORT"), catalog.namesWithoutBit(List.of("VIEWER", "role_support", "UNKNOWN")));
+        assertEquals(List.of("SUPPORT", "ADMIN"), catalog.namesOfIds(List.of(70, 4, 99)));
+    }
+
+    @Test
+    public void roleNames_ShouldNormalizeIndependentlyOfDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            AuthenticatedUser user = new AuthenticatedUser(1, "user@example.com", null, List.of("viewer", "role_admin"), 0L);
+
+            assertEquals(Set.of("VIEWER", "ADMIN"), user.getRoles());
+            assertTrue(user.hasRole("Viewer"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    private static Authentication authenticated(long mask) {
+        return authenticated(List.of(), mask);
+    }
+
+    private static Authentication authenticated(List<String> roleNames, long mask) {
+        AuthenticatedUser user = new AuthenticatedUser(1, "user@example.com", null, roleNames, mask);
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
@@ -0,0 +1,103 @@
+package com.mediaflow.api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mediaflow.api.model.Role;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Catálogo de roles: roles de registro, roles restringidos y cambios hechos por otras instancias
+ */
+public class RoleCatalogTest {
+
+    private static final Integer VIEWER = 1;
+
+    private final TestRoles table = new TestRoles();
+    private final RoleCatalog catalog = new RoleCatalog(table.repository());
+
+    @Test
+    public void registrationRoles_ShouldAddDefaultRoleWithoutDuplicates() {
+        List<RoleCatalog.Entry> roles = catalog.registrationRoles(VIEWER, List.of(2, VIEWER, 2));
+
+        assertEquals(List.of(1, 2), roles.stream().map(RoleCatalog.Entry::roleId).toList());
+    }
+
+    @Test
+    public void registrationRoles_ShouldRejectRestrictedAndUnknownRoles() {
+        assertThrows(IllegalArgumentException.class, () -> catalog.registrationRoles(VIEWER, List.of(4)));
+        assertThrows(IllegalArgumentException.class, () -> catalog.registrationRoles(VIEWER, List.of(3)));
+        assertThrows(EntityNotFoundException.class, () -> catalog.registrationRoles(VIEWER, List.of(99)));
+    }
+
+    @Test
+    public void serviceRole_ShouldOnlyBeAssignableByAdmin() {
+        table.roles.add(Role.builder().roleId(5).name("SERVICE").build());
+        catalog.refresh();
+
+        assertTrue(catalog.findByName("SERVICE").orElseThrow().restricted());
+        assertThrows(IllegalArgumentException.class, () -> catalog.registrationRoles(VIEWER, List.of(5)));
+    }
+
+    @Test
+    public void registrationRoles_ShouldNotQueryRolesWhileSnapshotIsFresh() {
+        catalog.registrationRoles(VIEWER, List.of(2));
+        assertThrows(IllegalArgumentException.class, () -> catalog.registrationRoles(VIEWER, List.of(4)));
+
+        assertEquals(0, table.rowsByIdQueries.get());
+    }
+
+    @Test
+    public void roleRenamedToAdminElsewhere_ShouldBeRestrictedAfterRefresh() {
+        table.rename(2, "role_admin");
+
+        // Hasta la próxima recarga el snapshot vigente decide
+        assertEquals(2, catalog.registrationRoles(VIEWER, List.of(2)).size());
+        assertTrue(catalog.findCurrentByIds(List.of(2)).get(2).restricted());
+
+        catalog.refreshPeriodically();
+
+        assertThrows(IllegalArgumentException.class, () -> catalog.registrationRoles(VIEWER, List.of(2)));
+    }
+
+    @Test
+    public void staleSnapshot_ShouldRecheckRequestedRolesInDatabase() {
+        // Intervalo 0: el snapshot siempre está vencido, como cuando la recarga periódica falla
+        RoleCatalog stale = new RoleCatalog(table.repository(), 0);
+        table.rename(2, "role_admin");
+
+        assertFalse(stale.findById(2).orElseThrow().restricted());
+        assertThrows(IllegalArgumentException.class, () -> stale.registrationRoles(VIEWER, List.of(2)));
+        assertEquals(1, table.rowsByIdQueries.get());
+    }
+
+    @Test
+    public void roleCreatedElsewhere_ShouldBeAssignableAndAppearAfterRefresh() {
+        table.roles.add(Role.builder().roleId(5).name("EDITOR").build());
+
+        assertEquals(2, catalog.registrationRoles(VIEWER, List.of(5)).size());
+        assertTrue(catalog.findById(5).isEmpty());
+
+        catalog.refreshPeriodically();
+
+        assertEquals("EDITOR", catalog.findById(5).orElseThrow().normalizedName());
+        assertEquals(1L << 5, catalog.bitOf("EDITOR"));
+    }
+
+    @Test
+    public void roleWithoutBit_ShouldBeCataloguedWithoutMaskBit() {
+        table.roles.add(Role.builder().roleId(RoleCatalog.MAX_BIT + 1).name("LEGACY").build());
+
+        catalog.refresh();
+
+        assertTrue(catalog.findByName("LEGACY").isPresent());
+        assertEquals(0L, catalog.bitOf("LEGACY"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.mediaflow.api.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cifrado de las claves privadas guardadas en jwt_signing_keys
+ */
+public class SigningKeyCipherTest {
+
+    private static final String KEK = "q83vEjRWeJCrze8SNFZ4kKvN7xI0VniQq83vEjRWeJA=";
+    private static final byte[] PRIVATE_KEY = "pkcs8-private-key-bytes".getBytes(StandardCharsets.UTF_8);
+
+    private final SigningKeyCipher cipher = new SigningKeyCipher(KEK);
+
+    @Test
+    public void encrypted_ShouldRoundTripAndNotContainPlaintext() {
+        byte[] stored = cipher.encrypt(PRIVATE_KEY, "kid-1", "ES256");
+
+        assertFalse(new String(stored, StandardCharsets.ISO_8859_1).contains("pkcs8-private-key"));
+        assertTrue(Arrays.equals(PRIVATE_KEY, cipher.decrypt(stored, "kid-1", "ES256")));
+    }
+
+    @Test
+    public void sameKey_ShouldEncryptDifferentlyEachTime() {
+        assertFalse(Arrays.equals(cipher.encrypt(PRIVATE_KEY, "kid-1", "ES256"),
+                cipher.encrypt(PRIVATE_KEY, "kid-1", "ES256")));
+    }
+
+    @Test
+    public void wrongKeyOrOtherRow_ShouldFail() {
+        byte[] stored = cipher.encrypt(PRIVATE_KEY, "kid-1", "ES256");
+        SigningKeyCipher other = new SigningKeyCipher("AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=");
+
+        assertThrows(IllegalStateException.class, () -> other.decrypt(stored, "kid-1", "ES256"));
+        assertThrows(IllegalStateException.class, () -> cipher.decrypt(stored, "kid-2", "ES256"));
+        assertThrows(IllegalStateException.class, () -> cipher.decrypt(PRIVATE_KEY, "kid-1", "ES256"));
+    }
+
+    @Test
+    public void invalidKey_ShouldBeRejected() {
+        assertThrows(IllegalStateException.class, () -> new SigningKeyCipher("c2hvcnQ="));
+        assertThrows(IllegalStateException.class, () -> new SigningKeyCipher("not base64!"));
+    }
+}
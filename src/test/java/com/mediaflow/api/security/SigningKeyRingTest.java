@@ -0,0 +1,190 @@
+package com.mediaflow.api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.mediaflow.api.repository.SigningKeyRepository;
+import com.mediaflow.api.repository.SigningKeyRepository.StoredKey;
+import com.mediaflow.api.service.JwtService;
+
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Rotación de claves de firma, JWKS publicado y claves compartidas entre instancias
+ */
+public class SigningKeyRingTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final long EXPIRATION = 900_000;
+    private static final long ROTATION_INTERVAL = 86_400_000;
+    private static final String KEK = "q83vEjRWeJCrze8SNFZ4kKvN7xI0VniQq83vEjRWeJA=";
+
+    @Test
+    public void rotation_ShouldPublishNextKeyBeforeItSigns() {
+        SigningKeyRing ring = new SigningKeyRing("ES256", SECRET, EXPIRATION);
+        String active = ring.activeKey().kid();
+        String jwks = ring.jwksJson();
+        assertTrue(jwks.contains(active));
+
+        ring.rotate();
+
+        String newActive = ring.activeKey().kid();
+        assertNotEquals(active, newActive);
+        // La nueva activa ya estaba en el JWKS anterior y la retirada sigue publicada
+        assertTrue(jwks.contains(newActive));
+        assertTrue(ring.jwksJson().contains(active));
+    }
+
+    @Test
+    public void tokenSignedBeforeRotation_ShouldStillVerify() {
+        SigningKeyRing ring = new SigningKeyRing("ES256", SECRET, EXPIRATION);
+        JwtService jwtService = new JwtService(ring, EXPIRATION);
+        String token = jwtService.generateAccessToken(1, "user@example.com", 1L, "sid-1");
+
+        ring.rotate();
+
+        assertTrue(jwtService.validate(token).isValid());
+        assertTrue(jwtService.validate(jwtService.generateAccessToken(1, "user@example.com", 1L, "sid-1")).isValid());
+    }
+
+    @Test
+    public void hmacTokenWithoutKid_ShouldBeRejectedInAsymmetricMode() {
+        JwtService hmac = new JwtService(new SigningKeyRing("HS256", SECRET, EXPIRATION), EXPIRATION);
+        JwtService asymmetric = new JwtService(new SigningKeyRing("ES256", SECRET, EXPIRATION), EXPIRATION);
+        String forged = hmac.generateAccessToken(1, "admin@example.com", -1L, null);
+
+        assertTrue(hmac.validate(forged).isValid());
+        assertFalse(asymmetric.validate(forged).isValid());
+    }
+
+    @Test
+    public void hs256_ShouldPublishEmptyJwks() {
+        SigningKeyRing ring = new SigningKeyRing("HS256", SECRET, EXPIRATION);
+
+        assertFalse(ring.isAsymmetric());
+        assertEquals("{\"keys\":[]}", ring.jwksJson());
+    }
+
+    @Test
+    public void instances_ShouldShareKeysThroughRepository() {
+        KeyTable table = new KeyTable();
+        SigningKeyRing first = new SigningKeyRing(table, "RS256", SECRET, EXPIRATION, ROTATION_INTERVAL, KEK);
+        SigningKeyRing second = new SigningKeyRing(table, "RS256", SECRET, EXPIRATION, ROTATION_INTERVAL, KEK);
+
+        assertEquals(first.activeKey().kid(), second.activeKey().kid());
+        assertEquals(first.jwksJson(), second.jwksJson());
+        String token = new JwtService(first, EXPIRATION).generateAccessToken(1, "user@example.com", 1L, "sid-1");
+        assertTrue(new JwtService(second, EXPIRATION).validate(token).isValid());
+
+        first.rotate();
+        second.refresh();
+
+        assertEquals(first.activeKey().kid(), second.activeKey().kid());
+        assertEquals(first.jwksJson(), second.jwksJson());
+        assertEquals(3, table.rows.size());
+    }
+
+    @Test
+    public void restart_ShouldKeepSigningWithStoredKey() {
+        KeyTable table = new KeyTable();
+        SigningKeyRing before = new SigningKeyRing(table, "ES256", SECRET, EXPIRATION, ROTATION_INTERVAL, KEK);
+        String token = new JwtService(before, EXPIRATION).generateAccessToken(1, "user@example.com", 1L, "sid-1");
+
+        SigningKeyRing after = new SigningKeyRing(table, "ES256", SECRET, EXPIRATION, ROTATION_INTERVAL, KEK);
+
+        assertEquals(before.activeKey().kid(), after.activeKey().kid());
+        assertTrue(new JwtService(after, EXPIRATION).validate(token).isValid());
+        assertEquals(Jwts.SIG.ES256, after.getAlgorithm());
+    }
+
+    @Test
+    public void storedPrivateKeys_ShouldBeEncrypted() {
+        KeyTable table = new KeyTable();
+        SigningKeyRing ring = new SigningKeyRing(table, "ES256", SECRET, EXPIRATION, ROTATION_INTERVAL, KEK);
+
+        byte[] stored = table.rows.get(ring.activeKey().kid()).privateKey();
+
+        assertFalse(Arrays.equals(ring.activeKey().privateKey().getEncoded(), stored));
+        assertThrows(IllegalStateException.class, () -> new SigningKeyRing(table, "ES256", SECRET, EXPIRATION,
+                ROTATION_INTERVAL, "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA="));
+    }
+
+    @Test
+    public void asymmetricWithRepository_ShouldRequireKeyEncryptionKey() {
+        assertThrows(IllegalStateException.class,
+                () -> new SigningKeyRing(new KeyTable(), "RS256", SECRET, EXPIRATION, ROTATION_INTERVAL, ""));
+    }
+
+    /**
+     * Tabla jwt_signing_keys en memoria; la rotación solo vence cuando se fuerza (intervalo 0)
+     */
+    private static class KeyTable extends SigningKeyRepository {
+
+        private final Map<String, StoredKey> rows = new LinkedHashMap<>();
+
+        KeyTable() {
+            super(null);
+        }
+
+        @Override
+        public synchronized List<StoredKey> findUsable(String algorithm) {
+            long now = System.currentTimeMillis();
+            return rows.values().stream()
+                    .filter(key -> key.algorithm().equals(algorithm) && key.verifyUntil() > now)
+                    .toList();
+        }
+
+        @Override
+        public synchronized boolean initialize(String algorithm, StoredKey active, StoredKey next) {
+            if (rows.values().stream().anyMatch(key -> key.algorithm().equals(algorithm))) {
+                return false;
+            }
+            rows.put(active.kid(), activated(active));
+            rows.put(next.kid(), next);
+            return true;
+        }
+
+        @Override
+        public boolean isRotationDue(String algorithm, long intervalMillis) {
+            return false;
+        }
+
+        @Override
+        public synchronized boolean rotate(String algorithm, long intervalMillis, long retentionMillis, StoredKey newNext) {
+            if (intervalMillis > 0) {
+                return false;
+            }
+            long until = System.currentTimeMillis() + retentionMillis;
+            for (StoredKey key : new ArrayList<>(rows.values())) {
+                if (key.verifyUntil() != Long.MAX_VALUE) {
+                    continue;
+                }
+                rows.put(key.kid(), key.activated()
+                        ? new StoredKey(key.kid(), key.algorithm(), key.privateKey(), key.publicKey(), true, until)
+                        : activated(key));
+            }
+            rows.put(newNext.kid(), newNext);
+            return true;
+        }
+
+        @Override
+        public int deleteExpired() {
+            return 0;
+        }
+
+        private static StoredKey activated(StoredKey key) {
+            return new StoredKey(key.kid(), key.algorithm(), key.privateKey(), key.publicKey(), true, key.verifyUntil());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.mediaflow.api.security;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mediaflow.api.dto.RoleRow;
+import com.mediaflow.api.model.Role;
+import com.mediaflow.api.repository.RoleRepository;
+
+/**
+ * Tabla roles en memoria para los tests de seguridad y de servicios: las consultas leen el contenido actual de {@link #roles}
+ */
+public final class TestRoles {
+
+    public final List<Role> roles = new CopyOnWriteArrayList<>(List.of(
+            Role.builder().roleId(1).name("VIEWER").build(),
+            Role.builder().roleId(2).name("CREATOR").build(),
+            Role.builder().roleId(3).name("MODERATOR").build(),
+            Role.builder().roleId(4).name("ADMIN").build()));
+
+    // Consultas por id (findRowsByIds) recibidas por el repositorio
+    public final AtomicInteger rowsByIdQueries = new AtomicInteger();
+
+    /**
+     * Cambia el nombre directamente en la "tabla", como lo haría otra instancia
+     */
+    public void rename(Integer roleId, String name) {
+        roles.replaceAll(role -> role.getRoleId().equals(roleId) ? Role.builder().roleId(roleId).name(name).build() : role);
+    }
+
+    public RoleRepository repository() {
+        return (RoleRepository) Proxy.newProxyInstance(
+                RoleRepository.class.getClassLoader(),
+                new Class<?>[] { RoleRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> List.copyOf(roles);
+                    case "findAllRows" -> roles.stream().map(TestRoles::row).toList();
+                    case "findRowsByIds" -> {
+                        rowsByIdQueries.incrementAndGet();
+                        yield roles.stream()
+                                .filter(role -> ((Collection<?>) args[0]).contains(role.getRoleId()))
+                                .map(TestRoles::row)
+                                .toList();
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "TestRoleRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static RoleRow row(Role role) {
+        return new RoleRow() {
+            @Override
+            public Integer getRoleId() {
+                return role.getRoleId();
+            }
+
+            @Override
+            public String getName() {
+                return role.getName();
+            }
+        };
+    }
+}
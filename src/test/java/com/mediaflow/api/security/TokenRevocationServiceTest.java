@@ -0,0 +1,176 @@
+package com.mediaflow.api.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.mediaflow.api.dto.TokenClaims;
+import com.mediaflow.api.repository.TokenRevocationRepository;
+import com.mediaflow.api.repository.TokenRevocationRepository.Revocation;
+
+/**
+ * Revocación por jti, sesión y usuario, y propagación entre instancias a través de la tabla compartida
+ */
+public class TokenRevocationServiceTest {
+
+    private static final long LIFETIME_MILLIS = 900_000;
+
+    private final SharedTable table = new SharedTable();
+
+    @Test
+    public void revokedToken_ShouldBeRejectedAndOthersAccepted() {
+        TokenRevocationService service = new TokenRevocationService(1000, LIFETIME_MILLIS);
+
+        service.revoke(token("jti-1", 1, "sid-1", Instant.now()));
+
+        assertTrue(service.isRevoked(token("jti-1", 1, "sid-1", Instant.now())));
+        assertFalse(service.isRevoked(token("jti-2", 1, "sid-1", Instant.now())));
+    }
+
+    @Test
+    public void revokedSession_ShouldRejectEveryTokenOfThatSession() {
+        TokenRevocationService service = new TokenRevocationService(1000, LIFETIME_MILLIS);
+
+        service.revokeSession("sid-1");
+
+        assertTrue(service.isRevoked(token("jti-1", 1, "sid-1", Instant.now())));
+        assertFalse(service.isRevoked(token("jti-2", 1, "sid-2", Instant.now())));
+    }
+
+    @Test
+    public void revokeAllForUser_ShouldOnlyRejectTokensIssuedBefore() {
+        TokenRevocationService service = new TokenRevocationService(1000, LIFETIME_MILLIS);
+        Instant before = Instant.now().minusSeconds(60);
+
+        service.revokeAllForUser(7);
+
+        assertTrue(service.isRevoked(token("jti-1", 7, null, before)));
+        assertFalse(service.isRevoked(token("jti-2", 7, null, Instant.now().plusSeconds(60))));
+        assertFalse(service.isRevoked(token("jti-3", 8, null, before)));
+    }
+
+    @Test
+    public void revokeAllForUser_ShouldKeepTokenIssuedLaterInSameSecond() throws Exception {
+        TokenRevocationService service = new TokenRevocationService(1000, LIFETIME_MILLIS);
+        Instant justBefore = Instant.now().minusMillis(1);
+
+        service.revokeAllForUser(7);
+        Thread.sleep(2);
+        // Re-login inmediato tras el cambio de contraseña: milisegundos después del corte
+        Instant reLogin = Instant.now();
+
+        assertTrue(service.isRevoked(token("jti-1", 7, null, justBefore)));
+        assertFalse(service.isRevoked(token("jti-2", 7, null, reLogin)));
+    }
+
+    @Test
+    public void revocation_ShouldReachOtherInstanceAfterSync() {
+        TokenRevocationService first = new TokenRevocationService(table, 1000, LIFETIME_MILLIS);
+        TokenRevocationService second = new TokenRevocationService(table, 1000, LIFETIME_MILLIS);
+        TokenClaims claims = token("jti-1", 1, "sid-1", Instant.now().minusSeconds(1));
+
+        first.revoke(claims);
+        first.revokeAllForUser(2);
+        assertFalse(second.isRevoked(claims));
+
+        second.syncFromDatabase();
+
+        assertTrue(second.isRevoked(claims));
+        assertTrue(second.isRevoked(token("jti-9", 2, null, Instant.now().minusSeconds(60))));
+        assertEquals(2, table.rows.size());
+    }
+
+    @Test
+    public void sync_ShouldNotRepublishOrDuplicateRevocations() {
+        TokenRevocationService first = new TokenRevocationService(table, 1000, LIFETIME_MILLIS);
+        TokenRevocationService second = new TokenRevocationService(table, 1000, LIFETIME_MILLIS);
+
+        first.revokeSession("sid-1");
+        second.syncFromDatabase();
+        second.syncFromDatabase();
+        first.syncFromDatabase();
+
+        assertEquals(1, table.rows.size());
+        assertEquals(1, second.stats().getRevokedSessions());
+    }
+
+    @Test
+    public void databaseFailure_ShouldStillRevokeLocally() {
+        table.failing = true;
+        TokenRevocationService service = new TokenRevocationService(table, 1000, LIFETIME_MILLIS);
+
+        assertDoesNotThrow(() -> service.revokeSession("sid-1"));
+        assertDoesNotThrow(service::syncFromDatabase);
+
+        assertTrue(service.isRevoked(token("jti-1", 1, "sid-1", Instant.now())));
+    }
+
+    private static TokenClaims token(String tokenId, Integer userId, String sessionId, Instant issuedAt) {
+        return TokenClaims.builder()
+                .tokenId(tokenId)
+                .userId(userId)
+                .sessionId(sessionId)
+                .issuedAt(issuedAt)
+                .expiration(issuedAt.plusMillis(LIFETIME_MILLIS))
+                .build();
+    }
+
+    /**
+     * Tabla token_revocations en memoria, compartida por las instancias del test
+     */
+    private static class SharedTable extends TokenRevocationRepository {
+
+        private final List<Revocation> rows = new ArrayList<>();
+        private final List<Instant> createdAt = new ArrayList<>();
+        private boolean failing;
+
+        SharedTable() {
+            super(null);
+        }
+
+        @Override
+        public synchronized void insert(Revocation revocation) {
+            check();
+            rows.add(revocation);
+            createdAt.add(Instant.now());
+        }
+
+        @Override
+        public Instant databaseNow() {
+            check();
+            return Instant.now();
+        }
+
+        @Override
+        public synchronized List<Revocation> findCreatedAfter(Instant since) {
+            check();
+            List<Revocation> found = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                if (createdAt.get(i).isAfter(since)) {
+                    found.add(rows.get(i));
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public int deleteExpired() {
+            check();
+            return 0;
+        }
+
+        private void check() {
+            if (failing) {
+                throw new DataAccessResourceFailureException("database down");
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.mediaflow.api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.mediaflow.api.service.JwtService;
+
+/**
+ * Caché de tokens verificados: aciertos, rechazos y revocaciones posteriores al cacheo
+ */
+public class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final long EXPIRATION = 900_000;
+
+    private final RoleCatalog roleCatalog = new RoleCatalog(new TestRoles().repository());
+    private final JwtService jwtService = new JwtService(new SigningKeyRing("HS256", SECRET, EXPIRATION), EXPIRATION);
+    private final TokenRevocationService revocationService = new TokenRevocationService(1000, EXPIRATION);
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, revocationService, roleCatalog, 100, 900);
+
+    @Test
+    public void validToken_ShouldBuildPrincipalFromRoleMask() {
+        String token = jwtService.generateAccessToken(7, "user@example.com",
+                roleCatalog.maskOf(List.of("ADMIN", "VIEWER")), "sid-1");
+
+        VerifiedTokenCache.VerifiedToken verified = cache.resolve(token);
+
+        assertNotNull(verified);
+        assertEquals(Integer.valueOf(7), verified.principal().getUserId());
+        assertEquals("user@example.com", verified.principal().getUsername());
+        assertEquals(Set.of("ADMIN", "VIEWER"), verified.principal().getRoles());
+    }
+
+    @Test
+    public void repeatedToken_ShouldBeServedFromCache() {
+        String token = jwtService.generateAccessToken(7, "user@example.com", 0L, "sid-1");
+
+        VerifiedTokenCache.VerifiedToken first = cache.resolve(token);
+
+        assertSame(first, cache.resolve(token));
+        assertEquals(1, cache.stats().getHits());
+    }
+
+    @Test
+    public void tokenRevokedAfterCaching_ShouldBeRejected() {
+        String token = jwtService.generateAccessToken(7, "user@example.com", 0L, "sid-1");
+        assertNotNull(cache.resolve(token));
+
+        revocationService.revokeSession("sid-1");
+
+        assertNull(cache.resolve(token));
+    }
+
+    @Test
+    public void invalidToken_ShouldBeRejected() {
+        JwtService otherIssuer = new JwtService(new SigningKeyRing("HS256",
+                "5A7134743777217A25432A462D4A614E645267556B58703272357538782F413F", EXPIRATION), EXPIRATION);
+
+        assertNull(cache.resolve(otherIssuer.generateAccessToken(7, "user@example.com", -1L, "sid-1")));
+        assertNull(cache.resolve("not-a-jwt"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.mediaflow.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mediaflow.api.model.Role;
+import com.mediaflow.api.model.User;
+import com.mediaflow.api.repository.UserRepository;
+
+/**
+ * Carga de UserDetails desde réplicas: primario tras un cambio reciente o si la réplica no tiene al usuario
+ */
+public class CustomUserDetailsServiceTest {
+
+    private final Map<String, User> primary = new HashMap<>();
+    private final Map<String, User> replica = new HashMap<>();
+    private final List<String> lookups = new ArrayList<>();
+    private final CustomUserDetailsService service = new CustomUserDetailsService(repository(), 100, 300, 60_000);
+
+    @Test
+    public void load_ShouldReadReplicaAndCache() {
+        save(user("viewer@example.com", "VIEWER"), true);
+
+        assertEquals("viewer@example.com", service.loadUserByUsername("Viewer@Example.com").getUsername());
+        service.loadUserByUsername("viewer@example.com");
+
+        assertEquals(List.of("replica"), lookups);
+    }
+
+    @Test
+    public void userMissingOnReplica_ShouldBeReadFromPrimary() {
+        save(user("new@example.com", "VIEWER"), false);
+
+        assertEquals("new@example.com", service.loadUserByUsername("new@example.com").getUsername());
+        assertEquals(List.of("replica", "primary"), lookups);
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nobody@example.com"));
+    }
+
+    @Test
+    public void evictedUser_ShouldBeReadFromPrimaryWhileReplicaLags() {
+        save(user("admin@example.com", "VIEWER", "ADMIN"), true);
+        service.loadUserByUsername("admin@example.com");
+
+        // El rol ADMIN se quita en el primario; la réplica todavía no lo ve
+        primary.put("admin@example.com", user("admin@example.com", "VIEWER"));
+        service.evict("admin@example.com");
+
+        assertTrue(service.changedRecently("ADMIN@example.com"));
+        assertFalse(service.loadUserByUsername("admin@example.com").hasRole("ADMIN"));
+        assertEquals(List.of("replica", "primary"), lookups);
+    }
+
+    @Test
+    public void evictInTransaction_ShouldRepeatAfterCommit() {
+        save(user("creator@example.com", "VIEWER"), true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.evict("creator@example.com");
+            // Lectura concurrente antes del commit: todavía ve la fila anterior y la cachea
+            service.loadUserByUsername("creator@example.com");
+            save(user("creator@example.com", "VIEWER", "CREATOR"), false);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(service.loadUserByUsername("creator@example.com").hasRole("CREATOR"));
+    }
+
+    private void save(User user, boolean replicated) {
+        primary.put(user.getEmail(), user);
+        if (replicated) {
+            replica.put(user.getEmail(), user);
+        }
+    }
+
+    private static User user(String email, String... roles) {
+        List<Role> roleList = new ArrayList<>();
+        for (int i = 0; i < roles.length; i++) {
+            roleList.add(Role.builder().roleId(i + 1).name(roles[i]).build());
+        }
+        return User.builder()
+                .userId(email.hashCode())
+                .email(email)
+                .password("hash")
+                .roles(roleList)
+                .build();
+    }
+
+    private UserRepository repository() {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] { UserRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByEmailForAuth" -> {
+                        lookups.add("replica");
+                        yield Optional.ofNullable(replica.get((String) args[0]));
+                    }
+                    case "findByEmailForAuthOnPrimary" -> {
+                        lookups.add("primary");
+                        yield Optional.ofNullable(primary.get((String) args[0]));
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,245 @@
+package com.mediaflow.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.mediaflow.api.dto.FollowCounts;
+import com.mediaflow.api.repository.UserCounterRepository;
+
+/**
+ * Contadores con escritura diferida: deltas pendientes, flush, reintentos y reconciliación
+ */
+public class UserCounterServiceTest {
+
+    private final CounterTable table = new CounterTable(3);
+    private final UserCounterServiceImpl service = new UserCounterServiceImpl(table, 2);
+
+    @Test
+    public void counts_ShouldIncludeUnflushedDeltas() {
+        follow(1, 2);
+        follow(3, 2);
+
+        assertEquals(0, table.stored(2)[0]);
+        assertCounts(2, 2, 0);
+        assertCounts(1, 0, 1);
+    }
+
+    @Test
+    public void flush_ShouldWriteDeltasOnce() {
+        follow(1, 2);
+        service.flush();
+        service.flush();
+
+        assertEquals(1, table.stored(2)[0]);
+        assertEquals(1, table.stored(1)[1]);
+        assertCounts(2, 1, 0);
+        assertEquals(1, service.stats().getFlushes());
+    }
+
+    @Test
+    public void failedFlush_ShouldKeepDeltasForNextFlush() {
+        follow(1, 2);
+        table.failing = true;
+
+        service.flush();
+
+        assertEquals(0, table.stored(2)[0]);
+        assertCounts(2, 1, 0);
+        assertEquals(1, service.stats().getFailedFlushes());
+
+        table.failing = false;
+        service.flush();
+
+        assertEquals(1, table.stored(2)[0]);
+        assertCounts(2, 1, 0);
+    }
+
+    @Test
+    public void unfollow_ShouldCancelPendingFollow() {
+        follow(1, 2);
+        table.unfollow(1, 2);
+        service.recordUnfollow(1, 2);
+
+        service.flush();
+
+        assertCounts(2, 0, 0);
+        assertCounts(1, 0, 0);
+    }
+
+    @Test
+    public void reconcile_ShouldFixDriftedRows() {
+        follow(1, 2);
+        service.flush();
+        // Un delta perdido (proceso caído antes del flush) y una fila desfasada
+        table.follow(3, 2);
+        table.counts.put(1, new long[] { 5, 1 });
+
+        long fixed = service.reconcile();
+
+        assertEquals(3, fixed);
+        assertCounts(1, 0, 1);
+        assertCounts(2, 2, 0);
+        assertCounts(3, 0, 1);
+    }
+
+    @Test
+    public void followDuringReconcile_ShouldNotBeCountedTwice() {
+        // El follow llega después del flush inicial de reconcile: ya está en subscriptions y
+        // su delta sigue pendiente cuando se recalculan los rangos
+        table.beforeRanges = () -> follow(1, 3);
+
+        service.reconcile();
+        table.beforeRanges = () -> { };
+        service.flush();
+
+        assertEquals(1, table.stored(3)[0]);
+        assertEquals(1, table.stored(1)[1]);
+        assertCounts(3, 1, 0);
+        assertCounts(1, 0, 1);
+        assertEquals(0, service.reconcile());
+    }
+
+    @Test
+    public void removeAccount_ShouldDropItsPendingDeltas() {
+        follow(1, 2);
+        service.flush();
+        follow(3, 2);
+
+        service.removeAccount(2);
+        table.delete(2);
+        service.flush();
+
+        assertCounts(1, 0, 0);
+        assertCounts(3, 0, 0);
+        assertCounts(2, 0, 0);
+        assertEquals(2, service.stats().getPendingUsers());
+    }
+
+    private void follow(int followerId, int followedId) {
+        table.follow(followerId, followedId);
+        service.recordFollow(followerId, followedId);
+    }
+
+    private void assertCounts(Integer userId, long followers, long following) {
+        FollowCounts counts = service.counts(userId);
+        assertEquals(followers, counts.getFollowers());
+        assertEquals(following, counts.getFollowing());
+    }
+
+    /**
+     * Tablas users, subscriptions y user_counters en memoria con la semántica de los upserts
+     */
+    private static class CounterTable extends UserCounterRepository {
+
+        private final int maxUserId;
+        private final Map<Integer, long[]> counts = new HashMap<>();
+        private final Map<Integer, Map<Integer, Boolean>> subscriptions = new HashMap<>();
+        private final Set<Integer> deleted = new HashSet<>();
+        private boolean failing;
+        private Runnable beforeRanges = () -> { };
+
+        CounterTable(int maxUserId) {
+            super(null);
+            this.maxUserId = maxUserId;
+        }
+
+        void follow(int followerId, int followedId) {
+            subscriptions.computeIfAbsent(followerId, id -> new HashMap<>()).put(followedId, true);
+        }
+
+        void unfollow(int followerId, int followedId) {
+            subscriptions.getOrDefault(followerId, Map.of()).remove(followedId);
+        }
+
+        /**
+         * Borrado del usuario: sus relaciones y su fila de contadores caen en cascada
+         */
+        void delete(int userId) {
+            deleted.add(userId);
+            counts.remove(userId);
+            subscriptions.remove(userId);
+            subscriptions.values().forEach(followed -> followed.remove(userId));
+        }
+
+        long[] stored(Integer userId) {
+            return counts.getOrDefault(userId, new long[] { 0, 0 });
+        }
+
+        @Override
+        public long[] findCounts(Integer userId) {
+            return stored(userId).clone();
+        }
+
+        @Override
+        public int applyDeltas(List<Integer> userIds, List<Long> followers, List<Long> following) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("database down");
+            }
+            for (int i = 0; i < userIds.size(); i++) {
+                if (deleted.contains(userIds.get(i))) {
+                    continue;
+                }
+                long[] row = counts.computeIfAbsent(userIds.get(i), id -> new long[2]);
+                row[0] += followers.get(i);
+                row[1] += following.get(i);
+            }
+            return userIds.size();
+        }
+
+        @Override
+        public void removeRelationsOf(Integer userId) {
+            subscriptions.getOrDefault(userId, Map.of()).keySet().forEach(id -> row(id)[0]--);
+            subscriptions.forEach((followerId, followed) -> {
+                if (followed.containsKey(userId)) {
+                    row(followerId)[1]--;
+                }
+            });
+        }
+
+        @Override
+        public Integer findMaxUserId() {
+            beforeRanges.run();
+            return maxUserId;
+        }
+
+        @Override
+        public int reconcileRange(int fromExclusive, int toInclusive,
+                List<Integer> pendingUserIds, List<Long> pendingFollowers, List<Long> pendingFollowing) {
+            int fixed = 0;
+            for (int userId = fromExclusive + 1; userId <= toInclusive; userId++) {
+                if (deleted.contains(userId)) {
+                    continue;
+                }
+                int index = pendingUserIds.indexOf(userId);
+                long followers = exactFollowers(userId) - (index >= 0 ? pendingFollowers.get(index) : 0);
+                long following = exactFollowing(userId) - (index >= 0 ? pendingFollowing.get(index) : 0);
+                long[] row = stored(userId);
+                if (!counts.containsKey(userId) || row[0] != followers || row[1] != following) {
+                    counts.put(userId, new long[] { followers, following });
+                    fixed++;
+                }
+            }
+            return fixed;
+        }
+
+        private long[] row(Integer userId) {
+            return counts.computeIfAbsent(userId, id -> new long[2]);
+        }
+
+        private long exactFollowers(int userId) {
+            return subscriptions.values().stream().filter(followed -> followed.containsKey(userId)).count();
+        }
+
+        private long exactFollowing(int userId) {
+            return subscriptions.getOrDefault(userId, Map.of()).size();
+        }
+    }
+}
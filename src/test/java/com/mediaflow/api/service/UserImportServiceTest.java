@@ -0,0 +1,335 @@
+package com.mediaflow.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mediaflow.api.dto.UserImportError;
+import com.mediaflow.api.dto.UserImportSummary;
+import com.mediaflow.api.mapper.ProfileMapper;
+import com.mediaflow.api.repository.UserImportRepository;
+import com.mediaflow.api.security.RoleCatalog;
+import com.mediaflow.api.security.TestRoles;
+import com.mediaflow.api.service.UserImportService.Format;
+
+import jakarta.validation.Validation;
+
+/**
+ * Importación masiva de punta a punta sobre una base JDBC en memoria: errores de encabezado
+ * y por línea, emails repetidos (en el lote y ya registrados), roles restringidos y las filas
+ * de users, profiles y users_roles que escribe UserImportRepository
+ */
+public class UserImportServiceTest {
+
+    private static final String CSV_HEADER = "name,email,password,dateBirth,roles,preferredLanguage";
+
+    private final ImportDatabase database = new ImportDatabase();
+    private final List<UserImportError> errors = new ArrayList<>();
+    private final UserImportServiceImpl service = new UserImportServiceImpl(
+            new UserImportRepository(new JdbcTemplate(database.dataSource())),
+            new RoleCatalog(new TestRoles().repository()),
+            new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    return "hashed:" + rawPassword;
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    return encodedPassword.equals(encode(rawPassword));
+                }
+            },
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new TransactionTemplate() {
+                @Override
+                public <T> T execute(TransactionCallback<T> action) {
+                    return action.doInTransaction(new SimpleTransactionStatus());
+                }
+            },
+            2,
+            2);
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    public void csvWithoutRequiredColumn_ShouldReportHeaderAndImportNothing() throws Exception {
+        UserImportSummary summary = importCsv(
+                "name,email,dateBirth",
+                "Ana,ana@example.com,1990-01-01");
+
+        assertEquals(0, summary.getProcessed());
+        assertEquals(1, errors.size());
+        assertEquals(1, errors.get(0).getLine());
+        assertEquals("CSV header must include column: password", errors.get(0).getError());
+        assertTrue(database.statements.isEmpty());
+    }
+
+    @Test
+    public void invalidLines_ShouldBeReportedWithLineNumberAndSkipped() throws Exception {
+        UserImportSummary summary = importCsv(
+                CSV_HEADER,
+                "Ana,ana@example.com,secret,1990-01-01,,",
+                "Bad Email,not-an-email,secret,1990-01-01,,",
+                "Short,short@example.com,secret",
+                "",
+                "Bad Date,date@example.com,secret,31/01/1990,,",
+                ",blank@example.com,secret,1990-01-01,,");
+
+        assertEquals(5, summary.getProcessed());
+        assertEquals(1, summary.getImported());
+        assertEquals(4, summary.getFailed());
+        assertEquals(List.of(3L, 4L, 6L, 7L), errors.stream().map(UserImportError::getLine).toList());
+        assertEquals("email: Email inválido", errors.get(0).getError());
+        assertEquals("not-an-email", errors.get(0).getEmail());
+        assertEquals("Expected 6 columns but found 3", errors.get(1).getError());
+        assertTrue(errors.get(3).getError().startsWith("name: "));
+        assertEquals(List.of("ana@example.com"), database.emails());
+    }
+
+    @Test
+    public void duplicateEmails_ShouldBeReportedAsAlreadyRegistered() throws Exception {
+        database.existing("taken@example.com");
+
+        UserImportSummary summary = importNdjson(
+                user("New", "New@Example.com", null),
+                user("New again", "new@example.com", null),
+                user("Taken", "TAKEN@example.com", null));
+
+        assertEquals(3, summary.getProcessed());
+        assertEquals(1, summary.getImported());
+        assertEquals(List.of(2L, 3L), errors.stream().map(UserImportError::getLine).toList());
+        errors.forEach(error -> assertEquals("Email already registered", error.getError()));
+        assertEquals(List.of("taken@example.com", "new@example.com"), database.emails());
+        // Perfiles y roles solo para los usuarios que entraron
+        assertEquals(1, database.profiles.size());
+        assertEquals(1, database.userRoles.size());
+    }
+
+    @Test
+    public void restrictedOrUnknownRoles_ShouldBeRejected() throws Exception {
+        UserImportSummary summary = importNdjson(
+                user("Admin", "admin@example.com", "[4]"),
+                user("Moderator", "moderator@example.com", "[2, 3]"),
+                user("Unknown", "unknown@example.com", "[99]"),
+                user("Creator", "creator@example.com", "[2]"));
+
+        assertEquals(1, summary.getImported());
+        assertEquals(List.of(1L, 2L, 3L), errors.stream().map(UserImportError::getLine).toList());
+        assertTrue(errors.get(0).getError().startsWith("Cannot assign restricted role: ADMIN"));
+        assertTrue(errors.get(1).getError().startsWith("Cannot assign restricted role: MODERATOR"));
+        assertEquals("Role not found: 99", errors.get(2).getError());
+        assertEquals(List.of("creator@example.com"), database.emails());
+    }
+
+    @Test
+    public void importedUsers_ShouldWriteUserProfileAndRoleRows() throws Exception {
+        UserImportSummary summary = importCsv(
+                CSV_HEADER,
+                "\"Creator, Jr.\",Creator@Example.com,secret1,1990-01-31,2|1,en",
+                "Viewer,viewer@example.com,secret2,1985-06-15,,",
+                "Third,third@example.com,secret3,2000-12-01,,pt");
+
+        assertEquals(3, summary.getImported());
+        assertTrue(errors.isEmpty());
+
+        assertEquals(List.of(
+                List.of(1, "Creator, Jr.", "creator@example.com", "hashed:secret1", "1990-01-31"),
+                List.of(2, "Viewer", "viewer@example.com", "hashed:secret2", "1985-06-15"),
+                List.of(3, "Third", "third@example.com", "hashed:secret3", "2000-12-01")),
+                database.users);
+        assertEquals(List.of(
+                List.of(1, "Creator, Jr.", "en", ProfileMapper.DEFAULT_AVATAR_URL, ProfileMapper.DEFAULT_BIO),
+                List.of(2, "Viewer", ProfileMapper.DEFAULT_LANGUAGE, ProfileMapper.DEFAULT_AVATAR_URL, ProfileMapper.DEFAULT_BIO),
+                List.of(3, "Third", "pt", ProfileMapper.DEFAULT_AVATAR_URL, ProfileMapper.DEFAULT_BIO)),
+                database.profiles);
+        // Rol por defecto (VIEWER) primero y sin repetir el pedido explícitamente
+        assertEquals(List.of(List.of(1, 1), List.of(1, 2), List.of(2, 1), List.of(3, 1)), database.userRoles);
+        // Lotes de 2: dos transacciones, cada una con una sentencia por tabla
+        assertEquals(2, database.statements.stream().filter(sql -> sql.startsWith("INSERT INTO users ")).count());
+    }
+
+    private UserImportSummary importCsv(String... lines) throws Exception {
+        return importUsers(Format.CSV, lines);
+    }
+
+    private UserImportSummary importNdjson(String... lines) throws Exception {
+        return importUsers(Format.NDJSON, lines);
+    }
+
+    private UserImportSummary importUsers(Format format, String... lines) throws Exception {
+        byte[] input = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return service.importUsers(new ByteArrayInputStream(input), format, errors::add);
+    }
+
+    private static String user(String name, String email, String roles) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"password\":\"secret\","
+                + "\"dateBirth\":\"1990-01-01\"" + (roles != null ? ",\"roles\":" + roles : "") + "}";
+    }
+
+    /**
+     * Base en memoria que entiende las sentencias de UserImportRepository: la secuencia de
+     * users, el INSERT ... ON CONFLICT DO NOTHING sobre ux_users_email_lower y los INSERT de
+     * perfiles y roles a partir de arreglos
+     */
+    private static class ImportDatabase {
+
+        private final List<String> statements = new ArrayList<>();
+        private final Map<String, Integer> usersByEmail = new LinkedHashMap<>();
+        private final List<List<Object>> users = new ArrayList<>();
+        private final List<List<Object>> profiles = new ArrayList<>();
+        private final List<List<Object>> userRoles = new ArrayList<>();
+        private int sequence;
+
+        void existing(String email) {
+            usersByEmail.put(email, 0);
+        }
+
+        List<String> emails() {
+            return List.copyOf(usersByEmail.keySet());
+        }
+
+        DataSource dataSource() {
+            return proxy(DataSource.class, (method, args) -> switch (method) {
+                case "getConnection" -> connection();
+                default -> null;
+            });
+        }
+
+        private Connection connection() {
+            return proxy(Connection.class, (method, args) -> switch (method) {
+                case "prepareStatement" -> statement((String) args[0]);
+                case "createArrayOf" -> array((Object[]) args[1]);
+                default -> null;
+            });
+        }
+
+        private PreparedStatement statement(String sql) {
+            Map<Integer, Object> parameters = new HashMap<>();
+            return proxy(PreparedStatement.class, (method, args) -> {
+                if (method.startsWith("set") && args.length == 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, args[1] instanceof Array array ? array.getArray() : args[1]);
+                    return null;
+                }
+                return switch (method) {
+                    case "executeQuery" -> resultSet(query(sql.strip(), parameters));
+                    case "executeUpdate" -> update(sql.strip(), parameters);
+                    default -> null;
+                };
+            });
+        }
+
+        private List<Integer> query(String sql, Map<Integer, Object> parameters) {
+            statements.add(sql);
+            List<Integer> ids = new ArrayList<>();
+            if (sql.startsWith("SELECT nextval")) {
+                int count = ((Number) parameters.get(1)).intValue();
+                for (int i = 0; i < count; i++) {
+                    ids.add(++sequence);
+                }
+            } else if (sql.startsWith("INSERT INTO users ")) {
+                Object[] userIds = (Object[]) parameters.get(1);
+                for (int i = 0; i < userIds.length; i++) {
+                    String email = (String) ((Object[]) parameters.get(3))[i];
+                    if (usersByEmail.putIfAbsent(email.toLowerCase(Locale.ROOT), (Integer) userIds[i]) == null) {
+                        users.add(List.of(userIds[i], ((Object[]) parameters.get(2))[i], email,
+                                ((Object[]) parameters.get(4))[i], ((Object[]) parameters.get(5))[i]));
+                        ids.add((Integer) userIds[i]);
+                    }
+                }
+            } else {
+                throw new UnsupportedOperationException(sql);
+            }
+            return ids;
+        }
+
+        private int update(String sql, Map<Integer, Object> parameters) {
+            statements.add(sql);
+            if (sql.startsWith("INSERT INTO profiles ")) {
+                Object[] userIds = (Object[]) parameters.get(3);
+                for (int i = 0; i < userIds.length; i++) {
+                    profiles.add(List.of(userIds[i], ((Object[]) parameters.get(4))[i],
+                            ((Object[]) parameters.get(5))[i], parameters.get(1), parameters.get(2)));
+                }
+                return userIds.length;
+            }
+            if (sql.startsWith("INSERT INTO users_roles ")) {
+                Object[] userIds = (Object[]) parameters.get(1);
+                for (int i = 0; i < userIds.length; i++) {
+                    userRoles.add(List.of(userIds[i], ((Object[]) parameters.get(2))[i]));
+                }
+                return userIds.length;
+            }
+            throw new UnsupportedOperationException(sql);
+        }
+
+        private static Array array(Object[] values) {
+            return proxy(Array.class, (method, args) -> switch (method) {
+                case "getArray" -> values;
+                default -> null;
+            });
+        }
+
+        private static ResultSet resultSet(List<Integer> rows) {
+            int[] position = { -1 };
+            ResultSetMetaData metaData = proxy(ResultSetMetaData.class, (method, args) -> switch (method) {
+                case "getColumnCount" -> 1;
+                default -> null;
+            });
+            return proxy(ResultSet.class, (method, args) -> switch (method) {
+                case "next" -> ++position[0] < rows.size();
+                case "getInt", "getObject" -> rows.get(position[0]);
+                case "wasNull" -> false;
+                case "getMetaData" -> metaData;
+                default -> null;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                    (proxy, method, args) -> {
+                        Object result = handler.invoke(method.getName(), args != null ? args : new Object[0]);
+                        if (result == null && method.getReturnType() == boolean.class) {
+                            return false;
+                        }
+                        return result == null && method.getReturnType().isPrimitive() && method.getReturnType() != void.class
+                                ? (Object) 0
+                                : result;
+                    });
+        }
+
+        private interface Handler {
+            Object invoke(String method, Object[] args) throws Exception;
+        }
+    }
+}
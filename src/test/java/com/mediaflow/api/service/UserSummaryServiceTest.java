@@ -0,0 +1,147 @@
+package com.mediaflow.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mediaflow.api.dto.UserSummary;
+import com.mediaflow.api.exception.BadRequestException;
+import com.mediaflow.api.repository.UserSummaryRepository;
+
+/**
+ * Resúmenes por lote: orden, repetidos, ids inexistentes, límite y caché con invalidaciones
+ */
+public class UserSummaryServiceTest {
+
+    private final SummaryTable table = new SummaryTable(1000);
+    private final UserSummaryServiceImpl service = new UserSummaryServiceImpl(table, 1000, 300);
+
+    @Test
+    public void summaries_ShouldKeepRequestOrderWithoutDuplicates() {
+        List<UserSummary> summaries = service.findSummaries(List.of(3, 1, 3, 2, 1));
+
+        assertEquals(List.of(3, 1, 2), ids(summaries));
+        assertEquals(List.of(List.of(3, 1, 2)), table.queries);
+    }
+
+    @Test
+    public void unknownIds_ShouldBeOmitted() {
+        List<UserSummary> summaries = service.findSummaries(List.of(5, 2000, 6, -1));
+
+        assertEquals(List.of(5, 6), ids(summaries));
+    }
+
+    @Test
+    public void cachedSummaries_ShouldOnlyLoadMisses() {
+        service.findSummaries(List.of(1, 2));
+
+        List<UserSummary> summaries = service.findSummaries(List.of(2, 3, 1));
+
+        assertEquals(List.of(2, 3, 1), ids(summaries));
+        assertEquals(List.of(List.of(1, 2), List.of(3)), table.queries);
+    }
+
+    @Test
+    public void evict_ShouldReloadSummary() {
+        service.findSummaries(List.of(1));
+        table.displayName = "Renamed";
+
+        service.evict(1);
+
+        assertEquals("Renamed", service.findSummaries(List.of(1)).get(0).getDisplayName());
+    }
+
+    @Test
+    public void evictDuringLoad_ShouldNotCacheStaleSummary() {
+        table.onQuery = () -> {
+            // El perfil cambia mientras la consulta está en curso
+            table.displayName = "Renamed";
+            service.evict(1);
+        };
+
+        assertEquals("User 1", service.findSummaries(List.of(1)).get(0).getDisplayName());
+
+        table.onQuery = () -> { };
+        assertEquals("Renamed", service.findSummaries(List.of(1)).get(0).getDisplayName());
+    }
+
+    @Test
+    public void evictInTransaction_ShouldRepeatAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.evict(1);
+            // Lectura concurrente antes del commit: todavía ve la fila anterior y la cachea
+            service.findSummaries(List.of(1));
+            table.displayName = "Renamed";
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("Renamed", service.findSummaries(List.of(1)).get(0).getDisplayName());
+    }
+
+    @Test
+    public void limit_ShouldAcceptUpTo500Ids() {
+        List<Integer> ids = IntStream.rangeClosed(1, UserSummaryServiceImpl.MAX_IDS).boxed().toList();
+
+        assertEquals(500, service.findSummaries(ids).size());
+        assertEquals(1, table.queries.size());
+    }
+
+    @Test
+    public void limit_ShouldRejectMoreThan500Ids() {
+        List<Integer> ids = IntStream.rangeClosed(1, UserSummaryServiceImpl.MAX_IDS + 1).boxed().toList();
+
+        assertThrows(BadRequestException.class, () -> service.findSummaries(ids));
+        assertTrue(table.queries.isEmpty());
+    }
+
+    private static List<Integer> ids(List<UserSummary> summaries) {
+        return summaries.stream().map(UserSummary::getUserId).toList();
+    }
+
+    /**
+     * Usuarios 1..maxUserId; registra los ids de cada consulta en el orden recibido
+     */
+    private static class SummaryTable extends UserSummaryRepository {
+
+        private final int maxUserId;
+        private final List<List<Integer>> queries = new ArrayList<>();
+        private String displayName;
+        private Runnable onQuery = () -> { };
+
+        SummaryTable(int maxUserId) {
+            super(null, null);
+            this.maxUserId = maxUserId;
+        }
+
+        @Override
+        public List<UserSummary> findByIds(Collection<Integer> userIds) {
+            List<Integer> requested = List.copyOf(userIds);
+            queries.add(requested);
+            List<UserSummary> rows = new ArrayList<>();
+            for (Integer userId : requested) {
+                if (userId >= 1 && userId <= maxUserId) {
+                    rows.add(UserSummary.builder()
+                            .userId(userId)
+                            .displayName(displayName != null ? displayName : "User " + userId)
+                            .roles(List.of("VIEWER"))
+                            .build());
+                }
+            }
+            onQuery.run();
+            return rows;
+        }
+    }
+}